@@ -0,0 +1,65 @@
+// Entry point of the Spectral bundle used by the plugin's graaljs engine.
+// The module build (mvn install -Pspectral-js) bundles it into target/generated-resources/spectral/js/spectral.js
+// with the versions pinned in package.json; by hand that is:
+//   npm install && npm run build
+// The bundle targets the browser platform, so the packages' browser builds replace the Node built-ins they use,
+// which GraalJS does not provide.
+import { Spectral, Document } from '@stoplight/spectral-core';
+import * as Parsers from '@stoplight/spectral-parsers';
+import { Resolver } from '@stoplight/spectral-ref-resolver';
+import { oas, asyncapi } from '@stoplight/spectral-rulesets';
+import { parse } from 'yaml';
+
+const builtIns = { 'spectral:oas': oas, 'spectral:asyncapi': asyncapi };
+
+// The context has no IO of its own: local $refs are read through the plugin, which only allows files below the
+// input directory and the plugin's work directories. Remote $refs are left unresolved.
+const resolver = new Resolver({
+  resolvers: {
+    file: {
+      async resolve(ref) {
+        return globalThis.spectralMavenReadFile(decodeURIComponent(ref.href()));
+      },
+    },
+  },
+});
+
+const severities = ['off', 'recommended', 'all'];
+
+function resolveExtends(value) {
+  // A [ruleset, severity] tuple, as in extends: [['spectral:oas', 'recommended']]
+  if (Array.isArray(value) && value.length === 2 && typeof value[0] === 'string' && severities.includes(value[1])) {
+    return [resolveExtends(value[0]), value[1]];
+  }
+  if (Array.isArray(value)) {
+    return value.map(resolveExtends);
+  }
+  if (typeof value === 'string') {
+    if (!(value in builtIns)) {
+      throw new Error('Only built-in rulesets can be extended by the graaljs engine: ' + value);
+    }
+    return builtIns[value];
+  }
+  return value;
+}
+
+globalThis.spectralMaven = {
+  loadRuleset(text) {
+    const definition = text == null ? { extends: ['spectral:oas'] } : parse(text);
+    if (definition.functions || definition.functionsDir) {
+      throw new Error('Custom functions are not supported by the graaljs engine');
+    }
+    if (definition.extends) {
+      definition.extends = resolveExtends(definition.extends);
+    }
+    const spectral = new Spectral({ resolver });
+    spectral.setRuleset(definition);
+    return spectral;
+  },
+
+  async lint(spectral, text, path) {
+    const parser = /\.json$/i.test(path) ? Parsers.Json : Parsers.Yaml;
+    const results = await spectral.run(new Document(text, parser, path));
+    return JSON.stringify(results.map(result => ({ ...result, source: result.source ?? path })));
+  },
+};
@@ -0,0 +1,548 @@
+package io.github.nddipiazza.spectral;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Base class for Spectral goals, holding the configuration shared by all of them
+ */
+public abstract class AbstractSpectralMojo extends AbstractMojo {
+
+    /**
+     * The Maven project.
+     */
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    protected MavenProject project;
+
+    /**
+     * Directory containing OpenAPI files to validate.
+     */
+    @Parameter(property = "spectral.inputDirectory", defaultValue = "${project.basedir}/src/main/resources/openapi")
+    protected File inputDirectory;
+
+    /**
+     * List of OpenAPI files to validate. If not specified, all YAML/JSON files in inputDirectory will be validated.
+     */
+    @Parameter(property = "spectral.files")
+    protected List<String> files;
+
+    /**
+     * Spectral ruleset file to use for validation.
+     * Defaults to .spectral.yaml in the project root directory.
+     * If the default file doesn't exist, Spectral will use its built-in ruleset.
+     */
+    @Parameter(property = "spectral.ruleset", defaultValue = "${project.basedir}/.spectral.yaml")
+    protected String ruleset;
+
+    /**
+     * URL to a Spectral ruleset file. If not specified, the ruleset parameter will be used.
+     */
+    @Parameter(property = "spectral.rulesetUrl")
+    protected String rulesetUrl;
+
+    /**
+     * Output format for Spectral results (json, yaml, junit, html, text, teamcity).
+     */
+    @Parameter(property = "spectral.format", defaultValue = "text")
+    protected String format;
+
+    /**
+     * Output file for Spectral results. If not specified, results will be printed to console.
+     */
+    @Parameter(property = "spectral.outputFile")
+    protected File outputFile;
+
+    /**
+     * Fail the build if Spectral finds any violations.
+     */
+    @Parameter(property = "spectral.failOnViolations", defaultValue = "true")
+    protected boolean failOnViolations;
+
+    /**
+     * With failOnViolations, stop linting as soon as one file fails the build instead of linting the whole tree
+     * first. Violations listed in the baseline do not stop the run.
+     */
+    @Parameter(property = "spectral.failFast", defaultValue = "false")
+    protected boolean failFast;
+
+    /**
+     * Lint the most recently modified files ahead of the rest, so that results for the files being edited are
+     * logged, and with failFast fail the build, first. Lints then wait until every file has been discovered,
+     * instead of starting with the first file found.
+     */
+    @Parameter(property = "spectral.changedFirst", defaultValue = "false")
+    protected boolean changedFirst;
+
+    /**
+     * Skip Spectral validation.
+     */
+    @Parameter(property = "spectral.skip", defaultValue = "false")
+    protected boolean skip;
+
+    /**
+     * Verbose output from Spectral.
+     */
+    @Parameter(property = "spectral.verbose", defaultValue = "false")
+    protected boolean verbose;
+
+    /**
+     * Maximum number of Spectral processes to run in parallel.
+     * If 0, it is derived from the CPU and memory limits of the machine or container (cgroup aware).
+     */
+    @Parameter(property = "spectral.concurrency", defaultValue = "0")
+    protected int concurrency;
+
+    /**
+     * V8 old space cap in MB for each Spectral process, passed as NODE_OPTIONS=--max-old-space-size.
+     * Also used to size the automatic concurrency. If 0, Node's default heap limit applies.
+     */
+    @Parameter(property = "spectral.nodeMaxOldSpaceSize", defaultValue = "0")
+    protected int nodeMaxOldSpaceSize;
+
+    /**
+     * Seconds a Spectral process may run on one file before it is killed and the build fails.
+     */
+    @Parameter(property = "spectral.processTimeout", defaultValue = "60")
+    protected int processTimeout;
+
+    /**
+     * libuv thread pool size for each Spectral process, passed as UV_THREADPOOL_SIZE. If 0, Node's default is used.
+     */
+    @Parameter(property = "spectral.uvThreadPoolSize", defaultValue = "0")
+    protected int uvThreadPoolSize;
+
+    /**
+     * Baseline file of known violation fingerprints. Violations listed in it are reported but do not count
+     * towards failOnViolations. Ignored by validate if the file does not exist; written by the baseline goal.
+     */
+    @Parameter(property = "spectral.baseline", defaultValue = "${project.basedir}/spectral.baseline")
+    protected File baselineFile;
+
+    /**
+     * Resolve the executable artifact for the current platform through Maven's resolver at runtime,
+     * instead of requiring it as a plugin dependency. Falls back to the plugin classpath if resolution fails.
+     */
+    @Parameter(property = "spectral.resolveExecutable", defaultValue = "true")
+    protected boolean resolveExecutable;
+
+    /**
+     * Version of the platform executable artifact to resolve.
+     */
+    @Parameter(property = "spectral.executablesVersion", defaultValue = "${plugin.version}")
+    protected String executablesVersion;
+
+    /**
+     * Lint engine: "cli" runs the Spectral executable for each file; "graaljs" runs the bundled Spectral
+     * JavaScript distribution (spectral-js artifact) inside the Maven JVM with GraalJS, reusing one warmed
+     * context per worker thread. Requires the GraalJS polyglot artifacts as plugin dependencies and falls
+     * back to "cli" if they or the bundle are missing.
+     */
+    @Parameter(property = "spectral.engine", defaultValue = "cli")
+    protected String engine;
+
+    /**
+     * Keep the extracted executable, resolved ruleset, file listings and per-file results in a JVM-scoped cache,
+     * validated by modification time and content hash. Mostly useful under mvnd, where the cache survives
+     * between builds so that unchanged specs are not linted again.
+     */
+    @Parameter(property = "spectral.sessionCache", defaultValue = "true")
+    protected boolean sessionCache;
+
+    /**
+     * Glob patterns, relative to inputDirectory, of the discovered files to validate (e.g. {@code **}{@code /*.yaml}).
+     * If empty, every discovered YAML/JSON file is validated. Not applied to explicitly listed files.
+     */
+    @Parameter(property = "spectral.includes")
+    protected List<String> includes;
+
+    /**
+     * Glob patterns, relative to inputDirectory, of discovered files to skip (e.g. {@code legacy/**}).
+     */
+    @Parameter(property = "spectral.excludes")
+    protected List<String> excludes;
+
+    /**
+     * File that the lint duration of each spec is recorded to, used by the plan goal to predict run times.
+     */
+    @Parameter(property = "spectral.timingsFile", defaultValue = "${project.build.directory}/spectral/timings.properties")
+    protected File timingsFile;
+
+    /**
+     * Directory to write a paginated HTML report to, built in the JVM from the structured findings. Unlike
+     * Spectral's html format it splits findings into per-file pages with a compact index, so it stays usable
+     * with very large result sets.
+     */
+    @Parameter(property = "spectral.htmlReport")
+    protected File htmlReport;
+
+    /**
+     * Lint only one shard of the discovered files, given as {@code <index>/<count>} numbered from 1 (e.g. 2/4),
+     * to split linting across parallel CI jobs. Each shard writes its results to shardResultsDirectory, and the
+     * merge goal combines them.
+     */
+    @Parameter(property = "spectral.shard")
+    protected String shard;
+
+    /**
+     * How files are spread across shards: "hash" (stable hash of the relative path), "size" (balance total file
+     * size) or "duration" (balance the lint durations recorded in timingsFile, which every job must share).
+     */
+    @Parameter(property = "spectral.shardBalance", defaultValue = "hash")
+    protected String shardBalance;
+
+    /**
+     * Directory that sharded runs write their structured results to and the merge goal reads them from.
+     */
+    @Parameter(property = "spectral.shardResultsDirectory", defaultValue = "${project.build.directory}/spectral/shards")
+    protected File shardResultsDirectory;
+
+    /**
+     * Result cache shared between builds, such as all agents of a CI fleet: a directory on a shared file system
+     * or an http(s) URL of a cache server that answers GET and PUT of {@code <url>/<key>}. Results are keyed by
+     * spec content, ruleset and Spectral version, and only shared for the text and json formats.
+     */
+    @Parameter(property = "spectral.resultCache")
+    protected String resultCache;
+
+    /**
+     * Maximum size in MB of a resultCache directory; the least recently used results are evicted beyond it.
+     */
+    @Parameter(property = "spectral.resultCacheMaxSize", defaultValue = "1024")
+    protected long resultCacheMaxSize;
+
+    /**
+     * Rulesets for files matching glob patterns relative to inputDirectory, e.g. a mapping with pattern
+     * {@code payments/**} and ruleset {@code rules/payments.yaml}. The first matching mapping wins; other files use
+     * ruleset. All files are discovered in one scan and each ruleset is loaded once.
+     */
+    @Parameter
+    protected List<RulesetMapping> rulesetMappings;
+
+    /**
+     * Bundle specs that reference other local files through $ref into single documents before linting, parsing
+     * each shared file once per run. Findings are mapped back to the original file, path and line. Only applies to
+     * the text and json formats.
+     */
+    @Parameter(property = "spectral.bundleRefs", defaultValue = "false")
+    protected boolean bundleRefs;
+
+    /**
+     * How results are logged: "full" logs each file's complete Spectral output; "summary" logs only files with
+     * findings, at most consoleTopFindings of them per file, and closes with counts per severity and rule. Use
+     * summary with outputFile on large trees to keep the complete output out of the build log.
+     */
+    @Parameter(property = "spectral.console", defaultValue = "full")
+    protected String console;
+
+    /**
+     * Number of findings logged per file when console is "summary".
+     */
+    @Parameter(property = "spectral.consoleTopFindings", defaultValue = "5")
+    protected int consoleTopFindings;
+
+    /**
+     * Report formats rendered from the structured results of a single lint, each to its own file in
+     * reportsDirectory: text, json, junit, sarif and html. Adding a format does not lint again.
+     */
+    @Parameter(property = "spectral.formats")
+    protected List<String> formats;
+
+    /**
+     * Directory the report formats are written to.
+     */
+    @Parameter(property = "spectral.reportsDirectory", defaultValue = "${project.build.directory}/spectral-reports")
+    protected File reportsDirectory;
+
+    /**
+     * Fetch the http(s) documents that specs reference through $ref once per build into remoteRefCacheDirectory,
+     * and lint against the cached copies instead of letting every Spectral process fetch them.
+     */
+    @Parameter(property = "spectral.cacheRemoteRefs", defaultValue = "false")
+    protected boolean cacheRemoteRefs;
+
+    /**
+     * Directory that remote $ref documents are cached in between builds.
+     */
+    @Parameter(property = "spectral.remoteRefCacheDirectory", defaultValue = "${user.home}/.m2/spectral/remote-refs")
+    protected File remoteRefCacheDirectory;
+
+    /**
+     * Seconds a cached remote $ref document is used before it is revalidated with its ETag or Last-Modified date.
+     */
+    @Parameter(property = "spectral.remoteRefTtl", defaultValue = "3600")
+    protected long remoteRefTtl;
+
+    /**
+     * Use only cached copies of remote $ref documents, failing if one is missing. Implies cacheRemoteRefs. Maven's
+     * offline mode ({@code -o}) does not turn it on, so that builds with uncached remote references keep linting.
+     */
+    @Parameter(property = "spectral.offline", defaultValue = "false")
+    protected boolean offline;
+
+    /**
+     * Do not lint files again that were clean in the last run when neither they, the local files they reference
+     * nor their ruleset have changed since, and skip a module where that holds for every file without extracting
+     * or starting Spectral. The clean files are recorded in {@code target/spectral/clean-files.properties}.
+     */
+    @Parameter(property = "spectral.skipUnchanged", defaultValue = "true")
+    protected boolean skipUnchanged;
+
+    @Component
+    protected RepositorySystem repositorySystem;
+
+    @Parameter(defaultValue = "${repositorySystemSession}", readonly = true)
+    protected RepositorySystemSession repositorySystemSession;
+
+    @Parameter(defaultValue = "${project.remotePluginRepositories}", readonly = true)
+    protected List<RemoteRepository> remotePluginRepositories;
+
+    /**
+     * Creates the executor that {@link #createExecutor()} configures
+     */
+    protected SpectralExecutor newExecutor() {
+        return new SpectralExecutor(getLog());
+    }
+
+    /**
+     * Creates an executor configured from this mojo's parameters
+     */
+    protected SpectralExecutor createExecutor() throws SpectralExecutionException {
+        SpectralExecutor executor = newExecutor();
+        executor.setConcurrency(concurrency);
+        if (processTimeout > 0) {
+            executor.setProcessTimeout(processTimeout);
+        }
+        executor.setNodeMaxOldSpaceSize(nodeMaxOldSpaceSize);
+        executor.setUvThreadPoolSize(uvThreadPoolSize);
+        executor.setEngine(engine);
+        executor.setIncludes(includes);
+        executor.setExcludes(excludes);
+        executor.setHtmlReportDirectory(htmlReport);
+        executor.setBundleRefs(bundleRefs);
+        executor.setRulesetMappings(rulesetMappings);
+        executor.setConsoleOutput(console, consoleTopFindings);
+        executor.setChangedFirst(changedFirst);
+        executor.setFailFast(failFastCheck());
+        executor.setReportFormats(createReportFormats());
+        if (cacheRemoteRefs || offline) {
+            File workDirectory = new File(project.getBuild().getDirectory(), "spectral/remote-refs");
+            executor.setRemoteRefCache(new RemoteRefCache(
+                    remoteRefCacheDirectory != null ? remoteRefCacheDirectory : new File(workDirectory, "cache"),
+                    workDirectory, remoteRefTtl * 1000, offline, getLog()));
+        }
+        if (shard != null && !shard.trim().isEmpty()) {
+            try {
+                executor.setShard(Shard.parse(shard, shardBalance));
+            } catch (IllegalArgumentException e) {
+                throw new SpectralExecutionException(e.getMessage(), e);
+            }
+            executor.setShardResultsDirectory(shardResultsDirectory);
+        }
+        if (sessionCache) {
+            executor.setSessionCache(SpectralSessionCache.getInstance());
+        }
+        if (resultCache != null && !resultCache.trim().isEmpty()) {
+            ResultCacheBackend backend = ResultCacheBackend.forLocation(resultCache, resultCacheMaxSize * 1024 * 1024);
+            executor.setSharedResultCache(new SharedResultCache(backend, getLog()));
+        }
+        if (resolveExecutable && repositorySystem != null && repositorySystemSession != null && executablesVersion != null) {
+            executor.setArtifactResolver(new ExecutableArtifactResolver(repositorySystem, repositorySystemSession,
+                    remotePluginRepositories, executablesVersion, getLog()));
+        }
+        return executor;
+    }
+
+    /**
+     * Creates the report formats to write, or returns null if none are configured
+     */
+    protected ReportFormats createReportFormats() throws SpectralExecutionException {
+        if (formats == null || formats.isEmpty()) {
+            return null;
+        }
+        return new ReportFormats(formats, reportsDirectory, getBaseDirectory());
+    }
+
+    /**
+     * Runs Spectral over the configured files
+     */
+    protected SpectralResult runSpectral(File outputFile) throws SpectralExecutionException {
+        SpectralExecutor executor = createExecutor();
+        LintTimings timings = loadTimings();
+        executor.setTimings(timings);
+        File targetDirectory = new File(project.getBuild().getDirectory());
+        File cleanFilesFile = cleanFilesFile();
+        CleanFiles cleanFiles = skipUnchanged ? loadCleanFiles(cleanFilesFile) : null;
+        executor.setCleanFiles(cleanFiles);
+        SpectralResult result = executor.validate(inputDirectory, files, ruleset, format, outputFile, verbose, targetDirectory);
+        if (getLog().isDebugEnabled()) {
+            for (FileSummary file : result.getFiles()) {
+                getLog().debug("Spectral " + file);
+            }
+        }
+        if (cleanFiles != null) {
+            try {
+                cleanFiles.write(cleanFilesFile);
+            } catch (IOException e) {
+                getLog().debug("Could not write Spectral clean files to " + cleanFilesFile + ": " + e.getMessage());
+            }
+        }
+        if (timings != null && timingsFile != null) {
+            try {
+                timings.write(timingsFile);
+            } catch (IOException e) {
+                getLog().debug("Could not write Spectral timings to " + timingsFile + ": " + e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Loads the recorded lint durations, or returns null if they are not kept
+     */
+    protected LintTimings loadTimings() {
+        if (timingsFile == null) {
+            return null;
+        }
+        try {
+            return LintTimings.load(timingsFile, getBaseDirectory());
+        } catch (IOException e) {
+            getLog().debug("Could not read Spectral timings from " + timingsFile + ": " + e.getMessage());
+            return new LintTimings(getBaseDirectory());
+        }
+    }
+
+    /**
+     * Checks if the goal fails the build on violations, so that a run may stop at the first failing file. Goals
+     * that need the findings of every file, like the baseline, return false.
+     */
+    protected boolean enforcesViolations() {
+        return true;
+    }
+
+    /**
+     * Gets the check that stops a run at the first file that fails the build, or null to lint every file
+     */
+    private Predicate<SpectralResult> failFastCheck() {
+        if (!failFast || !failOnViolations || !enforcesViolations()) {
+            return null;
+        }
+        if (baselineFile == null || !baselineFile.isFile()) {
+            return SpectralResult::hasViolations;
+        }
+        SpectralBaseline baseline;
+        try {
+            baseline = SpectralBaseline.load(baselineFile);
+        } catch (IOException e) {
+            // Lint every file, the baseline is reported when the result is
+            return null;
+        }
+        // Like reportResult, only a finding that is an error and not in the baseline fails the build
+        ViolationFingerprinter fingerprinter = new ViolationFingerprinter(getBaseDirectory());
+        return result -> result.hasStructuredFindings()
+                ? result.getFindings().stream().anyMatch(finding -> finding.getSeverity() == SpectralFinding.SEVERITY_ERROR
+                        && !baseline.contains(fingerprinter.fingerprint(finding)))
+                : result.hasViolations();
+    }
+
+    /**
+     * Gets the file that records the files found clean by the last run
+     */
+    protected File cleanFilesFile() {
+        return new File(project.getBuild().getDirectory(), "spectral/clean-files.properties");
+    }
+
+    /**
+     * Loads the files found clean by the last run, or returns an empty record if they cannot be read
+     */
+    protected CleanFiles loadCleanFiles(File file) {
+        try {
+            return CleanFiles.load(file, getBaseDirectory());
+        } catch (IOException e) {
+            getLog().debug("Could not read Spectral clean files from " + file + ": " + e.getMessage());
+            return new CleanFiles(getBaseDirectory());
+        }
+    }
+
+    /**
+     * Reports the outcome of a run, counting only violations that are not in the baseline,
+     * and fails the build if there are any and failOnViolations is set
+     */
+    protected void reportResult(SpectralResult spectralResult) throws MojoExecutionException, MojoFailureException {
+        SpectralResult result = applyBaseline(spectralResult);
+
+        if (result.hasViolations() && failOnViolations) {
+            throw new MojoFailureException(
+                String.format("Spectral validation failed with %d violations. See output above for details.", 
+                            result.getViolationCount())
+            );
+        }
+
+        if (result.hasViolations()) {
+            getLog().warn(String.format("Spectral validation completed with %d violations.", 
+                        result.getViolationCount()));
+        } else {
+            getLog().info("Spectral validation completed successfully with no violations.");
+        }
+    }
+
+    /**
+     * Removes known violations listed in the baseline file from the result, so only new ones are counted
+     */
+    private SpectralResult applyBaseline(SpectralResult result) throws MojoExecutionException {
+        if (baselineFile == null || !baselineFile.isFile()) {
+            return result;
+        }
+        if (!result.hasStructuredFindings()) {
+            getLog().warn("Spectral results could not be read in structured form, ignoring baseline " + baselineFile);
+            return result;
+        }
+
+        SpectralBaseline baseline;
+        try {
+            baseline = SpectralBaseline.load(baselineFile);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to read Spectral baseline: " + baselineFile, e);
+        }
+
+        ViolationFingerprinter fingerprinter = new ViolationFingerprinter(getBaseDirectory());
+        List<SpectralFinding> newFindings = new ArrayList<>();
+        boolean newErrors = false;
+        for (SpectralFinding finding : result.getFindings()) {
+            if (!baseline.contains(fingerprinter.fingerprint(finding))) {
+                newFindings.add(finding);
+                newErrors |= finding.getSeverity() == SpectralFinding.SEVERITY_ERROR;
+            }
+        }
+
+        int known = result.getFindings().size() - newFindings.size();
+        getLog().info(String.format("Spectral baseline %s: %d known violation(s), %d new",
+                baselineFile.getName(), known, newFindings.size()));
+        for (SpectralFinding finding : newFindings) {
+            getLog().warn("New violation: " + finding);
+        }
+
+        // Like Spectral's exit code, only fail when a new finding is an error
+        return new SpectralResult(newErrors ? newFindings.size() : 0, result.getOutput(), newFindings, result.getFiles());
+    }
+
+    /**
+     * Gets the directory that baseline fingerprints are made relative to
+     */
+    protected File getBaseDirectory() {
+        File basedir = project.getBasedir();
+        return basedir != null ? basedir : new File(".").getAbsoluteFile();
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.nddipiazza.spectral;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which files the last run found clean, so that a module whose files are all clean and unchanged can
+ * be skipped without extracting or starting Spectral. Each file is recorded with the hash of what its lint
+ * depends on and its clean output, per file path relative to a base directory, and persisted as a properties
+ * file together with the configuration the files were linted with.
+ */
+public class CleanFiles {
+
+    private static final String CONFIGURATION = "configuration";
+    private static final String HASH_PREFIX = "hash.";
+    private static final String OUTPUT_PREFIX = "output.";
+
+    private final File baseDirectory;
+    private volatile String configuration;
+    private final Map<String, String> hashes = new ConcurrentHashMap<>();
+    private final Map<String, String> outputs = new ConcurrentHashMap<>();
+
+    public CleanFiles(File baseDirectory) {
+        this.baseDirectory = baseDirectory;
+    }
+
+    /**
+     * Loads the record from a file, or returns an empty record if the file does not exist
+     */
+    public static CleanFiles load(File file, File baseDirectory) throws IOException {
+        CleanFiles cleanFiles = new CleanFiles(baseDirectory);
+        if (file != null && file.isFile()) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(file.toPath())) {
+                properties.load(in);
+            }
+            cleanFiles.configuration = properties.getProperty(CONFIGURATION);
+            for (String name : properties.stringPropertyNames()) {
+                if (name.startsWith(HASH_PREFIX)) {
+                    String path = name.substring(HASH_PREFIX.length());
+                    cleanFiles.hashes.put(path, properties.getProperty(name));
+                    cleanFiles.outputs.put(path, properties.getProperty(OUTPUT_PREFIX + path, ""));
+                }
+            }
+        }
+        return cleanFiles;
+    }
+
+    /**
+     * Writes the record
+     */
+    public void write(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+        Properties properties = new Properties();
+        if (configuration != null) {
+            properties.setProperty(CONFIGURATION, configuration);
+        }
+        hashes.forEach((path, hash) -> {
+            properties.setProperty(HASH_PREFIX + path, hash);
+            properties.setProperty(OUTPUT_PREFIX + path, outputs.getOrDefault(path, ""));
+        });
+        StringWriter text = new StringWriter();
+        properties.store(text, "Spectral files found clean by the last run");
+
+        // Keep the header comments and sort the entries, so the file diffs cleanly
+        List<String> header = new ArrayList<>();
+        List<String> entries = new ArrayList<>();
+        for (String line : text.toString().split("\\R")) {
+            (line.startsWith("#") ? header : entries).add(line);
+        }
+        Collections.sort(entries);
+        header.addAll(entries);
+        Files.write(file.toPath(), header, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Gets the configuration the recorded files were linted with, or null if nothing was recorded
+     */
+    public String getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Replaces the record with the outcome of a run: the files of the summaries that are clean, linted with
+     * the configuration. Files that are not clean or could not be hashed are dropped.
+     */
+    public void update(String newConfiguration, List<FileSummary> files, List<SpectralResult> results) {
+        hashes.clear();
+        outputs.clear();
+        configuration = newConfiguration;
+        for (int i = 0; i < files.size(); i++) {
+            FileSummary summary = files.get(i);
+            if (summary.isClean() && summary.getHash() != null) {
+                hashes.put(key(summary.getFile()), summary.getHash());
+                outputs.put(key(summary.getFile()), results.get(i).getOutput());
+            }
+        }
+    }
+
+    /**
+     * Gets the recorded clean output of the file, or null if the file was not clean or its hash has changed
+     */
+    public String getOutput(File file, String hash) {
+        String path = key(file);
+        return hash != null && hash.equals(hashes.get(path)) ? outputs.get(path) : null;
+    }
+
+    /**
+     * Gets the number of recorded clean files
+     */
+    public int size() {
+        return hashes.size();
+    }
+
+    private String key(File file) {
+        return FileStamp.relativePath(file, baseDirectory);
+    }
+}
@@ -0,0 +1,228 @@
+package io.github.nddipiazza.spectral;
+
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the progress and results of a run to the Maven log from one background thread, so lint threads hand
+ * off each file's report and move on instead of waiting on the log.
+ *
+ * <p>In {@code full} mode each file's complete Spectral output is logged. In {@code summary} mode only files with
+ * findings are logged, each with its first findings, and the run ends with counts per severity and rule; the
+ * complete output only goes to the output file. Reports are queued up to {@link #MAX_QUEUED}; beyond that the lint
+ * thread logs its report itself, which keeps memory bounded when the log cannot keep up.</p>
+ */
+public class ConsoleReporter implements AutoCloseable {
+
+    public static final String MODE_FULL = "full";
+    public static final String MODE_SUMMARY = "summary";
+
+    /**
+     * Maximum number of reports waiting to be logged
+     */
+    static final int MAX_QUEUED = 1024;
+
+    private final Log log;
+    private final boolean summary;
+    private final int topFindings;
+    private final ThreadPoolExecutor writer;
+    private final int[] severityCounts = new int[SpectralFinding.SEVERITY_HINT + 1];
+    private final Map<String, Integer> ruleCounts = new TreeMap<>();
+    private int filesWithFindings;
+    private int unstructuredFiles;
+    private boolean closed;
+
+    private ConsoleReporter(Log log, boolean summary, int topFindings) {
+        this.log = log;
+        this.summary = summary;
+        this.topFindings = Math.max(0, topFindings);
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_QUEUED),
+                r -> {
+                    Thread thread = new Thread(r, "spectral-console");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Creates a reporter for the console mode, "full" when null
+     *
+     * @param topFindings number of findings logged per file in summary mode
+     */
+    public static ConsoleReporter create(Log log, String mode, int topFindings) throws SpectralExecutionException {
+        if (mode == null || mode.trim().isEmpty() || MODE_FULL.equalsIgnoreCase(mode.trim())) {
+            return new ConsoleReporter(log, false, topFindings);
+        }
+        if (MODE_SUMMARY.equalsIgnoreCase(mode.trim())) {
+            return new ConsoleReporter(log, true, topFindings);
+        }
+        throw new SpectralExecutionException("Unknown console mode '" + mode + "', expected full or summary");
+    }
+
+    /**
+     * Reports that a file is about to be linted
+     */
+    public void started(File file) {
+        String message = "Validating: " + file.getPath();
+        writer.execute(() -> {
+            synchronized (log) {
+                if (summary) {
+                    log.debug(message);
+                } else {
+                    log.info(message);
+                }
+            }
+        });
+    }
+
+    /**
+     * Reports the result of a file
+     *
+     * @param origin where the result came from when the file was not linted as it is, such as "cached", or null
+     */
+    public void finished(File file, SpectralResult result, String origin) {
+        writer.execute(() -> {
+            synchronized (log) {
+                if (summary) {
+                    summarize(file, result, origin);
+                } else {
+                    if (origin != null) {
+                        log.info("Validating: " + file.getPath() + " (" + origin + ")");
+                    }
+                    if (!result.getOutput().trim().isEmpty()) {
+                        log.info("Spectral output:");
+                        log.info(result.getOutput());
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Reports a file that shares the result of another file with the same content
+     */
+    public void copied(File file, File original, SpectralResult result) {
+        String origin = "same content as " + original.getPath();
+        if (summary) {
+            finished(file, result, origin);
+        } else {
+            writer.execute(() -> {
+                synchronized (log) {
+                    log.info("Validating: " + file.getPath() + " (" + origin + ")");
+                }
+            });
+        }
+    }
+
+    private void summarize(File file, SpectralResult result, String origin) {
+        String header = file.getPath() + (origin != null ? " (" + origin + ")" : "");
+        if (!result.hasStructuredFindings()) {
+            List<String> lines = new ArrayList<>();
+            for (String line : result.getOutput().split("\n")) {
+                if (!line.trim().isEmpty()) {
+                    lines.add(line);
+                }
+            }
+            if (result.getViolationCount() > 0 || !lines.isEmpty()) {
+                unstructuredFiles++;
+                log.info(header + ": " + result.getViolationCount() + " violation(s)");
+                logTop(lines);
+            }
+            return;
+        }
+
+        List<SpectralFinding> findings = result.getFindings();
+        if (findings.isEmpty()) {
+            log.debug(header + ": no findings");
+            return;
+        }
+        filesWithFindings++;
+        int[] counts = new int[severityCounts.length];
+        for (SpectralFinding finding : findings) {
+            int severity = Math.min(Math.max(finding.getSeverity(), 0), counts.length - 1);
+            counts[severity]++;
+            severityCounts[severity]++;
+            ruleCounts.merge(finding.getCode(), 1, Integer::sum);
+        }
+        List<String> lines = new ArrayList<>();
+        for (SpectralFinding finding : findings) {
+            lines.add(finding.toString());
+        }
+        log.info(header + ": " + describe(counts));
+        logTop(lines);
+    }
+
+    private void logTop(List<String> lines) {
+        for (int i = 0; i < Math.min(topFindings, lines.size()); i++) {
+            log.info("  " + lines.get(i));
+        }
+        if (lines.size() > topFindings) {
+            log.info("  ... and " + (lines.size() - topFindings) + " more");
+        }
+    }
+
+    private static String describe(int[] counts) {
+        List<String> parts = new ArrayList<>();
+        for (int severity = 0; severity < counts.length; severity++) {
+            if (counts[severity] > 0) {
+                parts.add(counts[severity] + " " + SpectralFinding.severityName(severity));
+            }
+        }
+        return parts.isEmpty() ? "no findings" : String.join(", ", parts);
+    }
+
+    /**
+     * Logs the closing summary in summary mode and waits until every queued report is logged
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (summary) {
+            writer.execute(() -> {
+                synchronized (log) {
+                    logSummary();
+                }
+            });
+        }
+        writer.shutdown();
+        try {
+            while (!writer.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.debug("Waiting for Spectral console output to be written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void logSummary() {
+        if (filesWithFindings == 0 && unstructuredFiles == 0) {
+            return;
+        }
+        if (filesWithFindings > 0) {
+            log.info(String.format("Spectral summary: %s in %d file(s)", describe(severityCounts), filesWithFindings));
+            List<Map.Entry<String, Integer>> rules = new ArrayList<>(ruleCounts.entrySet());
+            rules.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()));
+            List<String> parts = new ArrayList<>();
+            for (Map.Entry<String, Integer> rule : rules) {
+                parts.add(rule.getKey() + " " + rule.getValue());
+            }
+            log.info("Spectral findings by rule: " + String.join(", ", parts));
+        }
+        if (unstructuredFiles > 0) {
+            log.info(String.format("Spectral summary: %d file(s) with violations in output that could not be parsed",
+                    unstructuredFiles));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.nddipiazza.spectral;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Keeps shared results as files in a directory, typically on a file system mounted by every build agent.
+ *
+ * <p>Each entry is written to a temporary file and atomically renamed into place, so concurrent readers on
+ * other agents never see a partial entry. Reading an entry refreshes its modification time, and once the
+ * directory grows beyond its maximum size the least recently used entries are deleted until it is back
+ * under 90% of the maximum.</p>
+ */
+public class DirectoryResultCacheBackend implements ResultCacheBackend {
+
+    private static final String SUFFIX = ".json";
+    private static final long STALE_TEMP_FILE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final File directory;
+    private final long maxSize;
+    private final AtomicLong size = new AtomicLong(-1);
+
+    public DirectoryResultCacheBackend(File directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public byte[] get(String key) throws IOException {
+        File entry = entry(key);
+        try {
+            byte[] value = Files.readAllBytes(entry.toPath());
+            entry.setLastModified(System.currentTimeMillis());
+            return value;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String key, byte[] value) throws IOException {
+        File entry = entry(key);
+        Path parent = entry.getParentFile().toPath();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, key + ".", ".tmp");
+        try {
+            Files.write(temp, value);
+            try {
+                Files.move(temp, entry.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, entry.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        // Other agents write to the directory too, so the tracked size is only an estimate that each
+        // eviction corrects
+        long current = size.get() < 0 ? evict() : size.addAndGet(value.length);
+        if (current > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+     * Deletes the least recently used entries while the directory is over its maximum size, returning the
+     * size that is left
+     */
+    synchronized long evict() throws IOException {
+        if (!directory.isDirectory()) {
+            size.set(0);
+            return 0;
+        }
+        List<Path> entries = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        try (Stream<Path> files = Files.walk(directory.toPath(), 2)) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.endsWith(SUFFIX)) {
+                    entries.add(file);
+                } else if (name.endsWith(".tmp") && now - file.toFile().lastModified() > STALE_TEMP_FILE_MILLIS) {
+                    // Left behind by a writer that died
+                    file.toFile().delete();
+                }
+            });
+        }
+
+        long total = 0;
+        for (Path entry : entries) {
+            total += entry.toFile().length();
+        }
+        if (total > maxSize) {
+            entries.sort(Comparator.comparingLong(entry -> entry.toFile().lastModified()));
+            long target = maxSize / 10 * 9;
+            for (Path entry : entries) {
+                if (total <= target) {
+                    break;
+                }
+                long length = entry.toFile().length();
+                if (Files.deleteIfExists(entry)) {
+                    total -= length;
+                }
+            }
+        }
+        size.set(total);
+        return total;
+    }
+
+    private File entry(String key) {
+        return new File(new File(directory, key.substring(0, 2)), key + SUFFIX);
+    }
+
+    @Override
+    public String toString() {
+        return directory.getPath();
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.nddipiazza.spectral;
+
+import org.apache.maven.plugin.logging.Log;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Resolves the platform-specific Spectral executable artifact through Maven's resolver, so that only the
+ * artifact for the current platform is downloaded and read straight from the local repository
+ */
+public class ExecutableArtifactResolver {
+
+    private static final String GROUP_ID = "io.github.nddipiazza";
+
+    private final RepositorySystem repositorySystem;
+    private final RepositorySystemSession session;
+    private final List<RemoteRepository> repositories;
+    private final String version;
+    private final Log log;
+
+    public ExecutableArtifactResolver(RepositorySystem repositorySystem,
+                                      RepositorySystemSession session,
+                                      List<RemoteRepository> repositories,
+                                      String version,
+                                      Log log) {
+        this.repositorySystem = repositorySystem;
+        this.session = session;
+        this.repositories = repositories;
+        this.version = version;
+        this.log = log;
+    }
+
+    /**
+     * Resolves the executable artifact, returning its jar in the local repository
+     */
+    public File resolve(String artifactId) throws SpectralExecutionException {
+        DefaultArtifact artifact = new DefaultArtifact(GROUP_ID, artifactId, "jar", version);
+        ArtifactRequest request = new ArtifactRequest(artifact, repositories, null);
+        try {
+            ArtifactResult result = repositorySystem.resolveArtifact(session, request);
+            File file = result.getArtifact().getFile();
+            log.debug("Resolved " + artifact + " to " + file);
+            return file;
+        } catch (ArtifactResolutionException e) {
+            throw new SpectralExecutionException("Failed to resolve Spectral executable artifact " + artifact, e);
+        }
+    }
+
+    /**
+     * Gets the version of the artifacts this resolver fetches
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Maps an executable resource path such as {@code spectral/linux-x64/spectral} to the artifact that ships it
+     */
+    public static String artifactIdFor(String executableResourcePath) {
+        String[] segments = executableResourcePath.split("/");
+        String platform = segments.length >= 2 ? segments[segments.length - 2] : "linux-x64";
+        return "spectral-" + ("windows".equals(platform) ? "win" : platform);
+    }
+}
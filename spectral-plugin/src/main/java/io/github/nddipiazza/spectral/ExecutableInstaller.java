@@ -0,0 +1,110 @@
+package io.github.nddipiazza.spectral;
+
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Installs an executable so that concurrent builds never exec a partially written file.
+ *
+ * <p>The binary is first written to a unique temporary file next to the target, made executable and
+ * closed. Then, holding both an in-JVM lock and a {@link FileLock} on a sibling lock file, it is atomically
+ * renamed over the target, unless the target already holds the same content. A process that is executing
+ * the previous binary keeps running from the old inode, so no writer ever has the executed file open.</p>
+ */
+public class ExecutableInstaller {
+
+    private static final Map<String, Object> JVM_LOCKS = new ConcurrentHashMap<>();
+
+    private final Log log;
+
+    public ExecutableInstaller(Log log) {
+        this.log = log;
+    }
+
+    /**
+     * Installs the content of the stream as an executable at the target path
+     */
+    public File install(InputStream content, File target, boolean makeExecutable) throws IOException {
+        File directory = target.getAbsoluteFile().getParentFile();
+        Files.createDirectories(directory.toPath());
+
+        Path temp = Files.createTempFile(directory.toPath(), target.getName() + ".", ".tmp");
+        String hash;
+        try {
+            hash = writeAndHash(content, temp);
+            if (makeExecutable) {
+                File tempFile = temp.toFile();
+                tempFile.setExecutable(true);
+                tempFile.setReadable(true);
+            }
+
+            Object jvmLock = JVM_LOCKS.computeIfAbsent(target.getAbsolutePath(), key -> new Object());
+            synchronized (jvmLock) {
+                File lockFile = new File(directory, target.getName() + ".lock");
+                try (RandomAccessFile raf = new RandomAccessFile(lockFile, "rw");
+                     FileChannel channel = raf.getChannel();
+                     FileLock ignored = channel.lock()) {
+                    File hashFile = new File(directory, target.getName() + ".sha256");
+                    if (isInstalled(target, hashFile, hash)) {
+                        log.debug("Spectral executable is up to date: " + target.getAbsolutePath());
+                        return target;
+                    }
+                    moveIntoPlace(temp, target.toPath());
+                    Files.write(hashFile.toPath(), hash.getBytes(StandardCharsets.UTF_8));
+                    log.debug("Installed Spectral executable to: " + target.getAbsolutePath());
+                    return target;
+                }
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static boolean isInstalled(File target, File hashFile, String hash) throws IOException {
+        if (!target.isFile() || !hashFile.isFile()) {
+            return false;
+        }
+        String installedHash = new String(Files.readAllBytes(hashFile.toPath()), StandardCharsets.UTF_8).trim();
+        return installedHash.equals(hash);
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Copies the stream to the file using a binary-safe copy, returning the SHA-256 of the content
+     */
+    private static String writeAndHash(InputStream content, Path file) throws IOException {
+        MessageDigest digest = FileStamp.newDigest();
+        try (InputStream is = content;
+             OutputStream os = new DigestOutputStream(Files.newOutputStream(file), digest)) {
+            byte[] buffer = new byte[8192];
+            int bytesRead;
+            while ((bytesRead = is.read(buffer)) != -1) {
+                os.write(buffer, 0, bytesRead);
+            }
+        }
+        return FileStamp.toHex(digest.digest());
+    }
+}
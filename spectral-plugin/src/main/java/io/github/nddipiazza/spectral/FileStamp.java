@@ -0,0 +1,143 @@
+package io.github.nddipiazza.spectral;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Records the state of a file so that cached data derived from it can be validated later.
+ * The size and modification time are checked first; if they differ the content hash decides,
+ * so a file that was merely touched or checked out again still matches.
+ */
+public class FileStamp {
+
+    private final File file;
+    private volatile long size;
+    private volatile long lastModified;
+    private final String hash;
+
+    private FileStamp(File file, long size, long lastModified, String hash) {
+        this.file = file;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.hash = hash;
+    }
+
+    /**
+     * Records the current state of a file, including its content hash
+     */
+    public static FileStamp of(File file) throws IOException {
+        return new FileStamp(file, file.length(), file.lastModified(), sha256(file));
+    }
+
+    /**
+     * Records the current state of a directory, whose modification time changes when entries are added or removed
+     */
+    public static FileStamp ofDirectory(File directory) {
+        return new FileStamp(directory, 0, directory.lastModified(), null);
+    }
+
+    /**
+     * Gets the file this stamp was taken of
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Gets the SHA-256 of the file content, or null for directories
+     */
+    public String getHash() {
+        return hash;
+    }
+
+    /**
+     * Checks if the file still has the recorded state
+     */
+    public boolean isCurrent() {
+        if (!file.exists()) {
+            return false;
+        }
+        if (hash == null) {
+            return file.lastModified() == lastModified;
+        }
+        if (file.length() == size && file.lastModified() == lastModified) {
+            return true;
+        }
+        try {
+            if (file.length() == size && hash.equals(sha256(file))) {
+                lastModified = file.lastModified();
+                return true;
+            }
+        } catch (IOException e) {
+            return false;
+        }
+        return false;
+    }
+
+    /**
+     * Computes the SHA-256 of a file's content as a hex string
+     */
+    public static String sha256(File file) throws IOException {
+        MessageDigest digest = newDigest();
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Computes the SHA-256 of a string as a hex string
+     */
+    public static String sha256(String text) {
+        return sha256(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Computes the SHA-256 of bytes as a hex string
+     */
+    public static String sha256(byte[] content) {
+        return toHex(newDigest().digest(content));
+    }
+
+    /**
+     * Gets the path of a file relative to the base directory with forward slashes, or its absolute path with
+     * forward slashes if it is not inside the base directory. Both paths are normalized first, so the result
+     * is the same however they were spelled.
+     */
+    public static String relativePath(File file, File baseDirectory) {
+        Path path = file.getAbsoluteFile().toPath().normalize();
+        if (baseDirectory != null) {
+            Path base = baseDirectory.getAbsoluteFile().toPath().normalize();
+            if (path.startsWith(base)) {
+                path = base.relativize(path);
+            }
+        }
+        return path.toString().replace(File.separatorChar, '/');
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
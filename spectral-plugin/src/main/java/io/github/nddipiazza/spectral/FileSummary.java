@@ -0,0 +1,93 @@
+package io.github.nddipiazza.spectral;
+
+import java.io.File;
+
+/**
+ * Compact outcome of one file in a run: its content hash, findings per severity, how long it took and whether the
+ * result was reused rather than linted
+ */
+public class FileSummary {
+
+    private final File file;
+    private final String hash;
+    private final int violationCount;
+    private final int[] severityCounts;
+    private final long durationMillis;
+    private final String origin;
+    private final boolean clean;
+
+    /**
+     * @param hash hash of the file, the local files it references and its ruleset, or null if it could not be read
+     *             or it references remote documents, which the hash cannot cover
+     * @param durationMillis time spent linting the file, or -1 if it was not linted
+     * @param origin where a reused result came from, such as "cached", or null if the file was linted
+     */
+    public FileSummary(File file, String hash, SpectralResult result, long durationMillis, String origin) {
+        this.file = file;
+        this.hash = hash;
+        this.violationCount = result.getViolationCount();
+        this.severityCounts = new int[SpectralFinding.SEVERITY_HINT + 1];
+        for (SpectralFinding finding : result.getFindings()) {
+            severityCounts[Math.min(Math.max(finding.getSeverity(), 0), SpectralFinding.SEVERITY_HINT)]++;
+        }
+        this.durationMillis = durationMillis;
+        this.origin = origin;
+        this.clean = result.hasStructuredFindings() && result.getFindings().isEmpty() && result.getViolationCount() == 0;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public int getViolationCount() {
+        return violationCount;
+    }
+
+    /**
+     * Gets the number of findings with the severity, see {@link SpectralFinding#SEVERITY_ERROR} and the others
+     */
+    public int getSeverityCount(int severity) {
+        return severity >= 0 && severity < severityCounts.length ? severityCounts[severity] : 0;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Checks if the result was reused rather than produced by linting the file in this run
+     */
+    public boolean isCached() {
+        return origin != null;
+    }
+
+    /**
+     * Checks if the file has no findings of any severity
+     */
+    public boolean isClean() {
+        return clean;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(file.getPath()).append(": ");
+        if (clean) {
+            text.append("clean");
+        } else {
+            for (int severity = 0; severity < severityCounts.length; severity++) {
+                text.append(severityCounts[severity]).append(' ').append(SpectralFinding.severityName(severity))
+                        .append(severity < severityCounts.length - 1 ? ", " : "");
+            }
+        }
+        text.append(durationMillis >= 0 ? ", " + durationMillis + " ms" : "");
+        return text.append(origin != null ? " (" + origin + ")" : "").toString();
+    }
+}
@@ -0,0 +1,288 @@
+package io.github.nddipiazza.spectral;
+
+import org.apache.maven.plugin.logging.Log;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Lints documents with a bundled Spectral JavaScript distribution running inside the Maven JVM through
+ * GraalJS, avoiding a native process spawn per file.
+ *
+ * <p>All worker threads share one polyglot {@link Engine}, so parsed and compiled bundle code is reused, and
+ * each thread keeps its own warmed {@link Context} together with the rulesets it has already loaded.
+ * The bundle must define a global {@code spectralMaven} object with:</p>
+ * <ul>
+ *     <li>{@code loadRuleset(rulesetText)}: returns a ruleset handle; {@code null} text selects the default rules</li>
+ *     <li>{@code lint(ruleset, documentText, documentPath)}: returns a promise of Spectral's JSON results</li>
+ * </ul>
+ *
+ * <p>Contexts get no IO of their own. To resolve {@code $ref}s the bundle calls the global
+ * {@code spectralMavenReadFile(path)}, which reads files below the readable directories only.</p>
+ */
+public class GraalJsLintEngine implements AutoCloseable {
+
+    /**
+     * Resource path of the bundle inside the spectral-js artifact
+     */
+    public static final String BUNDLE_RESOURCE = "spectral/js/spectral.js";
+
+    /**
+     * How many times pending promise jobs are drained before a lint is considered stuck
+     */
+    private static final int MAX_DRAIN_ATTEMPTS = 1000;
+
+    private final Log log;
+    private final List<Path> readableDirectories = new ArrayList<>();
+    private final Engine engine;
+    private final Source bundle;
+    private final String bundleHash;
+    private final Queue<Context> contexts = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Worker> workers = new ThreadLocal<>();
+
+    public GraalJsLintEngine(String bundleSource, Log log) {
+        this(bundleSource, Collections.emptyList(), log);
+    }
+
+    /**
+     * @param readableDirectories directories whose files the bundle may read to resolve {@code $ref}s
+     */
+    public GraalJsLintEngine(String bundleSource, List<File> readableDirectories, Log log) {
+        this.log = log;
+        for (File directory : readableDirectories) {
+            this.readableDirectories.add(realPath(directory.toPath()));
+        }
+        this.engine = Engine.newBuilder()
+                .option("engine.WarnInterpreterOnly", "false")
+                .build();
+        if (!engine.getLanguages().containsKey("js")) {
+            engine.close();
+            throw new IllegalStateException("the GraalJS language is not on the plugin classpath");
+        }
+        this.bundle = Source.newBuilder("js", bundleSource, "spectral.js").cached(true).buildLiteral();
+        this.bundleHash = FileStamp.sha256(bundleSource);
+    }
+
+    /**
+     * Gets the hash of the bundle, which identifies the Spectral version it lints with
+     */
+    public String getBundleHash() {
+        return bundleHash;
+    }
+
+    /**
+     * Loads a ruleset on the calling thread's context, to check that the bundle supports it before linting
+     *
+     * @param rulesetText the ruleset document, or null for the bundle's default rules
+     * @throws SpectralExecutionException if the ruleset cannot be loaded, for example because it extends a ruleset
+     *                                    other than the built-in ones or uses custom functions
+     */
+    public void loadRuleset(String rulesetText) throws SpectralExecutionException {
+        try {
+            worker().ruleset(rulesetText);
+        } catch (PolyglotException | IllegalStateException e) {
+            throw new SpectralExecutionException("Spectral bundle failed to load the ruleset: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lints one file on the calling thread's context
+     *
+     * @param rulesetText the ruleset document, or null to use the bundle's default rules
+     */
+    public SpectralResult lint(File file, String rulesetText, String format) throws SpectralExecutionException {
+        return lint(file, rulesetText, format, true);
+    }
+
+    /**
+     * Lints one file on the calling thread's context
+     *
+     * @param rulesetText the ruleset document, or null to use the bundle's default rules
+     * @param echo whether to log the file and its output, false when the caller reports them itself
+     */
+    public SpectralResult lint(File file, String rulesetText, String format, boolean echo)
+            throws SpectralExecutionException {
+        if (!GraalJsSupport.supportsFormat(format)) {
+            throw new SpectralExecutionException("The graaljs engine renders only text and json output, not " + format);
+        }
+        if (echo) {
+            log.info("Validating: " + file.getPath());
+        }
+        String text;
+        try {
+            text = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new SpectralExecutionException("Failed to read " + file, e);
+        }
+
+        String json;
+        try {
+            Worker worker = worker();
+            Value ruleset = worker.ruleset(rulesetText);
+            Value promise = worker.api.invokeMember("lint", ruleset, text, file.getAbsolutePath());
+            json = worker.await(promise);
+        } catch (PolyglotException | IllegalStateException e) {
+            throw new SpectralExecutionException("Spectral bundle failed to lint " + file + ": " + e.getMessage(), e);
+        }
+
+        List<SpectralFinding> findings;
+        try {
+            findings = SpectralFinding.parseJson(json);
+        } catch (IOException e) {
+            throw new SpectralExecutionException("Spectral bundle returned invalid results for " + file, e);
+        }
+
+        boolean hasErrors = findings.stream().anyMatch(f -> f.getSeverity() == SpectralFinding.SEVERITY_ERROR);
+        String output = "json".equalsIgnoreCase(format) ? json : SpectralFinding.renderText(findings);
+        if (echo && !output.trim().isEmpty()) {
+            synchronized (log) {
+                log.info("Spectral output:");
+                log.info(output);
+            }
+        }
+        // Like the CLI's exit code, only report violations when at least one finding is an error
+        return new SpectralResult(hasErrors ? findings.size() : 0, output, findings);
+    }
+
+    private Worker worker() {
+        Worker worker = workers.get();
+        if (worker == null) {
+            Context context = Context.newBuilder("js").engine(engine).build();
+            contexts.add(context);
+            ProxyExecutable readFile = args -> readFile(args[0].asString());
+            context.getBindings("js").putMember("spectralMavenReadFile", readFile);
+            context.eval(bundle);
+            Value api = context.getBindings("js").getMember("spectralMaven");
+            if (api == null || api.isNull()) {
+                throw new IllegalStateException("Spectral bundle does not define a global spectralMaven object");
+            }
+            worker = new Worker(context, api);
+            workers.set(worker);
+            log.debug("Created GraalJS context on " + Thread.currentThread().getName());
+        }
+        return worker;
+    }
+
+    /**
+     * Reads a file for the bundle, refusing files outside the readable directories
+     *
+     * @param location path or file URI of the file
+     */
+    private String readFile(String location) {
+        Path path = realPath(location.startsWith("file:") ? Paths.get(URI.create(location)) : Paths.get(location));
+        if (readableDirectories.stream().noneMatch(path::startsWith)) {
+            throw new IllegalArgumentException("The graaljs engine may not read " + path
+                    + ", it is outside " + readableDirectories);
+        }
+        try {
+            return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + path, e);
+        }
+    }
+
+    /**
+     * Resolves symbolic links, so that links cannot point out of the readable directories
+     */
+    private static Path realPath(Path path) {
+        Path absolute = path.toAbsolutePath().normalize();
+        try {
+            return absolute.toRealPath();
+        } catch (IOException e) {
+            return absolute;
+        }
+    }
+
+    @Override
+    public void close() {
+        Context context;
+        while ((context = contexts.poll()) != null) {
+            try {
+                context.close(true);
+            } catch (IllegalStateException | PolyglotException e) {
+                log.debug("Failed to close GraalJS context: " + e.getMessage());
+            }
+        }
+        engine.close();
+    }
+
+    /**
+     * A warmed context owned by one worker thread, with the rulesets it has loaded
+     */
+    private static class Worker {
+        private final Context context;
+        private final Value api;
+        private final Map<String, Value> rulesets = new HashMap<>();
+        private Value defaultRuleset;
+
+        Worker(Context context, Value api) {
+            this.context = context;
+            this.api = api;
+        }
+
+        Value ruleset(String rulesetText) {
+            if (rulesetText == null) {
+                if (defaultRuleset == null) {
+                    defaultRuleset = api.invokeMember("loadRuleset", (Object) null);
+                }
+                return defaultRuleset;
+            }
+            return rulesets.computeIfAbsent(rulesetText, text -> api.invokeMember("loadRuleset", text));
+        }
+
+        String await(Value promise) throws SpectralExecutionException {
+            if (!promise.canInvokeMember("then")) {
+                return promise.asString();
+            }
+            CompletableFuture<String> result = new CompletableFuture<>();
+            ProxyExecutable onResolve = args -> {
+                result.complete(args[0].asString());
+                return null;
+            };
+            ProxyExecutable onReject = args -> {
+                result.completeExceptionally(new SpectralExecutionException("Spectral bundle rejected: " + args[0]));
+                return null;
+            };
+            promise.invokeMember("then", onResolve, onReject);
+
+            // Pending promise jobs run when control returns from a guest call; keep draining until settled
+            for (int i = 0; !result.isDone() && i < MAX_DRAIN_ATTEMPTS; i++) {
+                context.eval("js", "undefined");
+            }
+            if (!result.isDone()) {
+                throw new SpectralExecutionException("Spectral bundle did not settle its lint promise");
+            }
+            try {
+                return result.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof SpectralExecutionException
+                        ? (SpectralExecutionException) e.getCause()
+                        : new SpectralExecutionException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SpectralExecutionException("Interrupted while waiting for the Spectral bundle", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.nddipiazza.spectral;
+
+/**
+ * Checks whether the embedded GraalJS engine can be used. This class must not reference the polyglot API, which is
+ * only on the classpath when the user adds it to the plugin dependencies: loading {@link GraalJsLintEngine} without
+ * it fails with a {@link NoClassDefFoundError}.
+ */
+public final class GraalJsSupport {
+
+    private GraalJsSupport() {
+    }
+
+    /**
+     * Checks if the GraalJS polyglot runtime is on the classpath, without loading it
+     */
+    public static boolean isRuntimeAvailable(ClassLoader classLoader) {
+        try {
+            Class.forName("org.graalvm.polyglot.Context", false, classLoader);
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks if the engine renders the output format, which only text and json are
+     */
+    public static boolean supportsFormat(String format) {
+        return format == null || "text".equalsIgnoreCase(format) || "json".equalsIgnoreCase(format);
+    }
+}
@@ -0,0 +1,224 @@
+package io.github.nddipiazza.spectral;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Writes an HTML report from structured findings that stays usable with very large result sets.
+ *
+ * <p>Each linted file gets its own pages of at most {@link #FINDINGS_PER_PAGE} findings, and {@code index.js}
+ * holds a compact summary of every file (severity counts and per-rule counts) that the index page filters and
+ * renders lazily. Pages and index entries are streamed out as each file is added, so memory use does not grow
+ * with the number of files or findings in the report. The index is a script rather than JSON so that the report
+ * also works when opened straight from disk.</p>
+ */
+public class HtmlReport implements Closeable {
+
+    /**
+     * Maximum number of findings on one page
+     */
+    static final int FINDINGS_PER_PAGE = 1000;
+
+    private static final String[] STATIC_RESOURCES = {"index.html", "report.css", "report.js"};
+
+    private final File directory;
+    private final File baseDirectory;
+    private final JsonGenerator index;
+    private int fileCount;
+
+    /**
+     * Starts a report in the given directory
+     *
+     * @param baseDirectory directory that file names in the report are shown relative to
+     */
+    public HtmlReport(File directory, File baseDirectory) throws IOException {
+        this.directory = directory;
+        this.baseDirectory = baseDirectory;
+        Files.createDirectories(new File(directory, "files").toPath());
+        for (String resource : STATIC_RESOURCES) {
+            try (InputStream in = HtmlReport.class.getResourceAsStream("/spectral/report/" + resource)) {
+                if (in == null) {
+                    throw new IOException("Missing report resource " + resource);
+                }
+                Files.copy(in, new File(directory, resource).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        Writer writer = Files.newBufferedWriter(new File(directory, "index.js").toPath(), StandardCharsets.UTF_8);
+        writer.write("spectralReport.load(");
+        this.index = new JsonFactory().createGenerator(writer);
+        index.writeStartArray();
+    }
+
+    /**
+     * Adds the findings of one linted file
+     *
+     * @param findings the findings, or null if structured results are not available for the file
+     */
+    public void addFile(File file, List<SpectralFinding> findings) throws IOException {
+        int id = ++fileCount;
+        String name = relativize(file);
+        int pages = findings == null || findings.isEmpty()
+                ? 1
+                : (findings.size() + FINDINGS_PER_PAGE - 1) / FINDINGS_PER_PAGE;
+
+        int[] severities = new int[4];
+        Map<String, Integer> rules = new TreeMap<>();
+        for (int page = 1; page <= pages; page++) {
+            File pageFile = new File(directory, "files/" + id + "-" + page + ".html");
+            try (Writer out = Files.newBufferedWriter(pageFile.toPath(), StandardCharsets.UTF_8)) {
+                writePageStart(out, id, name, page, pages);
+                if (findings == null) {
+                    out.write("<tr><td colspan=\"5\">Structured results are not available for this file.</td></tr>\n");
+                } else {
+                    int end = Math.min(findings.size(), page * FINDINGS_PER_PAGE);
+                    for (int i = (page - 1) * FINDINGS_PER_PAGE; i < end; i++) {
+                        SpectralFinding finding = findings.get(i);
+                        severities[Math.min(3, Math.max(0, finding.getSeverity()))]++;
+                        rules.merge(finding.getCode(), 1, Integer::sum);
+                        writeRow(out, finding);
+                    }
+                }
+                out.write("</tbody>\n</table>\n<script src=\"../report.js\"></script>\n</body>\n</html>\n");
+            }
+        }
+
+        index.writeStartObject();
+        index.writeNumberField("i", id);
+        index.writeStringField("f", name);
+        index.writeNumberField("n", pages);
+        index.writeArrayFieldStart("s");
+        for (int count : severities) {
+            index.writeNumber(count);
+        }
+        index.writeEndArray();
+        index.writeObjectFieldStart("r");
+        for (Map.Entry<String, Integer> rule : rules.entrySet()) {
+            index.writeNumberField(rule.getKey(), rule.getValue());
+        }
+        index.writeEndObject();
+        index.writeEndObject();
+    }
+
+    /**
+     * Gets the index page of the report
+     */
+    public File getIndexFile() {
+        return new File(directory, "index.html");
+    }
+
+    @Override
+    public void close() throws IOException {
+        index.writeEndArray();
+        index.writeRaw(");\n");
+        index.close();
+    }
+
+    /**
+     * Copies the closed report to another directory, returning the index page of the copy
+     */
+    public File copyTo(File target) throws IOException {
+        Path source = directory.toPath();
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Path copy = target.toPath().resolve(source.relativize(path));
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(copy);
+                } else {
+                    Files.copy(path, copy, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+        return new File(target, "index.html");
+    }
+
+    private static void writePageStart(Writer out, int id, String name, int page, int pages) throws IOException {
+        out.write("<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n<meta charset=\"utf-8\">\n<title>Spectral: ");
+        out.write(escape(name));
+        out.write("</title>\n<link rel=\"stylesheet\" href=\"../report.css\">\n</head>\n<body data-page=\"file\">\n");
+        out.write("<header>\n<p><a href=\"../index.html\">All files</a></p>\n<h1>");
+        out.write(escape(name));
+        out.write("</h1>\n</header>\n<nav>");
+        if (page > 1) {
+            out.write("<a class=\"page\" href=\"" + id + "-" + (page - 1) + ".html\">Previous</a>");
+        }
+        if (page < pages) {
+            out.write("<a class=\"page\" href=\"" + id + "-" + (page + 1) + ".html\">Next</a>");
+        }
+        out.write("<span>Page " + page + " of " + pages + "</span></nav>\n");
+        out.write("<div class=\"filters\">\n<label>Severity <select id=\"severity\"><option value=\"\">All</option></select></label>\n");
+        out.write("<label>Rule <select id=\"rule\"><option value=\"\">All</option></select></label>\n</div>\n");
+        out.write("<table id=\"findings\">\n<thead><tr><th>Severity</th><th>Rule</th><th>Location</th><th>Path</th>"
+                + "<th>Message</th></tr></thead>\n<tbody>\n");
+    }
+
+    private void writeRow(Writer out, SpectralFinding finding) throws IOException {
+        String severity = finding.getSeverityName();
+        out.write("<tr data-severity=\"");
+        out.write(severity);
+        out.write("\" data-rule=\"");
+        out.write(escape(finding.getCode()));
+        out.write("\"><td class=\"sev-");
+        out.write(severity);
+        out.write("\">");
+        out.write(severity);
+        out.write("</td><td>");
+        out.write(escape(finding.getCode()));
+        out.write("</td><td>");
+        out.write(escape(finding.getSource() != null ? relativize(new File(finding.getSource())) : ""));
+        out.write(":" + (finding.getLine() + 1) + ":" + (finding.getCharacter() + 1));
+        out.write("</td><td><code>");
+        out.write(escape(finding.getJsonPointer()));
+        out.write("</code></td><td>");
+        out.write(escape(finding.getMessage()));
+        out.write("</td></tr>\n");
+    }
+
+    private String relativize(File file) {
+        return FileStamp.relativePath(file, baseDirectory);
+    }
+
+    static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<':
+                    escaped.append("&lt;");
+                    break;
+                case '>':
+                    escaped.append("&gt;");
+                    break;
+                case '&':
+                    escaped.append("&amp;");
+                    break;
+                case '"':
+                    escaped.append("&quot;");
+                    break;
+                case '\'':
+                    escaped.append("&#39;");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
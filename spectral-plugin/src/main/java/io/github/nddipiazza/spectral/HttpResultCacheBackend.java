@@ -0,0 +1,73 @@
+package io.github.nddipiazza.spectral;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Keeps shared results on an HTTP cache server: a {@code GET} of {@code <url>/<key>} returns a stored value
+ * or 404, and a {@code PUT} stores one. Any server with these semantics works, such as nginx with WebDAV,
+ * a generic build cache node or an object store bucket.
+ */
+public class HttpResultCacheBackend implements ResultCacheBackend {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final String baseUrl;
+    private final HttpClient client;
+
+    public HttpResultCacheBackend(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Override
+    public byte[] get(String key) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(uri(key)).timeout(TIMEOUT).GET().build();
+        HttpResponse<byte[]> response = send(request);
+        if (response.statusCode() == 404) {
+            return null;
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("GET " + request.uri() + " returned HTTP " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    @Override
+    public void put(String key, byte[] value) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(uri(key))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(value))
+                .build();
+        HttpResponse<byte[]> response = send(request);
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("PUT " + request.uri() + " returned HTTP " + response.statusCode());
+        }
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while calling " + request.uri(), e);
+        }
+    }
+
+    private URI uri(String key) {
+        return URI.create(baseUrl + key);
+    }
+
+    @Override
+    public String toString() {
+        return baseUrl;
+    }
+}
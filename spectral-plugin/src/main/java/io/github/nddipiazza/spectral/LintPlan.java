@@ -0,0 +1,145 @@
+package io.github.nddipiazza.spectral;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * What a validate run would do, predicted without linting: which files would be linted, served from the
+ * cache or skipped, and how long the run would take
+ */
+public class LintPlan {
+
+    /**
+     * What would happen to a discovered file: linted, reused from the session or shared cache or an identical
+     * copy linted in the same run, or skipped by the include/exclude patterns or as clean and unchanged since the
+     * last run
+     */
+    public enum Action {
+        LINT, CACHED, SKIPPED
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final int concurrency;
+
+    public LintPlan(int concurrency) {
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    /**
+     * Adds a file to the plan
+     *
+     * @param predictedMillis predicted lint duration, or null if unknown
+     */
+    public void add(File file, Action action, Long predictedMillis) {
+        entries.add(new Entry(file, action, predictedMillis));
+    }
+
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Counts the files with the given action
+     */
+    public int count(Action action) {
+        return (int) entries.stream().filter(entry -> entry.getAction() == action).count();
+    }
+
+    /**
+     * Sums the predicted durations of the files that would be linted
+     */
+    public long getPredictedCpuMillis() {
+        return toLint().stream().mapToLong(Entry::predictedOrZero).sum();
+    }
+
+    /**
+     * Predicts the wall time of linting, by handing the files in discovery order to the first free
+     * of {@link #getConcurrency()} workers, as the lint pool does
+     */
+    public long getPredictedWallMillis() {
+        PriorityQueue<Long> workers = new PriorityQueue<>();
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(0L);
+        }
+        long wall = 0;
+        for (Entry entry : toLint()) {
+            long finish = workers.poll() + entry.predictedOrZero();
+            workers.add(finish);
+            wall = Math.max(wall, finish);
+        }
+        return wall;
+    }
+
+    /**
+     * Counts the files to lint that have no timing history
+     */
+    public int countUntimed() {
+        return (int) toLint().stream().filter(entry -> entry.getPredictedMillis() == null).count();
+    }
+
+    /**
+     * Renders the plan as report lines
+     */
+    public List<String> render() {
+        List<String> lines = new ArrayList<>();
+        for (Entry entry : entries) {
+            String duration = entry.getAction() != Action.LINT ? ""
+                    : entry.getPredictedMillis() != null ? " ~" + entry.getPredictedMillis() + " ms" : " (no timing data)";
+            lines.add(String.format("%-7s %s%s", entry.getAction(), entry.getFile().getPath(), duration));
+        }
+        lines.add(String.format("%d file(s): %d to lint, %d cached, %d skipped",
+                entries.size(), count(Action.LINT), count(Action.CACHED), count(Action.SKIPPED)));
+        lines.add(String.format("Concurrency: %d, predicted lint time: ~%d ms wall, ~%d ms total%s",
+                concurrency, getPredictedWallMillis(), getPredictedCpuMillis(),
+                countUntimed() > 0 ? " (" + countUntimed() + " file(s) without timing data)" : ""));
+        return lines;
+    }
+
+    private List<Entry> toLint() {
+        List<Entry> lint = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.getAction() == Action.LINT) {
+                lint.add(entry);
+            }
+        }
+        return lint;
+    }
+
+    /**
+     * A discovered file and what would happen to it
+     */
+    public static class Entry {
+        private final File file;
+        private final Action action;
+        private final Long predictedMillis;
+
+        Entry(File file, Action action, Long predictedMillis) {
+            this.file = file;
+            this.action = action;
+            this.predictedMillis = predictedMillis;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public Action getAction() {
+            return action;
+        }
+
+        public Long getPredictedMillis() {
+            return predictedMillis;
+        }
+
+        private long predictedOrZero() {
+            return predictedMillis != null ? predictedMillis : 0;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.nddipiazza.spectral;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers how long linting each file took, so that the plan goal can predict the cost of a run.
+ * Durations are kept per file path relative to a base directory and persisted as a properties file.
+ */
+public class LintTimings {
+
+    private final File baseDirectory;
+    private final Map<String, Long> millis = new ConcurrentHashMap<>();
+
+    public LintTimings(File baseDirectory) {
+        this.baseDirectory = baseDirectory;
+    }
+
+    /**
+     * Loads timings from a file, or returns empty timings if the file does not exist
+     */
+    public static LintTimings load(File file, File baseDirectory) throws IOException {
+        LintTimings timings = new LintTimings(baseDirectory);
+        if (file != null && file.isFile()) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(file.toPath())) {
+                properties.load(in);
+            }
+            for (String name : properties.stringPropertyNames()) {
+                try {
+                    timings.millis.put(name, Long.parseLong(properties.getProperty(name).trim()));
+                } catch (NumberFormatException e) {
+                    // Ignore entries that were edited by hand
+                }
+            }
+        }
+        return timings;
+    }
+
+    /**
+     * Writes the timings
+     */
+    public void write(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+        Properties properties = new Properties();
+        millis.forEach((path, duration) -> properties.setProperty(path, String.valueOf(duration)));
+        StringWriter text = new StringWriter();
+        properties.store(text, "Spectral lint durations in milliseconds");
+
+        // Keep the header comments and sort the entries, so the file diffs cleanly
+        List<String> header = new ArrayList<>();
+        List<String> entries = new ArrayList<>();
+        for (String line : text.toString().split("\\R")) {
+            (line.startsWith("#") ? header : entries).add(line);
+        }
+        Collections.sort(entries);
+        header.addAll(entries);
+        Files.write(file.toPath(), header, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Records how long linting a file took
+     */
+    public void put(File file, long durationMillis) {
+        millis.put(key(file), durationMillis);
+    }
+
+    /**
+     * Gets the last recorded duration of linting a file, or null if it was never timed
+     */
+    public Long get(File file) {
+        return millis.get(key(file));
+    }
+
+    /**
+     * Gets the average recorded duration, or null if nothing was timed
+     */
+    public Long average() {
+        if (millis.isEmpty()) {
+            return null;
+        }
+        long total = 0;
+        for (long value : millis.values()) {
+            total += value;
+        }
+        return total / millis.size();
+    }
+
+    /**
+     * Gets the number of timed files
+     */
+    public int size() {
+        return millis.size();
+    }
+
+    private String key(File file) {
+        return FileStamp.relativePath(file, baseDirectory);
+    }
+}
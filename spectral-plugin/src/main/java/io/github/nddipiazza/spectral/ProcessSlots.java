@@ -0,0 +1,70 @@
+package io.github.nddipiazza.spectral;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Budget of Spectral processes that may run at once on a machine. Permits are megabytes of the memory left next to
+ * the Maven JVM's heap. A process takes permits for its expected size, but at least an equal share of the budget
+ * per CPU, so that neither memory nor CPUs are oversubscribed however large a heap each module gives its processes.
+ */
+public class ProcessSlots {
+
+    private static final long MB = 1024L * 1024L;
+
+    private final Semaphore budget;
+    private final boolean memoryLimited;
+    private final int capacityMb;
+    private final int cpuShareMb;
+
+    /**
+     * @param limits              CPU and memory limits of the machine
+     * @param reservedBytes       memory that must stay free for the Maven JVM itself
+     * @param defaultProcessBytes size of a process, used to size the budget when the memory is not limited
+     */
+    public ProcessSlots(ResourceLimits limits, long reservedBytes, long defaultProcessBytes) {
+        int cpus = Math.max(1, limits.getAvailableProcessors());
+        this.memoryLimited = limits.hasMemoryLimit();
+        long capacity = memoryLimited
+                ? (limits.getMemoryLimitBytes() - Math.max(0, reservedBytes)) / MB
+                : cpus * megabytes(defaultProcessBytes);
+        this.capacityMb = (int) Math.max(1, Math.min(Integer.MAX_VALUE, capacity));
+        this.cpuShareMb = Math.max(1, capacityMb / cpus);
+        this.budget = new Semaphore(capacityMb);
+    }
+
+    /**
+     * Gets how many processes of the given size fit in the budget at once, at least one
+     */
+    public int concurrency(long processBytes) {
+        return Math.max(1, capacityMb / cost(processBytes));
+    }
+
+    /**
+     * Waits until a process of the given size fits in the budget and takes its share
+     */
+    public void acquire(long processBytes) throws InterruptedException {
+        budget.acquire(cost(processBytes));
+    }
+
+    /**
+     * Returns the share of a finished process of the given size
+     */
+    public void release(long processBytes) {
+        budget.release(cost(processBytes));
+    }
+
+    /**
+     * Gets the permits a process of the given size takes. Without a memory limit only CPUs count. A process larger
+     * than the whole budget takes all of it, so that it still runs, alone.
+     */
+    private int cost(long processBytes) {
+        if (!memoryLimited) {
+            return cpuShareMb;
+        }
+        return (int) Math.min(capacityMb, Math.max(cpuShareMb, megabytes(processBytes)));
+    }
+
+    private static long megabytes(long bytes) {
+        return (bytes + MB - 1) / MB;
+    }
+}
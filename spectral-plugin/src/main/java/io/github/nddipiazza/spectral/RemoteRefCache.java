@@ -0,0 +1,418 @@
+package io.github.nddipiazza.spectral;
+
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+
+/**
+ * Serves the http(s) documents that specs pull in through {@code $ref} from a local cache, so each one is fetched
+ * at most once per build and lints do not depend on the network.
+ *
+ * <p>A spec whose references reach a remote document is linted as a copy in which every {@code $ref} points at a
+ * local file: remote documents at their cached copies, local files at copies rewritten the same way. Only the
+ * reference values change, so line numbers stay the same, and paths of the copies are mapped back to the original
+ * files and URLs in the results. Cached documents younger than the TTL are used as they are; older ones are
+ * revalidated with their ETag or Last-Modified date, and used as they are if the server cannot be reached. In offline
+ * mode only cached documents are used.</p>
+ */
+public class RemoteRefCache {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final File cacheDirectory;
+    private final File workDirectory;
+    private final long ttlMillis;
+    private final boolean offline;
+    private final Log log;
+    private final HttpClient client;
+    private final Map<File, Boolean> reachesRemote = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<byte[]>> bodies = new ConcurrentHashMap<>();
+    private final Map<String, File> remoteCopies = new HashMap<>();
+    private final Map<File, File> localCopies = new HashMap<>();
+    private final Map<String, String> origins = new LinkedHashMap<>();
+
+    /**
+     * @param cacheDirectory directory that fetched documents are kept in between builds
+     * @param workDirectory directory for the rewritten copies of local files
+     * @param ttlMillis how long a fetched document is used without revalidating it
+     * @param offline whether to use only cached documents
+     */
+    public RemoteRefCache(File cacheDirectory, File workDirectory, long ttlMillis, boolean offline, Log log) {
+        this.cacheDirectory = cacheDirectory;
+        this.workDirectory = workDirectory;
+        this.ttlMillis = ttlMillis;
+        this.offline = offline;
+        this.log = log;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * Gets the directory that fetched documents are kept in
+     */
+    public File getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * Checks if only cached documents are used
+     */
+    public boolean isOffline() {
+        return offline;
+    }
+
+    /**
+     * Rewrites a spec to use cached copies of remote documents, returning null if nothing it references is remote.
+     * Remote documents are fetched before the copies are written, each once however many specs and threads
+     * reference it, so that only the quick local rewriting is serialized.
+     *
+     * @throws SpectralExecutionException if the build is offline and a referenced document is not cached
+     */
+    public Localized localize(File spec) throws IOException, SpectralExecutionException {
+        File root = canonical(spec);
+        if (!reachesRemote.computeIfAbsent(root, SpecDependencies::hasRemoteReferences)) {
+            return null;
+        }
+        List<File> documents = new ArrayList<>();
+        documents.add(root);
+        documents.addAll(SpecDependencies.localReferences(root));
+        Set<String> visited = new HashSet<>();
+        for (File document : documents) {
+            prefetch(read(document), null, visited);
+        }
+        synchronized (this) {
+            return new Localized(localCopy(root));
+        }
+    }
+
+    /**
+     * Fetches the remote documents a document references, and the ones they reference in turn. Failures are left
+     * for {@link #remoteTarget} to report when the copies are written.
+     *
+     * @param base URL of the document if it is remote, which its relative references resolve against
+     */
+    private void prefetch(String text, URI base, Set<String> visited) {
+        Matcher matcher = SpecDependencies.REF.matcher(text);
+        while (matcher.find()) {
+            String ref = matcher.group(1);
+            URI url;
+            if (SpecDependencies.isRemote(ref)) {
+                url = URI.create(ref);
+            } else if (base != null && !ref.isEmpty() && !ref.contains("://")) {
+                url = base.resolve(ref);
+            } else {
+                continue;
+            }
+            if (visited.add(url.toString())) {
+                try {
+                    prefetch(new String(body(url), StandardCharsets.UTF_8), url, visited);
+                } catch (IOException e) {
+                    // Reported when the reference is rewritten
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the body of a remote document, fetching it once per cache; concurrent callers wait for the first
+     */
+    private byte[] body(URI url) throws IOException {
+        CompletableFuture<byte[]> fetched = new CompletableFuture<>();
+        CompletableFuture<byte[]> existing = bodies.putIfAbsent(url.toString(), fetched);
+        if (existing == null) {
+            try {
+                fetched.complete(fetch(url));
+            } catch (IOException | RuntimeException e) {
+                fetched.completeExceptionally(e);
+            }
+        }
+        try {
+            return (existing != null ? existing : fetched).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private File localCopy(File file) throws IOException, SpectralExecutionException {
+        File copy = localCopies.get(file);
+        if (copy != null) {
+            return copy;
+        }
+        copy = new File(new File(workDirectory, FileStamp.sha256(file.getPath()).substring(0, 16)), file.getName());
+        // Register before rewriting, so circular references end at the registered copy
+        localCopies.put(file, copy);
+        origins.put(copy.getAbsolutePath(), file.getPath());
+
+        String text = read(file);
+        StringBuilder rewritten = new StringBuilder();
+        int last = 0;
+        Matcher matcher = SpecDependencies.REF.matcher(text);
+        while (matcher.find()) {
+            String ref = matcher.group(1);
+            String target = null;
+            if (SpecDependencies.isRemote(ref)) {
+                target = remoteTarget(URI.create(ref));
+            } else if (!ref.isEmpty() && !ref.contains("://")) {
+                File local = canonical(new File(file.getParentFile(), ref));
+                target = portable(local.isFile() ? localCopy(local) : local);
+            }
+            if (target != null) {
+                rewritten.append(text, last, matcher.start(1)).append(target);
+                last = matcher.end(1);
+            }
+        }
+        rewritten.append(text.substring(last));
+        write(copy, rewritten.toString().getBytes(StandardCharsets.UTF_8));
+        return copy;
+    }
+
+    /**
+     * Gets the local path to reference a remote document by, or null to leave the URL for Spectral to resolve
+     */
+    private String remoteTarget(URI url) throws IOException, SpectralExecutionException {
+        try {
+            return portable(remoteCopy(url));
+        } catch (IOException e) {
+            if (offline) {
+                throw new SpectralExecutionException("Remote $ref " + url + " is not in the cache " + cacheDirectory
+                        + " and the build is offline, run once online to fetch it", e);
+            }
+            log.warn("Could not fetch remote $ref " + url + ", leaving it to Spectral: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private File remoteCopy(URI url) throws IOException, SpectralExecutionException {
+        String key = url.toString();
+        File copy = remoteCopies.get(key);
+        if (copy != null) {
+            return copy;
+        }
+        String text = new String(body(url), StandardCharsets.UTF_8);
+        copy = new File(entryDirectory(url), documentName(url));
+        remoteCopies.put(key, copy);
+        origins.put(copy.getAbsolutePath(), key);
+
+        StringBuilder rewritten = new StringBuilder();
+        int last = 0;
+        Matcher matcher = SpecDependencies.REF.matcher(text);
+        while (matcher.find()) {
+            String ref = matcher.group(1);
+            String target = null;
+            if (SpecDependencies.isRemote(ref)) {
+                target = remoteTarget(URI.create(ref));
+            } else if (!ref.isEmpty() && !ref.contains("://")) {
+                // Relative references in a remote document are relative to its URL
+                target = remoteTarget(url.resolve(ref));
+            }
+            if (target != null) {
+                rewritten.append(text, last, matcher.start(1)).append(target);
+                last = matcher.end(1);
+            }
+        }
+        rewritten.append(text.substring(last));
+        write(copy, rewritten.toString().getBytes(StandardCharsets.UTF_8));
+        return copy;
+    }
+
+    /**
+     * Gets the body of a remote document, from the cache when it is fresh, still valid or cannot be revalidated
+     */
+    byte[] fetch(URI url) throws IOException {
+        File directory = entryDirectory(url);
+        File body = new File(directory, "body");
+        File metadataFile = new File(directory, "metadata.properties");
+        Properties metadata = new Properties();
+        if (metadataFile.isFile()) {
+            try (InputStream in = Files.newInputStream(metadataFile.toPath())) {
+                metadata.load(in);
+            }
+        }
+        boolean cached = body.isFile();
+        long fetchedAt = Long.parseLong(metadata.getProperty("fetchedAt", "0"));
+        if (cached && (offline || System.currentTimeMillis() - fetchedAt < ttlMillis)) {
+            return Files.readAllBytes(body.toPath());
+        }
+        if (offline) {
+            throw new IOException(url + " is not cached");
+        }
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(url).timeout(TIMEOUT).GET();
+        if (cached && metadata.getProperty("etag") != null) {
+            request.header("If-None-Match", metadata.getProperty("etag"));
+        }
+        if (cached && metadata.getProperty("lastModified") != null) {
+            request.header("If-Modified-Since", metadata.getProperty("lastModified"));
+        }
+        HttpResponse<byte[]> response;
+        try {
+            response = send(request.build());
+            if (response.statusCode() != 200 && !(cached && response.statusCode() == 304)) {
+                throw new IOException("GET " + url + " returned HTTP " + response.statusCode());
+            }
+        } catch (IOException e) {
+            if (!cached) {
+                throw e;
+            }
+            log.warn("Could not revalidate remote $ref " + url + ", using the cached copy: " + e.getMessage());
+            return Files.readAllBytes(body.toPath());
+        }
+
+        if (response.statusCode() == 200) {
+            write(body, response.body());
+            metadata.remove("etag");
+            metadata.remove("lastModified");
+            response.headers().firstValue("ETag").ifPresent(etag -> metadata.setProperty("etag", etag));
+            response.headers().firstValue("Last-Modified").ifPresent(date -> metadata.setProperty("lastModified", date));
+            log.debug("Fetched remote $ref " + url);
+        } else {
+            log.debug("Remote $ref " + url + " is unchanged");
+        }
+        metadata.setProperty("url", url.toString());
+        metadata.setProperty("fetchedAt", String.valueOf(System.currentTimeMillis()));
+        Files.createDirectories(directory.toPath());
+        Path temp = Files.createTempFile(directory.toPath(), "metadata.", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                metadata.store(out, null);
+            }
+            move(temp, metadataFile.toPath());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return response.statusCode() == 200 ? response.body() : Files.readAllBytes(body.toPath());
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching " + request.uri(), e);
+        }
+    }
+
+    private File entryDirectory(URI url) {
+        return new File(cacheDirectory, FileStamp.sha256(url.toString()).substring(0, 16));
+    }
+
+    /**
+     * Names the cached copy after the last path segment, so Spectral still sees a YAML or JSON file
+     */
+    private static String documentName(URI url) {
+        String path = url.getPath() != null ? url.getPath() : "";
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        String lower = name.toLowerCase();
+        boolean known = lower.endsWith(".yaml") || lower.endsWith(".yml") || lower.endsWith(".json");
+        return known ? name : (name.isEmpty() ? "document" : name) + ".yaml";
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private static void write(File file, byte[] content) throws IOException {
+        Files.createDirectories(file.getParentFile().toPath());
+        Path temp = Files.createTempFile(file.getParentFile().toPath(), file.getName() + ".", ".tmp");
+        try {
+            Files.write(temp, content);
+            move(temp, file.toPath());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static File canonical(File file) {
+        return file.getAbsoluteFile().toPath().normalize().toFile();
+    }
+
+    /**
+     * Writes a path with forward slashes, which YAML and JSON take without escaping on every platform
+     */
+    private static String portable(File file) {
+        return file.getAbsolutePath().replace(File.separatorChar, '/');
+    }
+
+    /**
+     * A spec rewritten to reference only local files
+     */
+    public class Localized {
+        private final File file;
+
+        Localized(File file) {
+            this.file = file;
+        }
+
+        /**
+         * Gets the rewritten spec to lint
+         */
+        public File getFile() {
+            return file;
+        }
+
+        /**
+         * Maps paths of the rewritten copies in a result back to the original files and URLs
+         */
+        public SpectralResult restore(SpectralResult result) {
+            Map<String, String> mappings;
+            synchronized (RemoteRefCache.this) {
+                mappings = new LinkedHashMap<>(origins);
+            }
+            String output = result.getOutput();
+            for (Map.Entry<String, String> mapping : mappings.entrySet()) {
+                output = output.replace(mapping.getKey(), mapping.getValue());
+            }
+            List<SpectralFinding> findings = null;
+            if (result.hasStructuredFindings()) {
+                findings = new ArrayList<>();
+                for (SpectralFinding finding : result.getFindings()) {
+                    String source = finding.getSource() != null
+                            ? mappings.get(new File(finding.getSource()).getAbsolutePath())
+                            : null;
+                    findings.add(source == null ? finding : new SpectralFinding(finding.getCode(),
+                            finding.getMessage(), finding.getSeverity(), finding.getPath(), source,
+                            finding.getLine(), finding.getCharacter()));
+                }
+            }
+            return new SpectralResult(result.getViolationCount(), output, findings);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package io.github.nddipiazza.spectral;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes reports in several formats from the structured findings of one run, so adding a format does not add a
+ * lint. Each format gets its own file in the reports directory; html is the paginated {@link HtmlReport}, which the
+ * executor streams while results come in.
+ */
+public class ReportFormats {
+
+    public static final String TEXT = "text";
+    public static final String JSON = "json";
+    public static final String JUNIT = "junit";
+    public static final String SARIF = "sarif";
+    public static final String HTML = "html";
+
+    static final List<String> SUPPORTED = Arrays.asList(TEXT, JSON, JUNIT, SARIF, HTML);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Set<String> formats;
+    private final File directory;
+    private final File baseDirectory;
+
+    /**
+     * @param formats the formats to write, each one of {@link #SUPPORTED}
+     * @param directory directory the reports are written to
+     * @param baseDirectory directory that file names in the reports are relative to
+     */
+    public ReportFormats(List<String> formats, File directory, File baseDirectory) throws SpectralExecutionException {
+        this.formats = new LinkedHashSet<>();
+        for (String format : formats) {
+            String name = format.trim().toLowerCase(Locale.ROOT);
+            if (!SUPPORTED.contains(name)) {
+                throw new SpectralExecutionException("Unsupported report format '" + format + "', expected one of "
+                        + String.join(", ", SUPPORTED));
+            }
+            this.formats.add(name);
+        }
+        this.directory = directory;
+        this.baseDirectory = baseDirectory;
+    }
+
+    /**
+     * Gets the directory of the html report, or null if html is not one of the formats
+     */
+    public File getHtmlDirectory() {
+        return formats.contains(HTML) ? new File(directory, "html") : null;
+    }
+
+    /**
+     * Gets the file a format other than html is written to
+     */
+    public File fileFor(String format) {
+        switch (format) {
+            case JSON:
+                return new File(directory, "spectral.json");
+            case JUNIT:
+                return new File(directory, "spectral-junit.xml");
+            case SARIF:
+                return new File(directory, "spectral.sarif");
+            default:
+                return new File(directory, "spectral.txt");
+        }
+    }
+
+    /**
+     * Writes every format except html, which is streamed separately
+     *
+     * @param results the findings of each linted file in lint order, null for files without structured findings
+     * @return the files written
+     */
+    public List<File> write(Map<File, List<SpectralFinding>> results) throws IOException {
+        List<File> written = new ArrayList<>();
+        for (String format : formats) {
+            if (HTML.equals(format)) {
+                continue;
+            }
+            File file = fileFor(format);
+            Files.createDirectories(directory.toPath());
+            SpectralEvents.Report event = new SpectralEvents.Report();
+            event.begin();
+            try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                render(format, results, out);
+            }
+            if (event.shouldCommit()) {
+                event.kind = format;
+                event.path = file.getPath();
+                event.commit();
+            }
+            written.add(file);
+        }
+        return written;
+    }
+
+    void render(String format, Map<File, List<SpectralFinding>> results, Writer out) throws IOException {
+        switch (format) {
+            case JSON:
+                MAPPER.writerWithDefaultPrettyPrinter().writeValue(out, SpectralFinding.toJson(allFindings(results)));
+                break;
+            case JUNIT:
+                renderJunit(results, out);
+                break;
+            case SARIF:
+                renderSarif(results, out);
+                break;
+            default:
+                for (SpectralFinding finding : allFindings(results)) {
+                    out.write(finding.toString());
+                    out.write('\n');
+                }
+        }
+    }
+
+    private static List<SpectralFinding> allFindings(Map<File, List<SpectralFinding>> results) {
+        List<SpectralFinding> findings = new ArrayList<>();
+        for (List<SpectralFinding> fileFindings : results.values()) {
+            if (fileFindings != null) {
+                findings.addAll(fileFindings);
+            }
+        }
+        return findings;
+    }
+
+    /**
+     * Renders one test suite per linted file with a failed test case per finding, like Spectral's junit format
+     */
+    private void renderJunit(Map<File, List<SpectralFinding>> results, Writer out) throws IOException {
+        out.write("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n<testsuites>\n");
+        for (Map.Entry<File, List<SpectralFinding>> entry : results.entrySet()) {
+            List<SpectralFinding> findings = entry.getValue();
+            if (findings == null) {
+                continue;
+            }
+            String name = HtmlReport.escape(relativize(entry.getKey().getPath()));
+            out.write("<testsuite package=\"org.spectral\" time=\"0\" tests=\"" + findings.size() + "\" errors=\"0\""
+                    + " failures=\"" + findings.size() + "\" name=\"" + name + "\">\n");
+            for (SpectralFinding finding : findings) {
+                out.write("<testcase classname=\"" + name + "\" name=\"org.spectral."
+                        + HtmlReport.escape(finding.getCode() + "(" + finding.getJsonPointer() + ")")
+                        + "\" time=\"0\">\n<failure message=\"" + HtmlReport.escape(finding.getMessage())
+                        + "\" type=\"" + finding.getSeverityName() + "\">");
+                out.write(HtmlReport.escape("line " + (finding.getLine() + 1) + ", col " + (finding.getCharacter() + 1)
+                        + ", " + finding.getSeverityName() + " - " + finding.getMessage()
+                        + " (" + finding.getCode() + ")"));
+                out.write("</failure>\n</testcase>\n");
+            }
+            out.write("</testsuite>\n");
+        }
+        out.write("</testsuites>\n");
+    }
+
+    /**
+     * Renders a SARIF 2.1.0 log with paths relative to the base directory, for code scanning tools
+     */
+    private void renderSarif(Map<File, List<SpectralFinding>> results, Writer out) throws IOException {
+        List<SpectralFinding> findings = allFindings(results);
+        Set<String> rules = new TreeSet<>();
+        findings.forEach(finding -> rules.add(finding.getCode()));
+
+        try (JsonGenerator json = new JsonFactory().createGenerator(out)) {
+            json.useDefaultPrettyPrinter();
+            json.writeStartObject();
+            json.writeStringField("$schema", "https://json.schemastore.org/sarif-2.1.0.json");
+            json.writeStringField("version", "2.1.0");
+            json.writeArrayFieldStart("runs");
+            json.writeStartObject();
+
+            json.writeObjectFieldStart("tool");
+            json.writeObjectFieldStart("driver");
+            json.writeStringField("name", "spectral");
+            json.writeStringField("informationUri", "https://github.com/stoplightio/spectral");
+            json.writeArrayFieldStart("rules");
+            for (String rule : rules) {
+                json.writeStartObject();
+                json.writeStringField("id", rule);
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndObject();
+
+            if (baseDirectory != null) {
+                json.writeObjectFieldStart("originalUriBaseIds");
+                json.writeObjectFieldStart("SRCROOT");
+                json.writeStringField("uri", baseDirectory.getAbsoluteFile().toURI().toString());
+                json.writeEndObject();
+                json.writeEndObject();
+            }
+
+            json.writeArrayFieldStart("results");
+            for (SpectralFinding finding : findings) {
+                json.writeStartObject();
+                json.writeStringField("ruleId", finding.getCode());
+                json.writeStringField("level", sarifLevel(finding.getSeverity()));
+                json.writeObjectFieldStart("message");
+                json.writeStringField("text", finding.getMessage());
+                json.writeEndObject();
+                json.writeArrayFieldStart("locations");
+                json.writeStartObject();
+                json.writeObjectFieldStart("physicalLocation");
+                json.writeObjectFieldStart("artifactLocation");
+                json.writeStringField("uri", relativize(finding.getSource()));
+                if (baseDirectory != null) {
+                    json.writeStringField("uriBaseId", "SRCROOT");
+                }
+                json.writeEndObject();
+                json.writeObjectFieldStart("region");
+                json.writeNumberField("startLine", finding.getLine() + 1);
+                json.writeNumberField("startColumn", finding.getCharacter() + 1);
+                json.writeEndObject();
+                json.writeEndObject();
+                json.writeEndObject();
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    private static String sarifLevel(int severity) {
+        switch (severity) {
+            case SpectralFinding.SEVERITY_ERROR:
+                return "error";
+            case SpectralFinding.SEVERITY_WARN:
+                return "warning";
+            default:
+                return "note";
+        }
+    }
+
+    private String relativize(String path) {
+        return path != null ? FileStamp.relativePath(new File(path), baseDirectory) : "";
+    }
+}
@@ -0,0 +1,157 @@
+package io.github.nddipiazza.spectral;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Detects the CPU and memory limits available to the build, honouring cgroup (v1 and v2) limits
+ * so that the plugin does not oversubscribe containerized CI agents
+ */
+public class ResourceLimits {
+
+    /**
+     * Values at or above this are treated as "no limit" by cgroup v1
+     */
+    private static final long CGROUP_V1_UNLIMITED = Long.MAX_VALUE / 2;
+
+    private final int availableProcessors;
+    private final long memoryLimitBytes;
+
+    public ResourceLimits(int availableProcessors, long memoryLimitBytes) {
+        this.availableProcessors = Math.max(1, availableProcessors);
+        this.memoryLimitBytes = memoryLimitBytes;
+    }
+
+    /**
+     * Detects the limits of the current machine or container
+     */
+    public static ResourceLimits detect() {
+        return detect(Paths.get("/sys/fs/cgroup"), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Detects limits from the given cgroup root, falling back to the host processor count
+     */
+    static ResourceLimits detect(Path cgroupRoot, int hostProcessors) {
+        int processors = hostProcessors;
+        Integer cgroupCpus = readCpuLimit(cgroupRoot);
+        if (cgroupCpus != null) {
+            processors = Math.min(processors, cgroupCpus);
+        }
+        return new ResourceLimits(processors, readMemoryLimit(cgroupRoot));
+    }
+
+    /**
+     * Gets the number of processors available to the build
+     */
+    public int getAvailableProcessors() {
+        return availableProcessors;
+    }
+
+    /**
+     * Gets the memory limit in bytes, or -1 if no limit was detected
+     */
+    public long getMemoryLimitBytes() {
+        return memoryLimitBytes;
+    }
+
+    /**
+     * Checks if a memory limit was detected
+     */
+    public boolean hasMemoryLimit() {
+        return memoryLimitBytes > 0;
+    }
+
+    /**
+     * Computes how many Spectral processes can safely run at once.
+     *
+     * @param perProcessMemoryBytes expected peak memory of one Spectral process
+     * @param reservedMemoryBytes   memory that must stay free for the Maven JVM itself
+     */
+    public int recommendedConcurrency(long perProcessMemoryBytes, long reservedMemoryBytes) {
+        int concurrency = availableProcessors;
+        if (hasMemoryLimit() && perProcessMemoryBytes > 0) {
+            long budget = memoryLimitBytes - Math.max(0, reservedMemoryBytes);
+            long byMemory = budget / perProcessMemoryBytes;
+            concurrency = (int) Math.min(concurrency, byMemory);
+        }
+        return Math.max(1, concurrency);
+    }
+
+    private static Integer readCpuLimit(Path root) {
+        // cgroup v2: "<quota> <period>" or "max <period>"
+        String cpuMax = readFirstLine(root.resolve("cpu.max"));
+        if (cpuMax != null) {
+            String[] parts = cpuMax.trim().split("\\s+");
+            if (parts.length == 2 && !"max".equals(parts[0])) {
+                return cpusFromQuota(parseLong(parts[0]), parseLong(parts[1]));
+            }
+            return null;
+        }
+
+        // cgroup v1
+        for (String dir : new String[]{"cpu", "cpu,cpuacct", "cpuacct,cpu"}) {
+            Long quota = parseLong(readFirstLine(root.resolve(dir).resolve("cpu.cfs_quota_us")));
+            Long period = parseLong(readFirstLine(root.resolve(dir).resolve("cpu.cfs_period_us")));
+            if (quota != null && period != null) {
+                return quota > 0 ? cpusFromQuota(quota, period) : null;
+            }
+        }
+        return null;
+    }
+
+    private static Integer cpusFromQuota(Long quota, Long period) {
+        if (quota == null || period == null || quota <= 0 || period <= 0) {
+            return null;
+        }
+        return (int) Math.max(1, (quota + period - 1) / period);
+    }
+
+    private static long readMemoryLimit(Path root) {
+        String v2 = readFirstLine(root.resolve("memory.max"));
+        if (v2 != null) {
+            Long limit = parseLong(v2);
+            return limit != null && limit > 0 ? limit : -1;
+        }
+
+        Long v1 = parseLong(readFirstLine(root.resolve("memory").resolve("memory.limit_in_bytes")));
+        if (v1 != null && v1 > 0 && v1 < CGROUP_V1_UNLIMITED) {
+            return v1;
+        }
+        return -1;
+    }
+
+    private static String readFirstLine(Path file) {
+        if (!Files.isReadable(file)) {
+            return null;
+        }
+        try {
+            String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim();
+            int newline = content.indexOf('\n');
+            return newline >= 0 ? content.substring(0, newline) : content;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ResourceLimits{processors=%d, memoryLimitMb=%s}",
+                availableProcessors,
+                hasMemoryLimit() ? String.valueOf(memoryLimitBytes / (1024 * 1024)) : "unlimited");
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.nddipiazza.spectral;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Storage for lint results shared between builds, such as a directory on a shared file system or an HTTP
+ * cache server. Keys are hex SHA-256 strings and values are opaque bytes.
+ */
+public interface ResultCacheBackend {
+
+    /**
+     * Gets the value stored under the key, or null if there is none
+     */
+    byte[] get(String key) throws IOException;
+
+    /**
+     * Stores a value under the key, replacing any previous value
+     */
+    void put(String key, byte[] value) throws IOException;
+
+    /**
+     * Creates the backend for a location: an {@code http://} or {@code https://} URL, or a directory
+     *
+     * @param maxSize the maximum total size in bytes a directory backend keeps
+     */
+    static ResultCacheBackend forLocation(String location, long maxSize) {
+        String trimmed = location.trim();
+        if (trimmed.startsWith("http://") || trimmed.startsWith("https://")) {
+            return new HttpResultCacheBackend(trimmed);
+        }
+        return new DirectoryResultCacheBackend(new File(trimmed), maxSize);
+    }
+}
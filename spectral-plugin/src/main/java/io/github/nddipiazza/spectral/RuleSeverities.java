@@ -0,0 +1,188 @@
+package io.github.nddipiazza.spectral;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The severities a ruleset assigns to its rules, split from the rest of the ruleset so that cached results can
+ * be reused when an edit only turns rules off or changes their severity.
+ *
+ * <p>Each rule maps to {@code error}, {@code warn}, {@code info}, {@code hint}, {@code off}, or {@code default}
+ * when the ruleset leaves the severity to the rule definition. {@link #getRulesHash()} covers everything else in
+ * the ruleset document, so two rulesets with the same rules hash lint identically apart from severities.</p>
+ */
+public final class RuleSeverities {
+
+    static final String OFF = "off";
+    static final String DEFAULT = "default";
+
+    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+
+    private final Map<String, String> severities;
+    private final String rulesHash;
+
+    private RuleSeverities(Map<String, String> severities, String rulesHash) {
+        this.severities = Collections.unmodifiableMap(severities);
+        this.rulesHash = rulesHash;
+    }
+
+    /**
+     * Severities of a ruleset that cannot be inspected, identified only by its hash
+     */
+    public static RuleSeverities opaque(String hash) {
+        return new RuleSeverities(new HashMap<>(), hash);
+    }
+
+    /**
+     * Splits the rule severities from a YAML or JSON ruleset document
+     */
+    public static RuleSeverities parse(String rulesetText) {
+        JsonNode root;
+        try {
+            root = YAML_MAPPER.readTree(rulesetText);
+        } catch (IOException e) {
+            root = null;
+        }
+        if (root == null || !root.isObject()) {
+            return opaque(FileStamp.sha256(String.valueOf(rulesetText)));
+        }
+
+        Map<String, String> severities = new HashMap<>();
+        JsonNode rules = root.get("rules");
+        if (rules != null && rules.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = rules.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> rule = fields.next();
+                JsonNode value = rule.getValue();
+                if (value.isObject()) {
+                    // A rule definition: keep the definition, take out its severity
+                    severities.put(rule.getKey(), normalize(((ObjectNode) value).remove("severity")));
+                } else {
+                    // A severity override of a rule defined elsewhere
+                    severities.put(rule.getKey(), normalize(value));
+                    rule.setValue(TextNode.valueOf("override"));
+                }
+            }
+        }
+        try {
+            return new RuleSeverities(severities, FileStamp.sha256(JSON_MAPPER.writeValueAsString(root)));
+        } catch (IOException e) {
+            return opaque(FileStamp.sha256(rulesetText));
+        }
+    }
+
+    private static String normalize(JsonNode severity) {
+        if (severity == null || severity.isNull()) {
+            return DEFAULT;
+        }
+        if (severity.isBoolean()) {
+            // true enables a rule with its own severity
+            return severity.asBoolean() ? DEFAULT : OFF;
+        }
+        if (severity.isNumber()) {
+            int level = severity.asInt();
+            return level < 0 ? OFF : SpectralFinding.severityName(level);
+        }
+        String name = severity.asText().trim().toLowerCase();
+        switch (name) {
+            case "error":
+            case "warn":
+            case "info":
+            case "hint":
+            case OFF:
+                return name;
+            case "warning":
+                return "warn";
+            case "information":
+                return "info";
+            default:
+                return DEFAULT;
+        }
+    }
+
+    /**
+     * Gets the hash of the ruleset without its rule severities
+     */
+    public String getRulesHash() {
+        return rulesHash;
+    }
+
+    /**
+     * Gets these severities with another rules hash, e.g. one that also covers the files the ruleset extends
+     */
+    public RuleSeverities withRulesHash(String hash) {
+        return new RuleSeverities(new HashMap<>(severities), hash);
+    }
+
+    /**
+     * Gets the severity of each rule the ruleset mentions
+     */
+    public Map<String, String> getSeverities() {
+        return severities;
+    }
+
+    /**
+     * Adjusts findings produced under other severities to these severities, without linting again: rules turned
+     * off are dropped and rules whose severity changed are re-severitied. Returns null if that is not possible,
+     * because a rule that was off is turned on or a rule falls back to a default severity that is not known here.
+     */
+    public List<SpectralFinding> adjust(List<SpectralFinding> findings, RuleSeverities producedUnder) {
+        Set<String> codes = new HashSet<>(severities.keySet());
+        codes.addAll(producedUnder.severities.keySet());
+
+        Map<String, String> changed = new HashMap<>();
+        for (String code : codes) {
+            String before = producedUnder.severities.getOrDefault(code, DEFAULT);
+            String after = severities.getOrDefault(code, DEFAULT);
+            if (before.equals(after)) {
+                continue;
+            }
+            if (!OFF.equals(after) && (OFF.equals(before) || DEFAULT.equals(after))) {
+                return null;
+            }
+            changed.put(code, after);
+        }
+
+        List<SpectralFinding> adjusted = new ArrayList<>();
+        for (SpectralFinding finding : findings) {
+            String severity = changed.get(finding.getCode());
+            if (severity == null) {
+                adjusted.add(finding);
+            } else if (!OFF.equals(severity)) {
+                adjusted.add(finding.withSeverity(SpectralFinding.severityOf(severity)));
+            }
+        }
+        return adjusted;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RuleSeverities)) {
+            return false;
+        }
+        RuleSeverities that = (RuleSeverities) o;
+        return rulesHash.equals(that.rulesHash) && severities.equals(that.severities);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * rulesHash.hashCode() + severities.hashCode();
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.nddipiazza.spectral;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A resolved ruleset: the value passed to Spectral, its text, and a hash over the ruleset file plus the
+ * local files it extends and its custom functions, used to key cached lint results
+ */
+public class RulesetBundle {
+
+    private static final Pattern LOCAL_PATH = Pattern.compile("[\"']?(\\.{1,2}/[^\"'\\s,\\]]+)[\"']?");
+    private static final Pattern FUNCTIONS_DIR = Pattern.compile("functionsDir\\s*[:=]\\s*[\"']?([^\"'\\s,}]+)");
+
+    private final String argument;
+    private final String text;
+    private final String hash;
+    private final String portableHash;
+    private final RuleSeverities severities;
+    private final List<FileStamp> stamps;
+
+    private RulesetBundle(String argument, String text, String hash, String portableHash, RuleSeverities severities,
+                          List<FileStamp> stamps) {
+        this.argument = argument;
+        this.text = text;
+        this.hash = hash;
+        this.portableHash = portableHash;
+        this.severities = severities;
+        this.stamps = Collections.unmodifiableList(stamps);
+    }
+
+    /**
+     * Resolves a ruleset from the value returned by {@link SpectralExecutor#resolveRuleset(String)}
+     */
+    public static RulesetBundle resolve(String resolvedRuleset) throws IOException {
+        if (resolvedRuleset == null) {
+            return new RulesetBundle(null, null, "default", "default", RuleSeverities.opaque("default"), new ArrayList<>());
+        }
+        if (isRemote(resolvedRuleset)) {
+            String hash = "url:" + resolvedRuleset;
+            return new RulesetBundle(resolvedRuleset, null, hash, hash, RuleSeverities.opaque(hash), new ArrayList<>());
+        }
+
+        File rulesetFile = new File(resolvedRuleset);
+        String text = new String(Files.readAllBytes(rulesetFile.toPath()), StandardCharsets.UTF_8);
+        List<FileStamp> stamps = new ArrayList<>();
+        stamps.add(FileStamp.of(rulesetFile));
+        for (File dependency : localDependencies(rulesetFile, text)) {
+            stamps.add(FileStamp.of(dependency));
+        }
+
+        // The rules hash covers the dependencies and the ruleset without its severities, and the portable hash
+        // names dependencies relative to the ruleset so it is the same in every checkout
+        RuleSeverities parsed = RuleSeverities.parse(text);
+        Path directory = rulesetFile.getAbsoluteFile().getParentFile().toPath();
+        StringBuilder combined = new StringBuilder();
+        StringBuilder portable = new StringBuilder(FileStamp.sha256(text)).append('\n');
+        StringBuilder rules = new StringBuilder(parsed.getRulesHash()).append('\n');
+        for (FileStamp stamp : stamps) {
+            String entry = stamp.getFile().getAbsolutePath() + '=' + stamp.getHash() + '\n';
+            combined.append(entry);
+            if (stamp != stamps.get(0)) {
+                rules.append(entry);
+                portable.append(directory.relativize(stamp.getFile().getAbsoluteFile().toPath()).toString()
+                        .replace(File.separatorChar, '/')).append('=').append(stamp.getHash()).append('\n');
+            }
+        }
+        RuleSeverities severities = parsed.withRulesHash(FileStamp.sha256(rules.toString()));
+        return new RulesetBundle(resolvedRuleset, text, FileStamp.sha256(combined.toString()),
+                FileStamp.sha256(portable.toString()), severities, stamps);
+    }
+
+    private static List<File> localDependencies(File rulesetFile, String text) {
+        List<File> dependencies = new ArrayList<>();
+        File directory = rulesetFile.getAbsoluteFile().getParentFile();
+        Matcher paths = LOCAL_PATH.matcher(text);
+        while (paths.find()) {
+            File file = new File(directory, paths.group(1));
+            if (file.isFile()) {
+                dependencies.add(file);
+            }
+        }
+
+        Matcher functionsDir = FUNCTIONS_DIR.matcher(text);
+        File functions = new File(directory, functionsDir.find() ? functionsDir.group(1) : "functions");
+        File[] sources = functions.listFiles((dir, name) -> name.endsWith(".js") || name.endsWith(".mjs"));
+        if (sources != null) {
+            for (File source : sources) {
+                dependencies.add(source);
+            }
+        }
+        return dependencies;
+    }
+
+    private static boolean isRemote(String ruleset) {
+        return ruleset.startsWith("http://") || ruleset.startsWith("https://");
+    }
+
+    /**
+     * Gets the value passed to --ruleset, or null for Spectral's default rules
+     */
+    public String getArgument() {
+        return argument;
+    }
+
+    /**
+     * Gets the ruleset document text, or null for default or remote rulesets
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Gets a hash identifying the ruleset and its local dependencies
+     */
+    public String getHash() {
+        return hash;
+    }
+
+    /**
+     * Gets a hash of the ruleset and its local dependencies that does not depend on where they are checked out
+     */
+    public String getPortableHash() {
+        return portableHash;
+    }
+
+    /**
+     * Gets the rule severities of the ruleset, with a hash of everything else that affects linting
+     */
+    public RuleSeverities getSeverities() {
+        return severities;
+    }
+
+    /**
+     * Checks if the ruleset is loaded from a URL, whose content cannot be validated locally
+     */
+    public boolean isRemote() {
+        return argument != null && isRemote(argument);
+    }
+
+    /**
+     * Checks if the ruleset files are unchanged since the bundle was resolved
+     */
+    public boolean isCurrent() {
+        for (FileStamp stamp : stamps) {
+            if (!stamp.isCurrent()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
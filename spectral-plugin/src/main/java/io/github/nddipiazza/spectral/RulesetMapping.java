@@ -0,0 +1,46 @@
+package io.github.nddipiazza.spectral;
+
+/**
+ * Maps spec files matching a glob pattern, relative to the input directory, to the ruleset that lints them,
+ * e.g. {@code payments/**} to {@code rules/payments.yaml}
+ */
+public class RulesetMapping {
+
+    private String pattern;
+    private String ruleset;
+
+    public RulesetMapping() {
+    }
+
+    public RulesetMapping(String pattern, String ruleset) {
+        this.pattern = pattern;
+        this.ruleset = ruleset;
+    }
+
+    /**
+     * Gets the glob pattern of the files the ruleset applies to
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    /**
+     * Gets the ruleset file or URL
+     */
+    public String getRuleset() {
+        return ruleset;
+    }
+
+    public void setRuleset(String ruleset) {
+        this.ruleset = ruleset;
+    }
+
+    @Override
+    public String toString() {
+        return pattern + " -> " + ruleset;
+    }
+}
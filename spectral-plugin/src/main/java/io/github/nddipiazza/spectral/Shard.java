@@ -0,0 +1,157 @@
+package io.github.nddipiazza.spectral;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One of n deterministic partitions of the discovered spec files, so that linting can be split across CI jobs.
+ *
+ * <p>With the {@code hash} balance, a file belongs to the shard selected by a stable hash of its path relative
+ * to the input directory, so every job agrees without coordination and files can be assigned as they are found.
+ * The {@code size} and {@code duration} balances instead spread the files so that the shards carry similar total
+ * file sizes or recorded lint durations, assigning the heaviest files first to the lightest shard. They need the
+ * complete file list, and every job must see the same sizes or timings to agree on the split.</p>
+ */
+public final class Shard {
+
+    public static final String BALANCE_HASH = "hash";
+    public static final String BALANCE_SIZE = "size";
+    public static final String BALANCE_DURATION = "duration";
+
+    private final int index;
+    private final int total;
+    private final String balance;
+
+    private Shard(int index, int total, String balance) {
+        this.index = index;
+        this.total = total;
+        this.balance = balance;
+    }
+
+    /**
+     * Parses a shard such as {@code 2/4}, numbered from 1
+     */
+    public static Shard parse(String spec, String balance) {
+        String[] parts = spec.trim().split("/");
+        int index;
+        int total;
+        try {
+            if (parts.length != 2) {
+                throw new NumberFormatException();
+            }
+            index = Integer.parseInt(parts[0].trim());
+            total = Integer.parseInt(parts[1].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid shard '" + spec + "', expected <index>/<count> such as 1/4");
+        }
+        if (total < 1 || index < 1 || index > total) {
+            throw new IllegalArgumentException("Invalid shard '" + spec + "', index must be between 1 and " + total);
+        }
+        String mode = balance == null || balance.trim().isEmpty() ? BALANCE_HASH : balance.trim().toLowerCase();
+        if (!mode.equals(BALANCE_HASH) && !mode.equals(BALANCE_SIZE) && !mode.equals(BALANCE_DURATION)) {
+            throw new IllegalArgumentException("Invalid shard balance '" + balance + "', expected hash, size or duration");
+        }
+        return new Shard(index, total, mode);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public String getBalance() {
+        return balance;
+    }
+
+    /**
+     * Checks if files can be assigned one at a time as they are discovered
+     */
+    public boolean isStreaming() {
+        return BALANCE_HASH.equals(balance);
+    }
+
+    /**
+     * Checks if a file belongs to this shard with the hash balance
+     */
+    public boolean contains(File file, File baseDirectory) {
+        return Long.remainderUnsigned(stableHash(FileStamp.relativePath(file, baseDirectory)), total) == index - 1;
+    }
+
+    /**
+     * Selects this shard's files from the complete file list, keeping their order
+     *
+     * @param timings recorded durations for the duration balance, may be null
+     */
+    public List<File> select(List<File> files, File baseDirectory, LintTimings timings) {
+        if (isStreaming()) {
+            List<File> selected = new ArrayList<>();
+            for (File file : files) {
+                if (contains(file, baseDirectory)) {
+                    selected.add(file);
+                }
+            }
+            return selected;
+        }
+
+        Long fallback = timings != null ? timings.average() : null;
+        List<File> heaviestFirst = new ArrayList<>(files);
+        heaviestFirst.sort(Comparator.comparingLong((File file) -> -weight(file, timings, fallback))
+                .thenComparing(file -> FileStamp.relativePath(file, baseDirectory)));
+
+        long[] loads = new long[total];
+        Set<File> mine = new HashSet<>();
+        for (File file : heaviestFirst) {
+            int lightest = 0;
+            for (int shard = 1; shard < total; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            // Count every file as at least 1, so files of unknown weight still spread across shards
+            loads[lightest] += Math.max(1, weight(file, timings, fallback));
+            if (lightest == index - 1) {
+                mine.add(file);
+            }
+        }
+
+        List<File> selected = new ArrayList<>();
+        for (File file : files) {
+            if (mine.contains(file)) {
+                selected.add(file);
+            }
+        }
+        return selected;
+    }
+
+    private long weight(File file, LintTimings timings, Long fallback) {
+        if (BALANCE_DURATION.equals(balance) && timings != null) {
+            Long duration = timings.get(file);
+            if (duration != null) {
+                return duration;
+            }
+            if (fallback != null) {
+                return fallback;
+            }
+        }
+        return file.length();
+    }
+
+    /**
+     * Hashes a string the same way on every JVM and platform
+     */
+    static long stableHash(String text) {
+        return Long.parseUnsignedLong(FileStamp.sha256(text).substring(0, 16), 16);
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + total;
+    }
+}
@@ -0,0 +1,141 @@
+package io.github.nddipiazza.spectral;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The structured results of linting one shard, written by each sharded run and combined by the merge goal.
+ * Paths are stored relative to the input directory, so shards linted in different workspaces can be merged.
+ */
+public class ShardResult {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final int index;
+    private final int total;
+    private final List<FileResult> files;
+
+    public ShardResult(int index, int total, List<FileResult> files) {
+        this.index = index;
+        this.total = total;
+        this.files = Collections.unmodifiableList(new ArrayList<>(files));
+    }
+
+    /**
+     * Gets the name of the result file of a shard
+     */
+    public static String fileName(Shard shard) {
+        return "shard-" + shard.getIndex() + "-of-" + shard.getTotal() + ".json";
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public List<FileResult> getFiles() {
+        return files;
+    }
+
+    /**
+     * Writes the result, making paths relative to the base directory
+     */
+    public void write(File file, File baseDirectory) throws IOException {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("shard", index);
+        root.put("total", total);
+        ArrayNode fileNodes = root.putArray("files");
+        for (FileResult result : files) {
+            ObjectNode node = fileNodes.addObject();
+            node.put("path", FileStamp.relativePath(result.getFile(), baseDirectory));
+            node.put("violationCount", result.getViolationCount());
+            if (result.getFindings() != null) {
+                List<SpectralFinding> relative = new ArrayList<>();
+                for (SpectralFinding finding : result.getFindings()) {
+                    relative.add(finding.getSource() != null
+                            ? finding.withSource(FileStamp.relativePath(new File(finding.getSource()), baseDirectory))
+                            : finding);
+                }
+                node.set("findings", SpectralFinding.toJson(relative));
+            }
+        }
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+        MAPPER.writeValue(file, root);
+    }
+
+    /**
+     * Reads a result, resolving relative paths against the base directory
+     */
+    public static ShardResult read(File file, File baseDirectory) throws IOException {
+        JsonNode root = MAPPER.readTree(file);
+        if (root == null || !root.has("shard") || !root.has("total") || !root.path("files").isArray()) {
+            throw new IOException("Not a Spectral shard result: " + file);
+        }
+        List<FileResult> files = new ArrayList<>();
+        for (JsonNode node : root.get("files")) {
+            List<SpectralFinding> findings = null;
+            if (node.path("findings").isArray()) {
+                findings = new ArrayList<>();
+                for (JsonNode findingNode : node.get("findings")) {
+                    SpectralFinding finding = SpectralFinding.fromJson(findingNode);
+                    findings.add(finding.getSource() != null
+                            ? finding.withSource(resolve(finding.getSource(), baseDirectory).getPath())
+                            : finding);
+                }
+            }
+            files.add(new FileResult(resolve(node.path("path").asText(), baseDirectory),
+                    node.path("violationCount").asInt(), findings));
+        }
+        return new ShardResult(root.get("shard").asInt(), root.get("total").asInt(), files);
+    }
+
+    private static File resolve(String path, File baseDirectory) {
+        File file = new File(path);
+        return file.isAbsolute() || baseDirectory == null ? file : new File(baseDirectory, path);
+    }
+
+    /**
+     * The result of linting one file of a shard
+     */
+    public static class FileResult {
+        private final File file;
+        private final int violationCount;
+        private final List<SpectralFinding> findings;
+
+        public FileResult(File file, int violationCount, List<SpectralFinding> findings) {
+            this.file = file;
+            this.violationCount = violationCount;
+            this.findings = findings;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public int getViolationCount() {
+            return violationCount;
+        }
+
+        /**
+         * Gets the findings, or null if they were not available in structured form
+         */
+        public List<SpectralFinding> getFindings() {
+            return findings;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.github.nddipiazza.spectral;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-file lint results shared by every build that uses the same {@link ResultCacheBackend}, so a fleet of
+ * build agents lints each unchanged spec once.
+ *
+ * <p>Entries are keyed by the content of the spec and its local references, a hash of the ruleset that does
+ * not depend on where it is checked out, and the Spectral version. Only structured findings are stored, with
+ * sources relative to the linted file, and output is rendered from them, so the shared cache is only used
+ * with the {@code text} and {@code json} formats. The cache is best effort: when the backend fails, the
+ * build warns once and lints without it.</p>
+ */
+public class SharedResultCache {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ResultCacheBackend backend;
+    private final Log log;
+    private final AtomicBoolean unavailable = new AtomicBoolean();
+
+    public SharedResultCache(ResultCacheBackend backend, Log log) {
+        this.backend = backend;
+        this.log = log;
+    }
+
+    /**
+     * Checks if results in the format can be rendered from shared findings
+     */
+    public static boolean supports(String format) {
+        return SpectralFinding.isRenderable(format);
+    }
+
+    /**
+     * Computes the key of a result from everything that decides it
+     *
+     * @param contentKey the content of the spec and its references, see {@link SpectralExecutor#contentKey(File)}
+     * @param rulesetHash the portable hash of the ruleset
+     * @param engineVersion the engine and Spectral version that lint
+     */
+    public static String key(String contentKey, String rulesetHash, String engineVersion) {
+        return FileStamp.sha256(contentKey + '\n' + rulesetHash + '\n' + engineVersion);
+    }
+
+    /**
+     * Gets the shared result of linting a file, or null if there is none or the backend failed
+     */
+    public SpectralResult get(File file, String key, String format) {
+        if (unavailable.get()) {
+            return null;
+        }
+        try {
+            byte[] value = backend.get(key);
+            if (value == null) {
+                return null;
+            }
+            JsonNode root = MAPPER.readTree(value);
+            if (root == null || !root.path("findings").isArray()) {
+                log.debug("Ignoring malformed shared result " + key);
+                return null;
+            }
+            Path base = file.getAbsoluteFile().toPath();
+            List<SpectralFinding> findings = new ArrayList<>();
+            for (JsonNode node : root.get("findings")) {
+                SpectralFinding finding = SpectralFinding.fromJson(node);
+                findings.add(finding.getSource() != null
+                        ? finding.withSource(base.resolve(finding.getSource()).normalize().toString())
+                        : finding);
+            }
+            String output = "json".equalsIgnoreCase(format)
+                    ? SpectralFinding.renderJson(findings)
+                    : SpectralFinding.renderText(findings);
+            return new SpectralResult(root.path("violationCount").asInt(), output, findings);
+        } catch (IOException | RuntimeException e) {
+            failed(e);
+            return null;
+        }
+    }
+
+    /**
+     * Shares the result of linting a file, if its findings are available in structured form
+     */
+    public void put(File file, String key, SpectralResult result) {
+        if (unavailable.get() || !result.hasStructuredFindings()) {
+            return;
+        }
+        Path base = file.getAbsoluteFile().toPath();
+        List<SpectralFinding> relative = new ArrayList<>();
+        for (SpectralFinding finding : result.getFindings()) {
+            relative.add(finding.getSource() != null
+                    ? finding.withSource(base.relativize(new File(finding.getSource()).getAbsoluteFile().toPath())
+                            .toString().replace(File.separatorChar, '/'))
+                    : finding);
+        }
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("violationCount", result.getViolationCount());
+        root.set("findings", SpectralFinding.toJson(relative));
+        try {
+            backend.put(key, MAPPER.writeValueAsBytes(root));
+        } catch (IOException | RuntimeException e) {
+            failed(e);
+        }
+    }
+
+    private void failed(Exception e) {
+        if (unavailable.compareAndSet(false, true)) {
+            log.warn("Shared result cache " + backend + " is unavailable, linting without it: " + e.getMessage());
+        }
+    }
+}
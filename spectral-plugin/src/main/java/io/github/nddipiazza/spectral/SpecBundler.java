@@ -0,0 +1,309 @@
+package io.github.nddipiazza.spectral;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bundles specs that pull in other local files through {@code $ref} into single documents before linting,
+ * so Spectral does not read and resolve shared component files again for every root document.
+ *
+ * <p>Each file is parsed once per run and its fragments are kept in memory. Bundling inlines the target of
+ * each local reference at the first place it is used, and turns later references to the same target into
+ * internal references to that place, which also keeps circular references finite. A source map records where
+ * each inlined fragment came from, so findings in the bundle are mapped back to the original file, JSON path
+ * and line.</p>
+ */
+public class SpecBundler {
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+
+    private final File bundleDirectory;
+    private final Map<File, Document> documents = new ConcurrentHashMap<>();
+
+    /**
+     * @param bundleDirectory directory the bundled documents are written to
+     */
+    public SpecBundler(File bundleDirectory) {
+        this.bundleDirectory = bundleDirectory;
+    }
+
+    /**
+     * Bundles a spec, returning null if it references no other local files and can be linted as it is
+     */
+    public Bundle bundle(File spec) throws IOException {
+        File root = canonical(spec);
+        if (SpecDependencies.localReferences(root).isEmpty()) {
+            return null;
+        }
+        Bundle bundle = new Bundle(spec, root);
+        JsonNode bundled = resolve(document(root).root.deepCopy(), root, "", bundle);
+
+        // Keep the file name, so rules and output that use it still see the original name; JSON is valid YAML
+        File directory = new File(bundleDirectory, FileStamp.sha256(root.getPath()).substring(0, 16));
+        Files.createDirectories(directory.toPath());
+        bundle.file = new File(directory, root.getName());
+        JSON_MAPPER.writerWithDefaultPrettyPrinter().writeValue(bundle.file, bundled);
+        return bundle;
+    }
+
+    private JsonNode resolve(JsonNode node, File file, String pointer, Bundle bundle) throws IOException {
+        if (node.isObject()) {
+            ObjectNode object = (ObjectNode) node;
+            JsonNode ref = object.get("$ref");
+            if (ref != null && ref.isTextual()) {
+                return resolveRef(object, ref.asText(), file, pointer, bundle);
+            }
+            List<String> names = new ArrayList<>();
+            object.fieldNames().forEachRemaining(names::add);
+            for (String name : names) {
+                object.set(name, resolve(object.get(name), file, pointer + '/' + escape(name), bundle));
+            }
+        } else if (node.isArray()) {
+            ArrayNode array = (ArrayNode) node;
+            for (int i = 0; i < array.size(); i++) {
+                array.set(i, resolve(array.get(i), file, pointer + '/' + i, bundle));
+            }
+        }
+        return node;
+    }
+
+    private JsonNode resolveRef(ObjectNode object, String ref, File file, String pointer, Bundle bundle)
+            throws IOException {
+        int hash = ref.indexOf('#');
+        String filePart = hash >= 0 ? ref.substring(0, hash) : ref;
+        String fragment = hash >= 0 ? URLDecoder.decode(ref.substring(hash + 1).replace("+", "%2B"), StandardCharsets.UTF_8) : "";
+        if (filePart.contains("://")) {
+            return object;
+        }
+        File target = filePart.isEmpty() ? file : canonical(new File(file.getParentFile(), filePart));
+        if (target.equals(bundle.root)) {
+            return filePart.isEmpty() ? object : withRef(object, hash >= 0 ? ref.substring(hash) : "#");
+        }
+
+        Document document = target.isFile() ? loadQuietly(target) : null;
+        JsonNode fragmentNode = document != null ? at(document.root, fragment) : null;
+        if (fragmentNode == null || fragmentNode.isMissingNode()) {
+            // Leave it for Spectral to report, resolved from the bundle's location
+            return withRef(object, target.getPath() + (hash >= 0 ? ref.substring(hash) : ""));
+        }
+
+        String key = target.getPath() + '#' + fragment;
+        String inlinedAt = bundle.inlined.get(key);
+        if (inlinedAt != null) {
+            return withRef(object, '#' + inlinedAt);
+        }
+        bundle.inlined.put(key, pointer);
+        bundle.mappings.add(new Mapping(pointer, target, fragment));
+        return resolve(fragmentNode.deepCopy(), target, pointer, bundle);
+    }
+
+    private static ObjectNode withRef(ObjectNode object, String ref) {
+        ObjectNode copy = object.deepCopy();
+        copy.put("$ref", ref);
+        return copy;
+    }
+
+    private static JsonNode at(JsonNode root, String fragment) {
+        try {
+            return root.at(fragment);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private Document loadQuietly(File file) {
+        try {
+            return document(file);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private Document document(File file) throws IOException {
+        try {
+            return documents.computeIfAbsent(file, f -> {
+                try {
+                    return Document.parse(f);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static File canonical(File file) {
+        return file.getAbsoluteFile().toPath().normalize().toFile();
+    }
+
+    static String escape(String segment) {
+        return segment.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static List<String> segments(String pointer) {
+        List<String> segments = new ArrayList<>();
+        if (!pointer.isEmpty()) {
+            for (String segment : pointer.substring(1).split("/", -1)) {
+                segments.add(segment.replace("~1", "/").replace("~0", "~"));
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * A spec written as a single document, with the source map to map findings back
+     */
+    public class Bundle {
+        private final File spec;
+        private final File root;
+        private final Map<String, String> inlined = new HashMap<>();
+        private final List<Mapping> mappings = new ArrayList<>();
+        private File file;
+
+        Bundle(File spec, File root) {
+            this.spec = spec;
+            this.root = root;
+        }
+
+        /**
+         * Gets the bundled document to lint
+         */
+        public File getFile() {
+            return file;
+        }
+
+        /**
+         * Maps the result of linting the bundle back to the original files, rendering its output in the format
+         */
+        public SpectralResult remap(SpectralResult result, String format) throws IOException {
+            if (!result.hasStructuredFindings()) {
+                return result;
+            }
+            String bundlePath = file.getAbsolutePath();
+            List<SpectralFinding> findings = new ArrayList<>();
+            for (SpectralFinding finding : result.getFindings()) {
+                boolean inBundle = finding.getSource() == null || bundlePath.equals(new File(finding.getSource()).getAbsolutePath());
+                findings.add(inBundle ? remap(finding) : finding);
+            }
+            String output = "json".equalsIgnoreCase(format)
+                    ? SpectralFinding.renderJson(findings)
+                    : SpectralFinding.renderText(findings);
+            return new SpectralResult(result.getViolationCount(), output, findings);
+        }
+
+        private SpectralFinding remap(SpectralFinding finding) throws IOException {
+            String pointer = finding.getJsonPointer();
+            Mapping mapping = null;
+            for (Mapping candidate : mappings) {
+                boolean covers = pointer.equals(candidate.bundlePointer) || pointer.startsWith(candidate.bundlePointer + '/');
+                if (covers && (mapping == null || candidate.bundlePointer.length() > mapping.bundlePointer.length())) {
+                    mapping = candidate;
+                }
+            }
+            File source = mapping != null ? mapping.file : root;
+            String sourcePointer = mapping != null
+                    ? mapping.sourcePointer + pointer.substring(mapping.bundlePointer.length())
+                    : pointer;
+            int[] location = document(source).locate(sourcePointer);
+            return new SpectralFinding(finding.getCode(), finding.getMessage(), finding.getSeverity(),
+                    segments(sourcePointer), source == root ? spec.getAbsolutePath() : source.getPath(),
+                    location[0], location[1]);
+        }
+    }
+
+    /**
+     * Where an inlined fragment sits in the bundle and where it came from
+     */
+    private static class Mapping {
+        private final String bundlePointer;
+        private final File file;
+        private final String sourcePointer;
+
+        Mapping(String bundlePointer, File file, String sourcePointer) {
+            this.bundlePointer = bundlePointer;
+            this.file = file;
+            this.sourcePointer = sourcePointer;
+        }
+    }
+
+    /**
+     * A parsed file with the zero-based line and column of every node, keyed by JSON pointer
+     */
+    private static class Document {
+        private final JsonNode root;
+        private final Map<String, int[]> locations;
+
+        Document(JsonNode root, Map<String, int[]> locations) {
+            this.root = root;
+            this.locations = locations;
+        }
+
+        static Document parse(File file) throws IOException {
+            ObjectMapper mapper = file.getName().toLowerCase().endsWith(".json") ? JSON_MAPPER : YAML_MAPPER;
+            JsonNode root = mapper.readTree(file);
+            if (root == null || !root.isContainerNode()) {
+                throw new IOException("Not a YAML or JSON document: " + file);
+            }
+            Map<String, int[]> locations = new HashMap<>();
+            try (JsonParser parser = mapper.getFactory().createParser(file)) {
+                parser.nextToken();
+                locations.put("", location(parser.getTokenLocation()));
+                index(parser, "", locations);
+            }
+            return new Document(root, locations);
+        }
+
+        private static void index(JsonParser parser, String pointer, Map<String, int[]> locations) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String child = pointer + '/' + escape(parser.getCurrentName());
+                    locations.put(child, location(parser.getTokenLocation()));
+                    parser.nextToken();
+                    index(parser, child, locations);
+                }
+            } else if (token == JsonToken.START_ARRAY) {
+                for (int i = 0; parser.nextToken() != JsonToken.END_ARRAY; i++) {
+                    String child = pointer + '/' + i;
+                    locations.put(child, location(parser.getTokenLocation()));
+                    index(parser, child, locations);
+                }
+            }
+        }
+
+        private static int[] location(JsonLocation location) {
+            return new int[] {Math.max(0, location.getLineNr() - 1), Math.max(0, location.getColumnNr() - 1)};
+        }
+
+        /**
+         * Gets the location of the node at the pointer, or of its closest ancestor that exists
+         */
+        int[] locate(String pointer) {
+            String current = pointer;
+            while (!locations.containsKey(current)) {
+                current = current.substring(0, Math.max(0, current.lastIndexOf('/')));
+            }
+            return locations.get(current);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.nddipiazza.spectral;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the local files a spec pulls in through {@code $ref}, so that cached results can be invalidated
+ * when any document that contributes to a lint changes, not just the root file
+ */
+public final class SpecDependencies {
+
+    /**
+     * Matches the value of a $ref in YAML or JSON, e.g. {@code $ref: './common.yaml#/components'}
+     */
+    static final Pattern REF = Pattern.compile("[\"']?\\$ref[\"']?\\s*:\\s*[\"']?([^\"'\\s,}#]*)");
+
+    private SpecDependencies() {
+    }
+
+    /**
+     * Gets the local files referenced by the spec, directly or transitively, excluding the spec itself
+     */
+    public static List<File> localReferences(File spec) {
+        Set<File> visited = new LinkedHashSet<>();
+        Deque<File> pending = new ArrayDeque<>();
+        File root = spec.getAbsoluteFile();
+        visited.add(root);
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            File current = pending.poll();
+            for (String ref : refsIn(current)) {
+                File target = new File(current.getParentFile(), ref).getAbsoluteFile().toPath().normalize().toFile();
+                if (target.isFile() && visited.add(target)) {
+                    pending.add(target);
+                }
+            }
+        }
+        visited.remove(root);
+        return new ArrayList<>(visited);
+    }
+
+    /**
+     * Checks if the spec or a local file it references has an http(s) $ref. Results of linting such a spec depend
+     * on remote documents that no local stamp or hash covers, so they must not be reused.
+     */
+    public static boolean hasRemoteReferences(File spec) {
+        List<File> documents = new ArrayList<>();
+        documents.add(spec.getAbsoluteFile());
+        documents.addAll(localReferences(spec));
+        for (File document : documents) {
+            for (String ref : refValuesIn(document)) {
+                if (isRemote(ref)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a $ref value points at an http(s) document
+     */
+    static boolean isRemote(String ref) {
+        String lower = ref.toLowerCase();
+        return lower.startsWith("http://") || lower.startsWith("https://");
+    }
+
+    /**
+     * Gets the file parts of the local $ref values in a document, skipping internal and remote references
+     */
+    static List<String> refsIn(File file) {
+        List<String> refs = new ArrayList<>();
+        for (String ref : refValuesIn(file)) {
+            if (!ref.contains("://")) {
+                refs.add(ref);
+            }
+        }
+        return refs;
+    }
+
+    /**
+     * Gets the file parts of all $ref values in a document, skipping internal references
+     */
+    private static List<String> refValuesIn(File file) {
+        List<String> refs = new ArrayList<>();
+        String text;
+        try {
+            text = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return refs;
+        }
+        Matcher matcher = REF.matcher(text);
+        while (matcher.find()) {
+            String ref = matcher.group(1);
+            if (!ref.isEmpty()) {
+                refs.add(ref);
+            }
+        }
+        return refs;
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.nddipiazza.spectral;
+
+import java.io.File;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selects discovered spec files with glob patterns relative to the input directory,
+ * e.g. {@code **}{@code /*.yaml} or {@code legacy/**}. A file is selected if it matches an include
+ * (or no includes are configured) and matches no exclude.
+ */
+public class SpecFileFilter {
+
+    private final Path baseDirectory;
+    private final List<PathMatcher> includes;
+    private final List<PathMatcher> excludes;
+
+    public SpecFileFilter(File baseDirectory, List<String> includes, List<String> excludes) {
+        this.baseDirectory = baseDirectory != null ? baseDirectory.getAbsoluteFile().toPath() : null;
+        this.includes = compile(includes);
+        this.excludes = compile(excludes);
+    }
+
+    /**
+     * Checks if the filter selects every file
+     */
+    public boolean isEmpty() {
+        return includes.isEmpty() && excludes.isEmpty();
+    }
+
+    /**
+     * Checks if a discovered file is selected
+     */
+    public boolean accepts(File file) {
+        if (isEmpty()) {
+            return true;
+        }
+        Path path = relativize(file);
+        if (!includes.isEmpty() && includes.stream().noneMatch(matcher -> matcher.matches(path))) {
+            return false;
+        }
+        return excludes.stream().noneMatch(matcher -> matcher.matches(path));
+    }
+
+    private Path relativize(File file) {
+        Path path = file.getAbsoluteFile().toPath();
+        return baseDirectory != null && path.startsWith(baseDirectory) ? baseDirectory.relativize(path) : path;
+    }
+
+    private static List<PathMatcher> compile(List<String> patterns) {
+        List<PathMatcher> matchers = new ArrayList<>();
+        if (patterns != null) {
+            for (String pattern : patterns) {
+                if (pattern != null && !pattern.trim().isEmpty()) {
+                    String glob = pattern.trim().replace('\\', '/');
+                    matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + glob));
+                    // Let a leading **/ also match files directly in the base directory
+                    if (glob.startsWith("**/")) {
+                        matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + glob.substring(3)));
+                    }
+                }
+            }
+        }
+        return matchers;
+    }
+}
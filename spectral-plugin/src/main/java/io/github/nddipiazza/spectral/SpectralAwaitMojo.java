@@ -0,0 +1,56 @@
+package io.github.nddipiazza.spectral;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Waits for the validation started by the start goal, reports it and applies failOnViolations.
+ * Validates in the foreground if no validation was started for the project.
+ */
+@Mojo(name = "await", defaultPhase = LifecyclePhase.VERIFY, threadSafe = true)
+public class SpectralAwaitMojo extends AbstractSpectralMojo {
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Spectral validation is skipped.");
+            return;
+        }
+
+        Object started = project.getContextValue(SpectralStartMojo.RESULT_CONTEXT_KEY);
+        project.setContextValue(SpectralStartMojo.RESULT_CONTEXT_KEY, null);
+
+        try {
+            SpectralResult result;
+            if (started instanceof CompletableFuture) {
+                getLog().info("Waiting for background Spectral validation...");
+                result = await((CompletableFuture<?>) started);
+            } else {
+                getLog().warn("No background Spectral validation was started for this project, validating now");
+                result = runSpectral(outputFile);
+            }
+            reportResult(result);
+        } catch (SpectralExecutionException e) {
+            throw new MojoExecutionException("Failed to execute Spectral validation", e);
+        }
+    }
+
+    private static SpectralResult await(CompletableFuture<?> started) throws SpectralExecutionException {
+        try {
+            return (SpectralResult) started.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof SpectralExecutionException
+                    ? (SpectralExecutionException) cause
+                    : new SpectralExecutionException("Background Spectral validation failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SpectralExecutionException("Interrupted while waiting for background Spectral validation", e);
+        }
+    }
+}
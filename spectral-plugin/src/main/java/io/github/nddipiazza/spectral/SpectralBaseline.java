@@ -0,0 +1,144 @@
+package io.github.nddipiazza.spectral;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * A set of known violation fingerprints. Findings whose fingerprint is in the baseline are
+ * treated as pre-existing and do not count towards failing the build.
+ *
+ * <p>The file holds one fingerprint per line (see {@link ViolationFingerprinter}); lines starting with
+ * {@code #} are comments. Fingerprints are indexed as 64-bit hashes in an open-addressing table, so
+ * lookups are O(1) and a baseline with tens of thousands of entries only costs a few hundred KB.</p>
+ */
+public class SpectralBaseline {
+
+    private static final long EMPTY = 0L;
+
+    private final long[] table;
+    private final int size;
+
+    private SpectralBaseline(long[] table, int size) {
+        this.table = table;
+        this.size = size;
+    }
+
+    /**
+     * Creates a baseline with no known violations
+     */
+    public static SpectralBaseline empty() {
+        return new SpectralBaseline(new long[1], 0);
+    }
+
+    /**
+     * Builds a baseline from fingerprints
+     */
+    public static SpectralBaseline of(Collection<String> fingerprints) {
+        int capacity = Integer.highestOneBit(Math.max(1, fingerprints.size()) * 2 - 1) << 1;
+        long[] table = new long[Math.max(2, capacity)];
+        int size = 0;
+        for (String fingerprint : fingerprints) {
+            if (insert(table, hash(fingerprint))) {
+                size++;
+            }
+        }
+        return new SpectralBaseline(table, size);
+    }
+
+    /**
+     * Loads a baseline file
+     */
+    public static SpectralBaseline load(File file) throws IOException {
+        List<String> fingerprints = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    fingerprints.add(line);
+                }
+            }
+        }
+        return of(fingerprints);
+    }
+
+    /**
+     * Writes fingerprints to a baseline file, sorted so that the file diffs cleanly in version control
+     */
+    public static void write(File file, Collection<String> fingerprints) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Failed to create directory: " + parent.getAbsolutePath());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("# Spectral baseline: known violations that do not fail the build.");
+            writer.newLine();
+            writer.write("# Regenerate with: mvn spectral:baseline");
+            writer.newLine();
+            for (String fingerprint : new TreeSet<>(fingerprints)) {
+                writer.write(fingerprint);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Checks if a fingerprint is a known violation
+     */
+    public boolean contains(String fingerprint) {
+        long hash = hash(fingerprint);
+        int mask = table.length - 1;
+        for (int i = slot(hash, mask); ; i = (i + 1) & mask) {
+            long entry = table[i];
+            if (entry == EMPTY) {
+                return false;
+            }
+            if (entry == hash) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of known violations
+     */
+    public int size() {
+        return size;
+    }
+
+    private static boolean insert(long[] table, long hash) {
+        int mask = table.length - 1;
+        for (int i = slot(hash, mask); ; i = (i + 1) & mask) {
+            if (table[i] == EMPTY) {
+                table[i] = hash;
+                return true;
+            }
+            if (table[i] == hash) {
+                return false;
+            }
+        }
+    }
+
+    private static int slot(long hash, int mask) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the fingerprint, never returning the empty-slot marker
+     */
+    static long hash(String fingerprint) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : fingerprint.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash == EMPTY ? 1L : hash;
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.nddipiazza.spectral;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Regenerates the Spectral baseline file from the current violations, so that they are treated
+ * as known by the validate goal and only new violations fail the build
+ */
+@Mojo(name = "baseline", threadSafe = true)
+public class SpectralBaselineMojo extends AbstractSpectralMojo {
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Spectral baseline generation is skipped.");
+            return;
+        }
+
+        getLog().info("Generating Spectral baseline...");
+
+        try {
+            SpectralResult result = runSpectral(null);
+            if (!result.hasStructuredFindings()) {
+                throw new MojoExecutionException("Spectral results could not be read in structured form, baseline not written");
+            }
+
+            ViolationFingerprinter fingerprinter = new ViolationFingerprinter(getBaseDirectory());
+            Set<String> fingerprints = new LinkedHashSet<>();
+            for (SpectralFinding finding : result.getFindings()) {
+                fingerprints.add(fingerprinter.fingerprint(finding));
+            }
+
+            SpectralBaseline.write(baselineFile, fingerprints);
+            getLog().info(String.format("Wrote %d known violation(s) to %s", fingerprints.size(), baselineFile.getAbsolutePath()));
+        } catch (SpectralExecutionException e) {
+            throw new MojoExecutionException("Failed to execute Spectral validation", e);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to write Spectral baseline: " + baselineFile, e);
+        }
+    }
+
+    /**
+     * The baseline lists the violations of every file, so failFast never stops its run
+     */
+    @Override
+    protected boolean enforcesViolations() {
+        return false;
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.nddipiazza.spectral;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events for the stages of a Spectral run, so the plugin shows up in the same recording as
+ * the rest of the build, e.g. {@code MAVEN_OPTS="-XX:StartFlightRecording=filename=build.jfr"}.
+ *
+ * <p>Events are only filled in when {@code shouldCommit()} is true. While no recording is running that check is
+ * a constant false, so the events cost close to nothing and stay enabled in every build.</p>
+ */
+public final class SpectralEvents {
+
+    private SpectralEvents() {
+    }
+
+    @Name("io.github.nddipiazza.spectral.Extract")
+    @Label("Spectral Executable Extraction")
+    @Description("Extracting the Spectral executable and probing its version")
+    @Category({"Maven", "Spectral"})
+    @StackTrace(false)
+    public static class Extract extends Event {
+        @Label("Executable")
+        String executable;
+
+        @Label("Reused")
+        @Description("Whether an executable extracted earlier in this JVM was reused")
+        boolean reused;
+    }
+
+    @Name("io.github.nddipiazza.spectral.Discovery")
+    @Label("Spectral Spec Discovery")
+    @Description("Finding, filtering and sharding the spec files to lint")
+    @Category({"Maven", "Spectral"})
+    @StackTrace(false)
+    public static class Discovery extends Event {
+        @Label("Input Directory")
+        String inputDirectory;
+
+        @Label("Selected Files")
+        int selected;
+
+        @Label("Skipped Files")
+        int skipped;
+    }
+
+    @Name("io.github.nddipiazza.spectral.Process")
+    @Label("Spectral Process")
+    @Description("One Spectral process linting one file")
+    @Category({"Maven", "Spectral"})
+    @StackTrace(false)
+    public static class Process extends Event {
+        @Label("File")
+        String file;
+
+        @Label("Ruleset")
+        String ruleset;
+
+        @Label("Exit Code")
+        int exitCode;
+
+        @Label("Output Size")
+        @DataAmount
+        long outputBytes;
+
+        @Label("Timed Out")
+        boolean timedOut;
+    }
+
+    @Name("io.github.nddipiazza.spectral.Parse")
+    @Label("Spectral Result Parsing")
+    @Description("Parsing Spectral's JSON results into findings")
+    @Category({"Maven", "Spectral"})
+    @StackTrace(false)
+    public static class Parse extends Event {
+        @Label("Size")
+        @DataAmount
+        long bytes;
+
+        @Label("Findings")
+        int findings;
+    }
+
+    @Name("io.github.nddipiazza.spectral.Report")
+    @Label("Spectral Report Writing")
+    @Description("Writing the output file, HTML report or shard result")
+    @Category({"Maven", "Spectral"})
+    @StackTrace(false)
+    public static class Report extends Event {
+        @Label("Kind")
+        String kind;
+
+        @Label("Path")
+        String path;
+    }
+}
@@ -8,12 +8,35 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 /**
  * Executes Spectral CLI for OpenAPI validation
@@ -22,57 +45,1426 @@ public class SpectralExecutor {
     
     private final Log log;
     private static final String SPECTRAL_EXECUTABLE_NAME = getSpectralExecutableName();
+
+    /**
+     * Estimated native memory a Spectral process uses on top of its V8 old space
+     */
+    private static final long PROCESS_OVERHEAD_BYTES = 160L * 1024 * 1024;
+
+    /**
+     * Default V8 old space assumed for a Spectral process when no heap cap is configured
+     */
+    private static final int DEFAULT_OLD_SPACE_MB = 512;
+
+    /**
+     * How often to try starting a process whose executable is busy
+     */
+    private static final int MAX_START_ATTEMPTS = 5;
+
+    static final String ENGINE_GRAALJS = "graaljs";
+    private static final String JS_BUNDLE_ARTIFACT_ID = "spectral-js";
+
+    /**
+     * Process slots shared by every module of a parallel (-T) build that uses automatic concurrency,
+     * so that concurrently built modules together stay within the container's limits. There is one budget per JVM,
+     * sized once from the machine limits, and each process takes its share by its own heap setting.
+     */
+    private static volatile ProcessSlots sharedProcessSlots;
+
+    private int concurrency;
+    private int nodeMaxOldSpaceSize;
+    private int uvThreadPoolSize;
+    private ResourceLimits resourceLimits;
+    private ExecutableArtifactResolver artifactResolver;
+    private String engine;
+    private SpectralSessionCache sessionCache;
+    private CleanFiles cleanFiles;
+    private boolean changedFirst;
+    private Predicate<SpectralResult> failFast;
+    private SharedResultCache sharedResultCache;
+    private List<String> includes;
+    private List<String> excludes;
+    private LintTimings timings;
+    private File htmlReportDirectory;
+    private Shard shard;
+    private File shardResultsDirectory;
+    private boolean bundleRefs;
+    private List<RulesetMapping> rulesetMappings;
+    private int processTimeoutSeconds = 60;
+    private String consoleMode;
+    private ReportFormats reportFormats;
+    private RemoteRefCache remoteRefCache;
+    private int consoleTopFindings = 5;
+    private volatile String spectralVersion;
     
     public SpectralExecutor(Log log) {
         this.log = log;
     }
-    
+
+    /**
+     * Sets the maximum number of Spectral processes run in parallel (0 or less derives it from the resource limits)
+     */
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Sets the V8 old space cap in MB passed to each Spectral process via NODE_OPTIONS (0 or less leaves it unset)
+     */
+    public void setNodeMaxOldSpaceSize(int nodeMaxOldSpaceSize) {
+        this.nodeMaxOldSpaceSize = nodeMaxOldSpaceSize;
+    }
+
+    /**
+     * Sets the libuv thread pool size passed to each Spectral process (0 or less leaves it unset)
+     */
+    public void setUvThreadPoolSize(int uvThreadPoolSize) {
+        this.uvThreadPoolSize = uvThreadPoolSize;
+    }
+
+    /**
+     * Sets the resolver used to fetch only the current platform's executable artifact on demand.
+     * If not set, or resolution fails, the executable is looked up on the plugin classpath.
+     */
+    public void setArtifactResolver(ExecutableArtifactResolver artifactResolver) {
+        this.artifactResolver = artifactResolver;
+    }
+
+    /**
+     * Sets how results are logged: "full" (default) logs each file's complete output, "summary" logs only files
+     * with findings, at most topFindings of them per file, and closes with counts per severity and rule
+     */
+    public void setConsoleOutput(String consoleMode, int topFindings) {
+        this.consoleMode = consoleMode;
+        this.consoleTopFindings = topFindings;
+    }
+
+    /**
+     * Sets the report formats rendered from the structured results of each run (null writes none)
+     */
+    public void setReportFormats(ReportFormats reportFormats) {
+        this.reportFormats = reportFormats;
+    }
+
+    /**
+     * Sets the cache that serves remote $ref targets from disk (null leaves them to Spectral)
+     */
+    public void setRemoteRefCache(RemoteRefCache remoteRefCache) {
+        this.remoteRefCache = remoteRefCache;
+    }
+
+    /**
+     * Selects the lint engine: "cli" (default) runs the Spectral executable per file, "graaljs" runs a bundled
+     * Spectral JavaScript distribution inside the JVM and falls back to the executable if it is unavailable
+     */
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Sets the JVM-scoped cache used to skip extraction, discovery and linting whose inputs are unchanged
+     * (null disables caching)
+     */
+    public void setSessionCache(SpectralSessionCache sessionCache) {
+        this.sessionCache = sessionCache;
+    }
+
+    /**
+     * Sets the record of clean files. Files that are clean and unchanged since the run that recorded them are not
+     * linted again, and a run where that holds for every file skips Spectral before anything is extracted.
+     * The record is replaced with the outcome of each run (null lints every file).
+     */
+    public void setCleanFiles(CleanFiles cleanFiles) {
+        this.cleanFiles = cleanFiles;
+    }
+
+    /**
+     * Sets whether the most recently modified files are linted ahead of the other files waiting for a lint slot,
+     * so that results for files being edited come in first
+     */
+    public void setChangedFirst(boolean changedFirst) {
+        this.changedFirst = changedFirst;
+    }
+
+    /**
+     * Sets the check that stops a run as soon as a file's result fails it, without linting the files that are
+     * still waiting (null lints every file)
+     */
+    public void setFailFast(Predicate<SpectralResult> failFast) {
+        this.failFast = failFast;
+    }
+
+    /**
+     * Sets the result cache shared with other builds, consulted when the session cache has no result
+     * (null disables it)
+     */
+    public void setSharedResultCache(SharedResultCache sharedResultCache) {
+        this.sharedResultCache = sharedResultCache;
+    }
+
+    /**
+     * Sets glob patterns, relative to the input directory, that discovered files must match
+     * (empty selects every file). Files listed explicitly are not filtered.
+     */
+    public void setIncludes(List<String> includes) {
+        this.includes = includes;
+    }
+
+    /**
+     * Sets glob patterns, relative to the input directory, of discovered files to skip
+     */
+    public void setExcludes(List<String> excludes) {
+        this.excludes = excludes;
+    }
+
+    /**
+     * Sets the history that lint durations are recorded to (null disables timing)
+     */
+    public void setTimings(LintTimings timings) {
+        this.timings = timings;
+    }
+
+    /**
+     * Sets the directory to write a paginated HTML report of the structured findings to (null writes none). If the
+     * report formats include html as well, their html directory gets a copy of the report.
+     */
+    public void setHtmlReportDirectory(File htmlReportDirectory) {
+        this.htmlReportDirectory = htmlReportDirectory;
+    }
+
+    /**
+     * Restricts runs to one shard of the discovered files (null lints all of them)
+     */
+    public void setShard(Shard shard) {
+        this.shard = shard;
+    }
+
+    /**
+     * Sets the directory that sharded runs write their structured results to, for the merge goal
+     */
+    public void setShardResultsDirectory(File shardResultsDirectory) {
+        this.shardResultsDirectory = shardResultsDirectory;
+    }
+
+    /**
+     * Sets whether specs with local $refs are bundled into single documents before linting
+     */
+    public void setBundleRefs(boolean bundleRefs) {
+        this.bundleRefs = bundleRefs;
+    }
+
+    /**
+     * Sets rulesets for files matching glob patterns, relative to the input directory. The first matching mapping
+     * wins; other files are linted with the ruleset passed to validate.
+     */
+    public void setRulesetMappings(List<RulesetMapping> rulesetMappings) {
+        this.rulesetMappings = rulesetMappings;
+    }
+
+    /**
+     * Sets how long a Spectral process may run before it is killed
+     */
+    public void setProcessTimeout(int seconds) {
+        this.processTimeoutSeconds = seconds;
+    }
+
+    /**
+     * Overrides the detected CPU and memory limits
+     */
+    public void setResourceLimits(ResourceLimits resourceLimits) {
+        this.resourceLimits = resourceLimits;
+    }
+    
+    /**
+     * Validates OpenAPI files using Spectral
+     */
+    public SpectralResult validate(File inputDirectory, 
+                                 List<String> files,
+                                   String ruleset,
+                                   String format,
+                                 File outputFile, 
+                                 boolean verbose,
+                                 File targetDirectory) throws SpectralExecutionException {
+        
+        ConsoleReporter console = ConsoleReporter.create(log, consoleMode, consoleTopFindings);
+        RulesetRoutes routes = loadRulesets(inputDirectory, ruleset);
+        File htmlDirectory = htmlReportDirectory != null ? htmlReportDirectory
+                : reportFormats != null ? reportFormats.getHtmlDirectory() : null;
+        if (htmlCopyDirectory() != null) {
+            log.info("Both htmlReport and the html report format are set, writing the HTML report to "
+                    + htmlDirectory + " and copying it to " + htmlCopyDirectory());
+        }
+
+        // Skip the module before anything is extracted if every file was clean last time and is unchanged
+        String cleanConfiguration = cleanFiles != null && !routes.hasRemote() ? cleanConfiguration(format, verbose) : null;
+        boolean reuseClean = cleanConfiguration != null && cleanConfiguration.equals(cleanFiles.getConfiguration());
+        List<File> discovered = null;
+        if (reuseClean) {
+            discovered = determineFilesToValidate(inputDirectory, files, file -> { },
+                    file -> log.debug("Skipping excluded file: " + file.getPath()));
+            SpectralResult unchanged = replayUnchanged(inputDirectory, discovered, routes, console, htmlDirectory,
+                    outputFile);
+            if (unchanged != null) {
+                return unchanged;
+            }
+        }
+
+        GraalJsLintEngine jsEngine = createJsEngine(routes, format, verbose,
+                readableDirectories(inputDirectory, files, targetDirectory));
+
+        // Extract the executable and warm it up while files are being discovered
+        ExecutorService prepareStage = newStageExecutor("spectral-prepare", 1);
+        CompletableFuture<File> executableFuture = jsEngine != null
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.supplyAsync(() -> prepareExecutable(targetDirectory), prepareStage);
+
+        int parallelism = resolveConcurrency(Integer.MAX_VALUE);
+        log.debug("Running up to " + parallelism + " Spectral lint(s) in parallel");
+
+        // Lint each file as soon as it is discovered and the executable is ready, or with changed files first
+        // once every file has been discovered
+        LintRun run = new LintRun(routes, jsEngine, executableFuture, format, verbose, parallelism,
+                createBundler(format, targetDirectory), console, reuseClean);
+        List<SpectralResult> results = new ArrayList<>();
+        List<FileSummary> summaries = new ArrayList<>();
+        List<File> linted = new ArrayList<>();
+        List<File> filesToValidate;
+        File stoppedAt = null;
+        try {
+            List<CompletableFuture<SpectralResult>> futures = new ArrayList<>();
+            if (discovered != null) {
+                filesToValidate = discovered;
+                for (File file : filesToValidate) {
+                    futures.add(run.schedule(file));
+                }
+            } else {
+                filesToValidate = determineFilesToValidate(inputDirectory, files, file -> futures.add(run.schedule(file)),
+                        file -> log.debug("Skipping excluded file: " + file.getPath()));
+            }
+            run.start();
+
+            if (filesToValidate.isEmpty()) {
+                console.close();
+                awaitExecutable(executableFuture);
+                log.warn("No OpenAPI files found to validate");
+                writeShardResult(inputDirectory, filesToValidate, results);
+                writeReports(filesToValidate, results);
+                return new SpectralResult(0, "");
+            }
+
+            log.info(String.format("Validating %d OpenAPI file(s)", filesToValidate.size()));
+
+            HtmlReport report = htmlDirectory != null ? new HtmlReport(htmlDirectory, inputDirectory) : null;
+            try {
+                for (int i = 0; i < futures.size(); i++) {
+                    CompletableFuture<SpectralResult> future = futures.get(i);
+                    if (stoppedAt == null) {
+                        CompletableFuture.anyOf(future, run.failure).get();
+                        stoppedAt = run.failure.getNow(null);
+                    }
+                    // Once a file has failed the run, keep only the results that are already in
+                    if (stoppedAt != null && (!future.isDone() || future.isCompletedExceptionally())) {
+                        continue;
+                    }
+                    File file = filesToValidate.get(i);
+                    SpectralResult result = future.get();
+                    linted.add(file);
+                    results.add(result);
+                    summaries.add(run.summarize(file, result));
+                    // Stream each file into the report as soon as its result is in
+                    if (report != null) {
+                        report.addFile(file, result.hasStructuredFindings() ? result.getFindings() : null);
+                    }
+                }
+                console.close();
+            } finally {
+                if (report != null) {
+                    closeHtmlReport(report);
+                }
+            }
+        } catch (IOException e) {
+            throw new SpectralExecutionException("Failed to write Spectral HTML report to " + htmlDirectory, e);
+        } catch (ExecutionException e) {
+            throw asSpectralException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SpectralExecutionException("Interrupted while waiting for Spectral", e);
+        } finally {
+            run.close();
+            console.close();
+            prepareStage.shutdownNow();
+        }
+
+        if (stoppedAt != null) {
+            log.warn(String.format("Stopped linting after %s failed, %d of %d file(s) were not linted (failFast)",
+                    stoppedAt.getPath(), filesToValidate.size() - linted.size(), filesToValidate.size()));
+        } else if (cleanConfiguration != null) {
+            cleanFiles.update(cleanConfiguration, summaries, results);
+        }
+        return complete(inputDirectory, linted, results, summaries, outputFile);
+    }
+
+    /**
+     * Replays the recorded clean results if every file is unchanged since the run that found it clean, or
+     * returns null if any file has to be linted
+     */
+    private SpectralResult replayUnchanged(File inputDirectory, List<File> filesToValidate, RulesetRoutes routes,
+                                           ConsoleReporter console, File htmlDirectory, File outputFile)
+            throws SpectralExecutionException {
+        if (filesToValidate.isEmpty()) {
+            return null;
+        }
+        List<SpectralResult> results = new ArrayList<>();
+        List<FileSummary> summaries = new ArrayList<>();
+        for (File file : filesToValidate) {
+            String contentKey = contentKey(file);
+            String hash = contentKey != null && !SpecDependencies.hasRemoteReferences(file)
+                    ? FileStamp.sha256(contentKey + '\n' + routes.rulesetFor(file).getHash())
+                    : null;
+            String output = cleanFiles.getOutput(file, hash);
+            if (output == null) {
+                log.debug("Linting, " + file.getPath() + " is not known to be clean");
+                return null;
+            }
+            SpectralResult result = new SpectralResult(0, output, Collections.emptyList());
+            results.add(result);
+            summaries.add(new FileSummary(file, hash, result, -1, "unchanged"));
+        }
+        log.info(String.format("All %d OpenAPI file(s) are clean and unchanged since the last run, skipping Spectral",
+                filesToValidate.size()));
+        try {
+            for (int i = 0; i < filesToValidate.size(); i++) {
+                console.finished(filesToValidate.get(i), results.get(i), "unchanged");
+            }
+        } finally {
+            console.close();
+        }
+        if (htmlDirectory != null) {
+            try {
+                HtmlReport report = new HtmlReport(htmlDirectory, inputDirectory);
+                try {
+                    for (File file : filesToValidate) {
+                        report.addFile(file, Collections.emptyList());
+                    }
+                } finally {
+                    closeHtmlReport(report);
+                }
+            } catch (IOException e) {
+                throw new SpectralExecutionException("Failed to write Spectral HTML report to " + htmlDirectory, e);
+            }
+        }
+        return complete(inputDirectory, filesToValidate, results, summaries, outputFile);
+    }
+
+    private void closeHtmlReport(HtmlReport report) throws IOException {
+        SpectralEvents.Report event = new SpectralEvents.Report();
+        event.begin();
+        report.close();
+        if (event.shouldCommit()) {
+            event.kind = "html";
+            event.path = report.getIndexFile().getPath();
+            event.commit();
+        }
+        log.info("Spectral HTML report written to: " + report.getIndexFile().getAbsolutePath());
+        File copyDirectory = htmlCopyDirectory();
+        if (copyDirectory != null) {
+            log.info("Spectral HTML report copied to: " + report.copyTo(copyDirectory).getAbsolutePath());
+        }
+    }
+
+    /**
+     * Gets the html directory of the report formats if the HTML report is written to another directory set with
+     * {@link #setHtmlReportDirectory}, so that it gets a copy of the report, or null
+     */
+    private File htmlCopyDirectory() {
+        File formatsDirectory = reportFormats != null ? reportFormats.getHtmlDirectory() : null;
+        if (htmlReportDirectory == null || formatsDirectory == null) {
+            return null;
+        }
+        return htmlReportDirectory.getAbsoluteFile().toPath().normalize()
+                .equals(formatsDirectory.getAbsoluteFile().toPath().normalize()) ? null : formatsDirectory;
+    }
+
+    /**
+     * Combines the per-file results of a run and writes the shard result, reports and output file
+     */
+    private SpectralResult complete(File inputDirectory, List<File> filesToValidate, List<SpectralResult> results,
+                                    List<FileSummary> summaries, File outputFile) throws SpectralExecutionException {
+        int totalViolations = 0;
+        StringBuilder allOutput = new StringBuilder();
+        List<SpectralFinding> allFindings = new ArrayList<>();
+        boolean structured = true;
+        for (SpectralResult result : results) {
+            totalViolations += result.getViolationCount();
+            allOutput.append(result.getOutput()).append("\n");
+            allFindings.addAll(result.getFindings());
+            structured &= result.hasStructuredFindings();
+        }
+
+        writeShardResult(inputDirectory, filesToValidate, results);
+        writeReports(filesToValidate, results);
+
+        if (outputFile != null) {
+            try {
+                writeOutputToFile(allOutput.toString(), outputFile);
+            } catch (IOException e) {
+                throw new SpectralExecutionException("Failed to write Spectral output to " + outputFile, e);
+            }
+        }
+        
+        return new SpectralResult(totalViolations, allOutput.toString(), structured ? allFindings : null, summaries);
+    }
+
+    /**
+     * Identifies the configuration that recorded clean files were linted with; the rulesets are part of each
+     * file's hash instead
+     */
+    private String cleanConfiguration(String format, boolean verbose) {
+        String engineName = ENGINE_GRAALJS.equalsIgnoreCase(engine) ? ENGINE_GRAALJS : "cli";
+        return String.join("|", String.valueOf(format), String.valueOf(verbose), engineName, executableIdentity());
+    }
+
+    /**
+     * Renders the configured report formats from the per-file results
+     */
+    private void writeReports(List<File> filesToValidate, List<SpectralResult> results)
+            throws SpectralExecutionException {
+        if (reportFormats == null) {
+            return;
+        }
+        Map<File, List<SpectralFinding>> findings = new LinkedHashMap<>();
+        int unstructured = 0;
+        for (int i = 0; i < results.size(); i++) {
+            SpectralResult result = results.get(i);
+            findings.put(filesToValidate.get(i), result.hasStructuredFindings() ? result.getFindings() : null);
+            unstructured += result.hasStructuredFindings() ? 0 : 1;
+        }
+        if (unstructured > 0) {
+            log.warn(unstructured + " file(s) have no structured Spectral results and are missing from the reports");
+        }
+        try {
+            for (File report : reportFormats.write(findings)) {
+                log.info("Spectral report written to: " + report.getAbsolutePath());
+            }
+        } catch (IOException e) {
+            throw new SpectralExecutionException("Failed to write Spectral reports", e);
+        }
+    }
+
+    /**
+     * Writes the per-file results of a sharded run for the merge goal
+     */
+    private void writeShardResult(File inputDirectory, List<File> filesToValidate, List<SpectralResult> results)
+            throws SpectralExecutionException {
+        if (shard == null || shardResultsDirectory == null) {
+            return;
+        }
+        List<ShardResult.FileResult> fileResults = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            SpectralResult result = results.get(i);
+            fileResults.add(new ShardResult.FileResult(filesToValidate.get(i), result.getViolationCount(),
+                    result.hasStructuredFindings() ? result.getFindings() : null));
+        }
+        File resultFile = new File(shardResultsDirectory, ShardResult.fileName(shard));
+        SpectralEvents.Report event = new SpectralEvents.Report();
+        event.begin();
+        try {
+            new ShardResult(shard.getIndex(), shard.getTotal(), fileResults).write(resultFile, inputDirectory);
+        } catch (IOException e) {
+            throw new SpectralExecutionException("Failed to write shard result to " + resultFile, e);
+        }
+        if (event.shouldCommit()) {
+            event.kind = "shard";
+            event.path = resultFile.getPath();
+            event.commit();
+        }
+        log.info("Spectral shard " + shard + " result written to: " + resultFile.getAbsolutePath());
+    }
+
+    /**
+     * Predicts what {@link #validate} would do with the same inputs, running discovery, filtering and the same
+     * clean file and cache lookups without linting. Only with a shared result cache the executable is extracted
+     * and asked for its version, which is part of the shared keys.
+     */
+    public LintPlan plan(File inputDirectory,
+                         List<String> files,
+                         String ruleset,
+                         String format,
+                         boolean verbose,
+                         File targetDirectory) throws SpectralExecutionException {
+        RulesetRoutes routes = loadRulesets(inputDirectory, ruleset);
+        String engineName = ENGINE_GRAALJS.equalsIgnoreCase(engine) ? ENGINE_GRAALJS : "cli";
+        Map<RulesetBundle, String> cacheKeys = new HashMap<>();
+        for (RulesetBundle rulesetBundle : routes.all()) {
+            cacheKeys.put(rulesetBundle, resultCacheKey(rulesetBundle, engineName, format, verbose));
+        }
+        String cleanConfiguration = cleanFiles != null && !routes.hasRemote() ? cleanConfiguration(format, verbose) : null;
+        boolean reuseClean = cleanConfiguration != null && cleanConfiguration.equals(cleanFiles.getConfiguration());
+        String engineVersion = sharedResultCache != null && SharedResultCache.supports(format)
+                ? plannedEngineVersion(routes, format, verbose, targetDirectory)
+                : null;
+        Long fallbackMillis = timings != null ? timings.average() : null;
+
+        List<File> selected = new ArrayList<>();
+        List<File> skipped = new ArrayList<>();
+        determineFilesToValidate(inputDirectory, files, selected::add, skipped::add);
+
+        LintPlan plan = new LintPlan(resolveConcurrency(selected.size()));
+        Set<String> contentKeys = new HashSet<>();
+        for (File file : selected) {
+            RulesetBundle rulesetBundle = routes.rulesetFor(file);
+            String cacheKey = cacheKeys.get(rulesetBundle);
+            String contentKey = contentKey(file);
+            boolean remote = contentKey != null && SpecDependencies.hasRemoteReferences(file);
+            String hash = contentKey != null && !remote
+                    ? FileStamp.sha256(contentKey + '\n' + rulesetBundle.getHash())
+                    : null;
+            boolean copy = contentKey != null && !contentKeys.add(contentKey + '\n' + rulesetBundle.getHash());
+            String sharedKey = remote ? null : sharedKey(contentKey, rulesetBundle, format, engineVersion);
+            if (reuseClean && cleanFiles.getOutput(file, hash) != null) {
+                plan.add(file, LintPlan.Action.SKIPPED, null);
+            } else if (copy
+                    || !remote && cacheKey != null
+                    && sessionCache.getResult(file, cacheKey, rulesetBundle.getSeverities(), format) != null
+                    || sharedKey != null && sharedResultCache.get(file, sharedKey, format) != null) {
+                plan.add(file, LintPlan.Action.CACHED, null);
+            } else {
+                Long predicted = timings != null ? timings.get(file) : null;
+                plan.add(file, LintPlan.Action.LINT, predicted != null ? predicted : fallbackMillis);
+            }
+        }
+        for (File file : skipped) {
+            plan.add(file, LintPlan.Action.SKIPPED, null);
+        }
+        return plan;
+    }
+
+    /**
+     * Identifies the engine that validate would lint with in shared cache keys, extracting the executable to
+     * learn its version unless GraalJS would be used
+     */
+    private String plannedEngineVersion(RulesetRoutes routes, String format, boolean verbose, File targetDirectory)
+            throws SpectralExecutionException {
+        if (ENGINE_GRAALJS.equalsIgnoreCase(engine) && GraalJsSupport.supportsFormat(format) && !verbose
+                && !routes.hasRemote() && GraalJsSupport.isRuntimeAvailable(getClass().getClassLoader())) {
+            String bundle = readJsBundle();
+            if (bundle != null) {
+                return sharedEngineVersion(FileStamp.sha256(bundle));
+            }
+        }
+        try {
+            prepareExecutable(targetDirectory);
+        } catch (CompletionException e) {
+            throw asSpectralException(e.getCause());
+        }
+        return sharedEngineVersion(null);
+    }
+
+    /**
+     * Identifies the engine in shared cache keys: the GraalJS bundle, else the version the executable reported or
+     * the version of its artifact. Returns null if the executable is not known well enough to share its results.
+     *
+     * @param jsBundleHash hash of the GraalJS bundle, or null when linting with the executable
+     */
+    private String sharedEngineVersion(String jsBundleHash) {
+        if (jsBundleHash != null) {
+            return ENGINE_GRAALJS + ':' + jsBundleHash;
+        }
+        if (spectralVersion != null) {
+            return "cli:" + spectralVersion;
+        }
+        if (artifactResolver != null) {
+            return "artifact:" + artifactResolver.getVersion();
+        }
+        return null;
+    }
+
+    /**
+     * Gets the key of a file's result in the shared cache, or null if it cannot be shared
+     */
+    private String sharedKey(String contentKey, RulesetBundle rulesetBundle, String format, String engineVersion) {
+        if (sharedResultCache == null || contentKey == null || engineVersion == null || rulesetBundle.isRemote()
+                || !SharedResultCache.supports(format)) {
+            return null;
+        }
+        return SharedResultCache.key(contentKey, rulesetBundle.getPortableHash(), engineVersion);
+    }
+
+    /**
+     * State shared by the lint tasks of one validate call
+     */
+    private class LintRun implements AutoCloseable {
+        private final RulesetRoutes routes;
+        private final GraalJsLintEngine jsEngine;
+        private final CompletableFuture<File> executableFuture;
+        private final String format;
+        private final boolean verbose;
+        private final ProcessSlots slots;
+        private final ThreadPoolExecutor lintStage;
+        private final PriorityBlockingQueue<Runnable> waiting = new PriorityBlockingQueue<>();
+        private boolean started;
+        private final CompletableFuture<File> failure = new CompletableFuture<>();
+        private long submitted;
+        private final Map<RulesetBundle, String> cacheKeys = new HashMap<>();
+        private final SpecBundler bundler;
+        private final Map<String, Leader> leaders = new HashMap<>();
+        private final ConsoleReporter console;
+        private final boolean reuseClean;
+        private final Map<File, String> hashes = new ConcurrentHashMap<>();
+        private final Map<File, Long> durations = new ConcurrentHashMap<>();
+        private final Map<File, String> origins = new ConcurrentHashMap<>();
+
+        LintRun(RulesetRoutes routes, GraalJsLintEngine jsEngine, CompletableFuture<File> executableFuture,
+                String format, boolean verbose, int parallelism, SpecBundler bundler, ConsoleReporter console,
+                boolean reuseClean) {
+            this.routes = routes;
+            this.jsEngine = jsEngine;
+            this.executableFuture = executableFuture;
+            this.format = format;
+            this.verbose = verbose;
+            this.slots = jsEngine == null ? processSlots() : null;
+            this.lintStage = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                    waiting, stageThreads("spectral-lint"));
+            if (!changedFirst) {
+                start();
+            }
+            for (RulesetBundle rulesetBundle : routes.all()) {
+                cacheKeys.put(rulesetBundle,
+                        resultCacheKey(rulesetBundle, jsEngine != null ? ENGINE_GRAALJS : "cli", format, verbose));
+            }
+            this.bundler = bundler;
+            this.console = console;
+            this.reuseClean = reuseClean;
+        }
+
+        CompletableFuture<SpectralResult> schedule(File file) {
+            if (failure.isDone()) {
+                // A file already failed the run, the rest are not linted
+                return new CompletableFuture<>();
+            }
+            RulesetBundle rulesetBundle = routes.rulesetFor(file);
+            // Lint each distinct document once per ruleset; copies at other paths share the first copy's result
+            String contentKey = contentKey(file);
+            String leaderKey = contentKey != null ? contentKey + '\n' + rulesetBundle.getHash() : null;
+            boolean remote = contentKey != null && SpecDependencies.hasRemoteReferences(file);
+            if (leaderKey != null) {
+                if (!remote) {
+                    // The hash cannot cover remote documents, so files that reach them are never recorded clean
+                    hashes.put(file, FileStamp.sha256(leaderKey));
+                }
+                Leader leader = leaders.get(leaderKey);
+                if (leader != null) {
+                    origins.put(file, "same content");
+                    return watch(file, leader.result.thenApply(result -> {
+                        SpectralResult copy = fanOut(result, leader.file, file);
+                        console.copied(file, leader.file, copy);
+                        return copy;
+                    }));
+                }
+            }
+            CompletableFuture<SpectralResult> result = new CompletableFuture<>();
+            PrioritizedTask task = new PrioritizedTask(changedFirst ? file.lastModified() : 0, submitted++, () -> {
+                try {
+                    result.complete(lintCached(file, contentKey, rulesetBundle, remote));
+                } catch (Exception e) {
+                    result.completeExceptionally(e);
+                }
+            });
+            if (started) {
+                lintStage.execute(task);
+            } else {
+                waiting.add(task);
+            }
+            if (leaderKey != null) {
+                leaders.put(leaderKey, new Leader(file, result));
+            }
+            return watch(file, result);
+        }
+
+        /**
+         * Starts every lint thread, which take the lints waiting so far in priority order. Until then lints only
+         * queue up, since a thread started for a lint would run it ahead of newer files found after it.
+         */
+        void start() {
+            if (!started) {
+                started = true;
+                lintStage.prestartAllCoreThreads();
+            }
+        }
+
+        /**
+         * Trips the run's failure as soon as the file's result fails it, if the run stops at the first failure
+         */
+        private CompletableFuture<SpectralResult> watch(File file, CompletableFuture<SpectralResult> result) {
+            if (failFast != null) {
+                result.thenAccept(completed -> {
+                    if (failFast.test(completed)) {
+                        failure.complete(file);
+                    }
+                });
+            }
+            return result;
+        }
+
+        /**
+         * Lints the file unless a cached result is still valid. Results of files with remote $refs are neither
+         * reused nor cached, in the session or the shared cache, since nothing tells when the remote documents
+         * change.
+         */
+        private SpectralResult lintCached(File file, String contentKey, RulesetBundle rulesetBundle, boolean remote)
+                throws Exception {
+            String cleanOutput = reuseClean ? cleanFiles.getOutput(file, hashes.get(file)) : null;
+            if (cleanOutput != null) {
+                SpectralResult clean = new SpectralResult(0, cleanOutput, Collections.emptyList());
+                origins.put(file, "unchanged");
+                replay(file, clean, "unchanged");
+                return clean;
+            }
+            String cacheKey = remote ? null : cacheKeys.get(rulesetBundle);
+            if (cacheKey != null) {
+                SpectralResult cached = sessionCache.getResult(file, cacheKey, rulesetBundle.getSeverities(), format);
+                if (cached != null) {
+                    origins.put(file, "cached");
+                    replay(file, cached, "cached");
+                    return cached;
+                }
+            }
+            // Stamp before linting, so an edit made while Spectral runs invalidates the entry
+            List<FileStamp> stamps = cacheKey != null ? SpectralSessionCache.stampsFor(file) : null;
+            String sharedKey = remote ? null : sharedKey(contentKey, rulesetBundle);
+            SpectralResult result = sharedKey != null ? sharedResultCache.get(file, sharedKey, format) : null;
+            if (result != null) {
+                origins.put(file, "shared cache");
+                replay(file, result, "shared cache");
+            } else {
+                result = lint(file, rulesetBundle);
+                if (sharedKey != null) {
+                    sharedResultCache.put(file, sharedKey, result);
+                }
+            }
+            if (cacheKey != null) {
+                sessionCache.putResult(file, cacheKey, rulesetBundle.getSeverities(), result, stamps);
+            }
+            return result;
+        }
+
+        /**
+         * Gets the key of the file's result in the shared cache, or null if it cannot be shared
+         */
+        private String sharedKey(String contentKey, RulesetBundle rulesetBundle) throws SpectralExecutionException {
+            if (sharedResultCache == null || contentKey == null || rulesetBundle.isRemote()
+                    || !SharedResultCache.supports(format)) {
+                return null;
+            }
+            if (jsEngine == null) {
+                awaitExecutable(executableFuture);
+            }
+            String engineVersion = sharedEngineVersion(jsEngine != null ? jsEngine.getBundleHash() : null);
+            return SpectralExecutor.this.sharedKey(contentKey, rulesetBundle, format, engineVersion);
+        }
+
+        private SpectralResult lint(File file, RulesetBundle rulesetBundle) throws Exception {
+            SpecBundler.Bundle bundle = bundle(file);
+            File document = bundle != null ? bundle.getFile() : file;
+            RemoteRefCache.Localized localized = localize(document);
+            File linted = localized != null ? localized.getFile() : document;
+            SpectralResult result;
+            if (bundle == null) {
+                console.started(file);
+            }
+            if (jsEngine != null) {
+                result = timed(file, () -> jsEngine.lint(linted, rulesetBundle.getText(), format, false));
+            } else {
+                File executable = awaitExecutable(executableFuture);
+                result = withProcessSlot(slots, processBytes(), () -> timed(file,
+                        () -> lintFile(executable, linted, rulesetBundle.getArgument(), format, verbose)));
+            }
+            if (localized != null) {
+                result = localized.restore(result);
+            }
+            if (bundle == null) {
+                console.finished(file, result, null);
+                return result;
+            }
+            SpectralResult remapped = bundle.remap(result, format);
+            replay(file, remapped, "bundled");
+            return remapped;
+        }
+
+        /**
+         * Rewrites the document to use cached copies of its remote $ref targets, or returns null to lint it as it is
+         */
+        private RemoteRefCache.Localized localize(File document) throws SpectralExecutionException {
+            if (remoteRefCache == null) {
+                return null;
+            }
+            try {
+                return remoteRefCache.localize(document);
+            } catch (IOException e) {
+                log.debug("Linting " + document.getPath() + " without the remote $ref cache: " + e.getMessage());
+                return null;
+            }
+        }
+
+        private SpecBundler.Bundle bundle(File file) {
+            if (bundler == null) {
+                return null;
+            }
+            try {
+                return bundler.bundle(file);
+            } catch (IOException e) {
+                log.debug("Linting " + file.getPath() + " without bundling: " + e.getMessage());
+                return null;
+            }
+        }
+
+        private SpectralResult timed(File file, Callable<SpectralResult> lint) throws Exception {
+            long start = System.nanoTime();
+            SpectralResult result = lint.call();
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            durations.put(file, millis);
+            if (timings != null) {
+                timings.put(file, millis);
+            }
+            return result;
+        }
+
+        /**
+         * Summarizes the outcome of a scheduled file
+         */
+        FileSummary summarize(File file, SpectralResult result) {
+            return new FileSummary(file, hashes.get(file), result, durations.getOrDefault(file, -1L), origins.get(file));
+        }
+
+        private void replay(File file, SpectralResult cached, String origin) {
+            console.finished(file, cached, origin);
+        }
+
+        @Override
+        public void close() {
+            lintStage.shutdownNow();
+            if (jsEngine != null) {
+                jsEngine.close();
+            }
+        }
+    }
+
+    /**
+     * Resolves the ruleset and every mapped ruleset once, however many files each of them lints
+     */
+    private RulesetRoutes loadRulesets(File inputDirectory, String ruleset) throws SpectralExecutionException {
+        Map<String, RulesetBundle> loaded = new LinkedHashMap<>();
+        String resolvedRuleset = resolveRuleset(ruleset);
+        RulesetBundle defaultRuleset = loadRuleset(resolvedRuleset);
+        loaded.put(String.valueOf(resolvedRuleset), defaultRuleset);
+
+        RulesetRoutes routes = new RulesetRoutes(defaultRuleset);
+        if (rulesetMappings != null) {
+            for (RulesetMapping mapping : rulesetMappings) {
+                if (mapping.getPattern() == null || mapping.getPattern().trim().isEmpty()) {
+                    throw new SpectralExecutionException("Ruleset mapping has no pattern: " + mapping);
+                }
+                String resolved = resolveRuleset(mapping.getRuleset());
+                RulesetBundle rulesetBundle = loaded.get(String.valueOf(resolved));
+                if (rulesetBundle == null) {
+                    rulesetBundle = loadRuleset(resolved);
+                    loaded.put(String.valueOf(resolved), rulesetBundle);
+                }
+                routes.add(new SpecFileFilter(inputDirectory, Collections.singletonList(mapping.getPattern()), null),
+                        rulesetBundle);
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * Routes each file to the ruleset it is linted with: the first mapping that matches it, or the default
+     */
+    private static class RulesetRoutes {
+        private final RulesetBundle defaultRuleset;
+        private final List<SpecFileFilter> patterns = new ArrayList<>();
+        private final List<RulesetBundle> rulesets = new ArrayList<>();
+
+        RulesetRoutes(RulesetBundle defaultRuleset) {
+            this.defaultRuleset = defaultRuleset;
+        }
+
+        void add(SpecFileFilter pattern, RulesetBundle ruleset) {
+            patterns.add(pattern);
+            rulesets.add(ruleset);
+        }
+
+        RulesetBundle rulesetFor(File file) {
+            for (int i = 0; i < patterns.size(); i++) {
+                if (patterns.get(i).accepts(file)) {
+                    return rulesets.get(i);
+                }
+            }
+            return defaultRuleset;
+        }
+
+        Set<RulesetBundle> all() {
+            Set<RulesetBundle> all = new LinkedHashSet<>();
+            all.add(defaultRuleset);
+            all.addAll(rulesets);
+            return all;
+        }
+
+        boolean hasRemote() {
+            return all().stream().anyMatch(RulesetBundle::isRemote);
+        }
+    }
+
+    /**
+     * Creates the bundler for specs with local $refs if bundling is enabled and the format can be rendered from
+     * remapped findings, or returns null to lint specs as they are
+     */
+    private SpecBundler createBundler(String format, File targetDirectory) {
+        if (!bundleRefs) {
+            return null;
+        }
+        if (!SpectralFinding.isRenderable(format)) {
+            log.warn("bundleRefs only applies to the text and json formats, linting specs without bundling");
+            return null;
+        }
+        return new SpecBundler(new File(targetDirectory, "spectral/bundles"));
+    }
+
+    /**
+     * Gets the key that cached results of this configuration are stored under, or null if they are not cached.
+     * Rule severities are left out of the key, so that results can be adjusted when only severities change.
+     * Results of remote rulesets cannot be validated against their source, so they are never cached.
+     */
+    private String resultCacheKey(RulesetBundle rulesetBundle, String engineName, String format, boolean verbose) {
+        if (sessionCache == null || rulesetBundle.isRemote()) {
+            return null;
+        }
+        return String.join("|", rulesetBundle.getSeverities().getRulesHash(), String.valueOf(format),
+                String.valueOf(verbose), engineName, executableIdentity());
+    }
+
+    /**
+     * The first file with a given content, whose result is shared with its copies
+     */
+    private static class Leader {
+        private final File file;
+        private final CompletableFuture<SpectralResult> result;
+
+        Leader(File file, CompletableFuture<SpectralResult> result) {
+            this.file = file;
+            this.result = result;
+        }
+    }
+
+    /**
+     * Identifies what a lint of the file depends on: its content, and the path and content of each local file
+     * it references relative to its own directory. Copies with equal keys produce the same findings.
+     * Returns null if the file cannot be read.
+     */
+    static String contentKey(File file) {
+        try {
+            StringBuilder key = new StringBuilder(FileStamp.sha256(file));
+            Path directory = file.getAbsoluteFile().getParentFile().toPath();
+            for (File reference : SpecDependencies.localReferences(file)) {
+                key.append('\n').append(directory.relativize(reference.toPath()))
+                        .append('=').append(FileStamp.sha256(reference));
+            }
+            return key.toString();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Maps the result of linting one copy of a document to another copy, pointing findings in the document
+     * itself at the other path. Findings in referenced files are left as they are.
+     */
+    static SpectralResult fanOut(SpectralResult result, File from, File to) {
+        String fromPath = from.getAbsolutePath();
+        String toPath = to.getAbsolutePath();
+        List<SpectralFinding> findings = null;
+        if (result.hasStructuredFindings()) {
+            findings = new ArrayList<>();
+            for (SpectralFinding finding : result.getFindings()) {
+                findings.add(finding.getSource() != null && fromPath.equals(new File(finding.getSource()).getAbsolutePath())
+                        ? finding.withSource(toPath)
+                        : finding);
+            }
+        }
+        return new SpectralResult(result.getViolationCount(), result.getOutput().replace(fromPath, toPath), findings);
+    }
+
+    private RulesetBundle loadRuleset(String resolvedRuleset) throws SpectralExecutionException {
+        try {
+            return sessionCache != null ? sessionCache.getRuleset(resolvedRuleset) : RulesetBundle.resolve(resolvedRuleset);
+        } catch (IOException e) {
+            throw new SpectralExecutionException("Failed to read ruleset " + resolvedRuleset, e);
+        }
+    }
+
     /**
-     * Validates OpenAPI files using Spectral
+     * Identifies the executable that produces results, without extracting it
      */
-    public SpectralResult validate(File inputDirectory, 
-                                 List<String> files,
-                                   String ruleset,
-                                   String format,
-                                 File outputFile, 
-                                 boolean verbose,
-                                 File targetDirectory) throws SpectralExecutionException {
-        
-        // Extract the appropriate Spectral executable
-        File spectralExecutable = extractSpectralExecutable(targetDirectory);
-        
-        List<File> filesToValidate = determineFilesToValidate(inputDirectory, files);
-        
-        if (filesToValidate.isEmpty()) {
-            log.warn("No OpenAPI files found to validate");
-            return new SpectralResult(0, "");
+    private String executableIdentity() {
+        if (artifactResolver != null) {
+            return "artifact:" + artifactResolver.getVersion();
         }
-        
-        log.info(String.format("Validating %d OpenAPI file(s)", filesToValidate.size()));
-        
-        int totalViolations = 0;
-        StringBuilder allOutput = new StringBuilder();
-        
-        for (File file : filesToValidate) {
-            log.info("Validating: " + file.getPath());
-            
-            List<String> command = buildSpectralCommand(spectralExecutable, file, ruleset, format, verbose);
-            SpectralResult result = executeSpectral(command, outputFile);
-            
-            totalViolations += result.getViolationCount();
-            allOutput.append(result.getOutput()).append("\n");
+        return String.valueOf(getClass().getResource("/" + SPECTRAL_EXECUTABLE_NAME));
+    }
+
+    /**
+     * Creates the embedded GraalJS engine if it was selected and can run this configuration, or returns
+     * null to lint with the Spectral executable instead
+     */
+    private GraalJsLintEngine createJsEngine(RulesetRoutes routes, String format, boolean verbose,
+                                             List<File> readableDirectories) {
+        if (!ENGINE_GRAALJS.equalsIgnoreCase(engine)) {
+            return null;
+        }
+        if (!GraalJsSupport.supportsFormat(format)) {
+            log.warn("The graaljs engine renders only text and json output, falling back to the Spectral executable"
+                    + " for " + format);
+            return null;
+        }
+        if (verbose) {
+            log.warn("The graaljs engine does not support verbose output, falling back to the Spectral executable");
+            return null;
+        }
+        if (routes.hasRemote()) {
+            log.warn("The graaljs engine does not support ruleset URLs, falling back to the Spectral executable");
+            return null;
+        }
+        if (!GraalJsSupport.isRuntimeAvailable(getClass().getClassLoader())) {
+            log.warn("GraalJS polyglot runtime not found on the plugin classpath, falling back to the Spectral executable");
+            return null;
+        }
+        String bundle = readJsBundle();
+        if (bundle == null) {
+            log.warn("Spectral JavaScript bundle " + GraalJsLintEngine.BUNDLE_RESOURCE
+                    + " not found, falling back to the Spectral executable");
+            return null;
+        }
+        GraalJsLintEngine jsEngine;
+        try {
+            jsEngine = new GraalJsLintEngine(bundle, readableDirectories, log);
+        } catch (IllegalStateException | IllegalArgumentException | LinkageError e) {
+            log.warn("Could not start the GraalJS engine (" + e.getMessage() + "), falling back to the Spectral executable");
+            return null;
+        }
+        // The bundle supports only built-in rulesets to extend and no custom functions, so check every ruleset
+        for (RulesetBundle rulesetBundle : routes.all()) {
+            try {
+                jsEngine.loadRuleset(rulesetBundle.getText());
+            } catch (SpectralExecutionException e) {
+                log.warn("The graaljs engine cannot load the ruleset "
+                        + (rulesetBundle.getArgument() != null ? rulesetBundle.getArgument() : "spectral:oas")
+                        + " (" + e.getMessage() + "), falling back to the Spectral executable");
+                jsEngine.close();
+                return null;
+            }
+        }
+        log.info("Linting with the embedded GraalJS engine");
+        return jsEngine;
+    }
+
+    /**
+     * Gets the directories the graaljs engine may read $ref targets from: the input directory, those of files
+     * given by absolute path, the plugin's work directory, which holds bundled specs and rewritten copies, and
+     * the remote ref cache
+     */
+    private List<File> readableDirectories(File inputDirectory, List<String> files, File targetDirectory) {
+        List<File> directories = new ArrayList<>();
+        if (inputDirectory != null) {
+            directories.add(inputDirectory);
+        }
+        if (files != null) {
+            for (String fileName : files) {
+                File file = new File(fileName);
+                if (file.isAbsolute() && file.getParentFile() != null) {
+                    directories.add(file.getParentFile());
+                }
+            }
+        }
+        directories.add(new File(targetDirectory, "spectral"));
+        if (remoteRefCache != null) {
+            directories.add(remoteRefCache.getCacheDirectory());
+        }
+        return directories;
+    }
+
+    /**
+     * Reads the Spectral JavaScript bundle from the resolved spectral-js artifact or the plugin classpath
+     */
+    private String readJsBundle() {
+        File archiveFile = null;
+        if (artifactResolver != null) {
+            try {
+                archiveFile = artifactResolver.resolve(JS_BUNDLE_ARTIFACT_ID);
+            } catch (SpectralExecutionException e) {
+                log.debug(e.getMessage() + ", falling back to the plugin classpath");
+            }
+        }
+        try {
+            if (archiveFile != null) {
+                try (ZipFile archive = new ZipFile(archiveFile)) {
+                    ZipEntry entry = archive.getEntry(GraalJsLintEngine.BUNDLE_RESOURCE);
+                    if (entry != null) {
+                        return IOUtils.toString(archive.getInputStream(entry), StandardCharsets.UTF_8);
+                    }
+                }
+            }
+            InputStream inputStream = getClass().getResourceAsStream("/" + GraalJsLintEngine.BUNDLE_RESOURCE);
+            if (inputStream != null) {
+                try (InputStream is = inputStream) {
+                    return IOUtils.toString(is, StandardCharsets.UTF_8);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read the Spectral JavaScript bundle: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Gets the Spectral version reported by the warm-up probe, or null if it has not run or failed
+     */
+    public String getSpectralVersion() {
+        return spectralVersion;
+    }
+
+    /**
+     * Extracts the executable and runs it once with --version, so the first lint does not pay for
+     * loading the binary from a cold disk cache
+     */
+    private File prepareExecutable(File targetDirectory) {
+        SpectralEvents.Extract event = new SpectralEvents.Extract();
+        event.begin();
+        String key = targetDirectory.getAbsolutePath() + '|' + executableIdentity();
+        if (sessionCache != null) {
+            File cached = sessionCache.getExecutable(key);
+            if (cached != null) {
+                spectralVersion = sessionCache.getExecutableVersion(key);
+                log.debug("Reusing Spectral executable extracted earlier in this JVM: " + cached);
+                commitExtract(event, cached, true);
+                return cached;
+            }
+        }
+        try {
+            File executable = extractSpectralExecutable(targetDirectory);
+            warmUp(executable);
+            if (sessionCache != null) {
+                sessionCache.putExecutable(key, executable, spectralVersion);
+            }
+            commitExtract(event, executable, false);
+            return executable;
+        } catch (SpectralExecutionException e) {
+            throw new CompletionException(e);
+        } catch (IOException e) {
+            throw new CompletionException(new SpectralExecutionException("Failed to stamp Spectral executable", e));
+        }
+    }
+
+    private static void commitExtract(SpectralEvents.Extract event, File executable, boolean reused) {
+        if (event.shouldCommit()) {
+            event.executable = executable.getPath();
+            event.reused = reused;
+            event.commit();
+        }
+    }
+
+    private void warmUp(File executable) {
+        try {
+            ProcessBuilder pb = new ProcessBuilder(executable.getAbsolutePath(), "--version");
+            pb.redirectErrorStream(true);
+            configureEnvironment(pb.environment());
+            Process process = startProcess(pb);
+            String version = IOUtils.toString(process.getInputStream(), "UTF-8").trim();
+            if (process.waitFor(30, TimeUnit.SECONDS) && process.exitValue() == 0) {
+                spectralVersion = version;
+                log.debug("Spectral version: " + version);
+            } else {
+                process.destroyForcibly();
+            }
+        } catch (IOException e) {
+            log.debug("Spectral warm-up probe failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private File awaitExecutable(CompletableFuture<File> executableFuture) throws SpectralExecutionException {
+        try {
+            return executableFuture.join();
+        } catch (CompletionException e) {
+            throw asSpectralException(e.getCause());
+        }
+    }
+
+    private static SpectralExecutionException asSpectralException(Throwable cause) {
+        if (cause instanceof SpectralExecutionException) {
+            return (SpectralExecutionException) cause;
+        }
+        return new SpectralExecutionException("Failed to execute Spectral", cause);
+    }
+
+    /**
+     * Gets the JVM-wide process slots when concurrency is derived automatically, or null when an
+     * explicit concurrency was configured. Each module still runs at most its own parallelism of them.
+     */
+    private ProcessSlots processSlots() {
+        if (concurrency > 0) {
+            return null;
+        }
+        ProcessSlots slots = sharedProcessSlots;
+        if (slots == null) {
+            synchronized (SpectralExecutor.class) {
+                if (sharedProcessSlots == null) {
+                    ResourceLimits limits = resourceLimits != null ? resourceLimits : ResourceLimits.detect();
+                    sharedProcessSlots = new ProcessSlots(limits, Runtime.getRuntime().maxMemory(),
+                            DEFAULT_OLD_SPACE_MB * 1024L * 1024L + PROCESS_OVERHEAD_BYTES);
+                }
+                slots = sharedProcessSlots;
+            }
+        }
+        return slots;
+    }
+
+    private static <T> T withProcessSlot(ProcessSlots slots, long processBytes, Callable<T> task) throws Exception {
+        if (slots == null) {
+            return task.call();
+        }
+        slots.acquire(processBytes);
+        try {
+            return task.call();
+        } finally {
+            slots.release(processBytes);
+        }
+    }
+
+    private static ExecutorService newStageExecutor(String name, int threads) {
+        return Executors.newFixedThreadPool(threads, stageThreads(name));
+    }
+
+    private static ThreadFactory stageThreads(String name) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A lint waiting for a thread, taken ahead of waiting lints with a lower priority and after earlier
+     * submitted lints with the same priority
+     */
+    private static class PrioritizedTask implements Runnable, Comparable<PrioritizedTask> {
+        private final long priority;
+        private final long sequence;
+        private final Runnable task;
+
+        PrioritizedTask(long priority, long sequence, Runnable task) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+
+        @Override
+        public int compareTo(PrioritizedTask other) {
+            int byPriority = Long.compare(other.priority, priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private SpectralResult lintFile(File spectralExecutable, File file, String ruleset, String format, boolean verbose)
+            throws SpectralExecutionException {
+        File jsonOutput;
+        try {
+            jsonOutput = Files.createTempFile("spectral-", ".json").toFile();
+        } catch (IOException e) {
+            throw new SpectralExecutionException("Failed to create temporary file for Spectral results", e);
+        }
+        SpectralEvents.Process event = new SpectralEvents.Process();
+        event.begin();
+        try {
+            List<String> command = buildSpectralCommand(spectralExecutable, file, ruleset, format, verbose, jsonOutput);
+            return executeSpectral(command, jsonOutput, isJsonFormat(format), event, file, ruleset);
+        } finally {
+            if (!jsonOutput.delete()) {
+                jsonOutput.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Determines how many Spectral processes to run at once. An explicit concurrency wins; otherwise
+     * the CPU and memory limits of the container decide, keeping the Maven JVM's own heap in reserve.
+     */
+    int resolveConcurrency(int fileCount) {
+        int resolved;
+        if (concurrency > 0) {
+            resolved = concurrency;
+        } else {
+            ResourceLimits limits = resourceLimits != null ? resourceLimits : ResourceLimits.detect();
+            resolved = limits.recommendedConcurrency(processBytes(), Runtime.getRuntime().maxMemory());
+            log.debug("Detected " + limits + ", derived concurrency " + resolved);
+        }
+        return Math.max(1, Math.min(resolved, Math.max(1, fileCount)));
+    }
+
+    /**
+     * Gets the expected peak memory of one Spectral process with the configured Node heap cap
+     */
+    private long processBytes() {
+        int oldSpaceMb = nodeMaxOldSpaceSize > 0 ? nodeMaxOldSpaceSize : DEFAULT_OLD_SPACE_MB;
+        return oldSpaceMb * 1024L * 1024L + PROCESS_OVERHEAD_BYTES;
+    }
+
+    /**
+     * Applies the configured Node heap cap and thread pool size to a Spectral process environment
+     */
+    void configureEnvironment(Map<String, String> environment) {
+        if (nodeMaxOldSpaceSize > 0) {
+            String heapOption = "--max-old-space-size=" + nodeMaxOldSpaceSize;
+            String existing = environment.get("NODE_OPTIONS");
+            if (existing == null || existing.trim().isEmpty()) {
+                environment.put("NODE_OPTIONS", heapOption);
+            } else if (!existing.contains("--max-old-space-size")) {
+                environment.put("NODE_OPTIONS", existing.trim() + " " + heapOption);
+            }
+        }
+        if (uvThreadPoolSize > 0) {
+            environment.put("UV_THREADPOOL_SIZE", String.valueOf(uvThreadPoolSize));
         }
-        
-        return new SpectralResult(totalViolations, allOutput.toString());
     }
     
     /**
      * Extracts the platform-specific Spectral executable from resources
      */
     protected File extractSpectralExecutable(File targetDirectory) throws SpectralExecutionException {
+        String resourcePath = "/" + SPECTRAL_EXECUTABLE_NAME;
+        ZipFile archive = null;
         try {
-            String resourcePath = "/" + SPECTRAL_EXECUTABLE_NAME;
-            InputStream inputStream = getClass().getResourceAsStream(resourcePath);
+            InputStream inputStream = null;
+            File archiveFile = resolveExecutableArchive();
+            if (archiveFile != null) {
+                archive = new ZipFile(archiveFile);
+                ZipEntry entry = archive.getEntry(SPECTRAL_EXECUTABLE_NAME);
+                if (entry != null) {
+                    inputStream = archive.getInputStream(entry);
+                    log.debug("Reading Spectral executable from " + archiveFile);
+                } else {
+                    log.warn("Spectral executable " + SPECTRAL_EXECUTABLE_NAME + " not found in " + archiveFile);
+                }
+            }
+            if (inputStream == null) {
+                inputStream = getClass().getResourceAsStream(resourcePath);
+            }
             
             if (inputStream == null) {
                 throw new SpectralExecutionException("Could not find Spectral executable: " + resourcePath);
@@ -90,28 +1482,12 @@ public class SpectralExecutor {
             log.info("Spectral executableName = " + executableName);
             File executableFile = new File(spectralDir, executableName);
             
-            // Copy executable to target location using binary-safe method
-            try (InputStream is = inputStream;
-                 OutputStream os = Files.newOutputStream(executableFile.toPath())) {
-                byte[] buffer = new byte[8192];
-                int bytesRead;
-                while ((bytesRead = is.read(buffer)) != -1) {
-                    os.write(buffer, 0, bytesRead);
-                }
-            }
+            // Install atomically so parallel module builds never exec a partially written binary
+            executableFile = new ExecutableInstaller(log).install(inputStream, executableFile, !isWindows());
             
-            // Make executable (Unix/Linux/macOS)
-            if (!isWindows()) {
-                executableFile.setExecutable(true);
-                // Also set read permission to ensure it's accessible
-                executableFile.setReadable(true);
-                
-                // Verify the file is actually executable
-                if (!executableFile.canExecute()) {
-                    throw new SpectralExecutionException("Failed to make Spectral executable runnable: " + executableFile.getAbsolutePath());
-                }
-                
-                log.debug("Made executable: " + executableFile.getAbsolutePath());
+            // Verify the file is actually executable (Unix/Linux/macOS)
+            if (!isWindows() && !executableFile.canExecute()) {
+                throw new SpectralExecutionException("Failed to make Spectral executable runnable: " + executableFile.getAbsolutePath());
             }
             
             log.debug("Extracted Spectral executable to: " + executableFile.getAbsolutePath());
@@ -120,40 +1496,81 @@ public class SpectralExecutor {
             
         } catch (IOException e) {
             throw new SpectralExecutionException("Failed to extract Spectral executable", e);
+        } finally {
+            if (archive != null) {
+                try {
+                    archive.close();
+                } catch (IOException e) {
+                    log.debug("Failed to close " + archive.getName() + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves the jar holding the executable for the current platform, or returns null to fall back
+     * to the plugin classpath
+     */
+    private File resolveExecutableArchive() {
+        if (artifactResolver == null) {
+            return null;
+        }
+        try {
+            return artifactResolver.resolve(ExecutableArtifactResolver.artifactIdFor(SPECTRAL_EXECUTABLE_NAME));
+        } catch (SpectralExecutionException e) {
+            log.debug(e.getMessage() + ", falling back to the plugin classpath");
+            return null;
         }
     }
     
     /**
-     * Builds the command line for Spectral execution
+     * Resolves the ruleset once per run into the value passed to --ruleset: a URL, an absolute
+     * file path, or null to use Spectral's default rules
      */
-    private List<String> buildSpectralCommand(File executable, File inputFile, String ruleset, String format, boolean verbose) {
-        List<String> command = new ArrayList<>();
-        command.add(executable.getAbsolutePath());
-        command.add("lint");
-
+    String resolveRuleset(String ruleset) {
         if (ruleset != null) {
             log.info("Using ruleset: " + ruleset);
         } else {
             log.info("No ruleset specified, using Spectral default rules");
+            return null;
         }
 
-        if (ruleset != null && (ruleset.startsWith("http://") || ruleset.startsWith("https://"))) {
-            command.add("--ruleset");
-            command.add(ruleset);
+        if (ruleset.startsWith("http://") || ruleset.startsWith("https://")) {
             log.debug("Using custom ruleset URL: " + ruleset);
-        } else if (ruleset != null && Files.exists(Paths.get(ruleset))) {
-            command.add("--ruleset");
+            return ruleset;
+        } else if (Files.exists(Paths.get(ruleset))) {
             String absolutePath = new File(ruleset).getAbsolutePath();
-            command.add(absolutePath);
             log.debug("Using custom ruleset file: " + absolutePath);
-        } else if (ruleset != null) {
-            log.warn("Specified ruleset file does not exist: " + ruleset + ", using Spectral default rules");
+            return absolutePath;
+        }
+        log.warn("Specified ruleset file does not exist: " + ruleset + ", using Spectral default rules");
+        return null;
+    }
+
+    /**
+     * Builds the command line for Spectral execution
+     */
+    private List<String> buildSpectralCommand(File executable, File inputFile, String ruleset, String format, boolean verbose,
+                                              File jsonOutput) {
+        List<String> command = new ArrayList<>();
+        command.add(executable.getAbsolutePath());
+        command.add("lint");
+
+        if (ruleset != null) {
+            command.add("--ruleset");
+            command.add(ruleset);
         }
         
-        if (format != null && !format.trim().isEmpty()) {
+        if (format != null && !format.trim().isEmpty() && !isJsonFormat(format)) {
             command.add("--format");
             command.add(format);
         }
+
+        // Always capture JSON results as well, so findings are available in structured form
+        command.add("--format");
+        command.add("json");
+        command.add("--output.json");
+        command.add(jsonOutput.getAbsolutePath());
         
         if (verbose) {
             command.add("--verbose");
@@ -165,55 +1582,173 @@ public class SpectralExecutor {
     }
     
     /**
-     * Executes Spectral command and captures output
+     * Executes Spectral command and captures output, reading structured findings from the JSON output file
      */
-    private SpectralResult executeSpectral(List<String> command, File outputFile) throws SpectralExecutionException {
+    private SpectralResult executeSpectral(List<String> command, File jsonOutput, boolean jsonFormat,
+                                           SpectralEvents.Process event, File file, String ruleset)
+            throws SpectralExecutionException {
         try {
             ProcessBuilder pb = new ProcessBuilder(command);
             pb.redirectErrorStream(true);
+            configureEnvironment(pb.environment());
             
             log.debug("Executing: " + String.join(" ", command));
             
-            Process process = pb.start();
-            
-            // Capture output
-            String output = IOUtils.toString(process.getInputStream(), "UTF-8");
-            
-            // Wait for process to complete
-            boolean finished = process.waitFor(60, TimeUnit.SECONDS);
-            if (!finished) {
-                process.destroyForcibly();
-                throw new SpectralExecutionException("Spectral execution timed out after 60 seconds");
-            }
-            
-            int exitCode = process.exitValue();
-            
-            // Write output to console
-            if (!output.trim().isEmpty()) {
-                log.info("Spectral output:");
-                log.info(output);
+            // Capture output in a file, so a process that hangs without closing its output still times out
+            File consoleOutput = Files.createTempFile("spectral-", ".out").toFile();
+            String output;
+            int exitCode;
+            try {
+                pb.redirectOutput(consoleOutput);
+                Process process = startProcess(pb);
+
+                boolean finished = process.waitFor(processTimeoutSeconds, TimeUnit.SECONDS);
+                if (!finished) {
+                    process.destroyForcibly();
+                    commitProcess(event, file, ruleset, -1, consoleOutput.length(), true);
+                    throw new SpectralExecutionException(
+                            "Spectral execution timed out after " + processTimeoutSeconds + " seconds");
+                }
+                exitCode = process.exitValue();
+                output = new String(Files.readAllBytes(consoleOutput.toPath()), StandardCharsets.UTF_8);
+                commitProcess(event, file, ruleset, exitCode, consoleOutput.length(), false);
+            } finally {
+                if (!consoleOutput.delete()) {
+                    consoleOutput.deleteOnExit();
+                }
             }
-            
-            // Write output to file if specified
-            if (outputFile != null) {
-                writeOutputToFile(output, outputFile);
+
+            String json = jsonOutput.length() > 0
+                    ? new String(Files.readAllBytes(jsonOutput.toPath()), StandardCharsets.UTF_8)
+                    : "";
+            if (jsonFormat && !json.isEmpty()) {
+                output = json + output;
             }
             
-            // Count violations (rough estimate based on exit code and output)
-            int violationCount = countViolations(output, exitCode);
+            List<SpectralFinding> findings = parseFindings(json);
+
+            // Count violations from the structured results, or estimate them from the output
+            int violationCount = findings != null
+                    ? (exitCode == 0 ? 0 : findings.size())
+                    : countViolations(output, exitCode);
             
-            return new SpectralResult(violationCount, output);
+            return new SpectralResult(violationCount, output, findings);
             
         } catch (IOException | InterruptedException e) {
             throw new SpectralExecutionException("Failed to execute Spectral", e);
         }
     }
     
+    private static void commitProcess(SpectralEvents.Process event, File file, String ruleset, int exitCode,
+                                      long outputBytes, boolean timedOut) {
+        if (event.shouldCommit()) {
+            event.file = file.getPath();
+            event.ruleset = ruleset;
+            event.exitCode = exitCode;
+            event.outputBytes = outputBytes;
+            event.timedOut = timedOut;
+            event.commit();
+        }
+    }
+
+    /**
+     * Parses Spectral's JSON results, returning null if they are missing or unreadable
+     */
+    private List<SpectralFinding> parseFindings(String json) {
+        if (json.trim().isEmpty()) {
+            return null;
+        }
+        SpectralEvents.Parse event = new SpectralEvents.Parse();
+        event.begin();
+        try {
+            List<SpectralFinding> findings = SpectralFinding.parseJson(json);
+            if (event.shouldCommit()) {
+                event.bytes = json.length();
+                event.findings = findings.size();
+                event.commit();
+            }
+            return findings;
+        } catch (IOException e) {
+            log.debug("Could not parse Spectral JSON results: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isJsonFormat(String format) {
+        return format != null && "json".equalsIgnoreCase(format.trim());
+    }
+
+    /**
+     * Starts a process, retrying when the executable is transiently busy. Another thread forking a child
+     * while a file is open for writing can leak that write handle into the child for a moment, which
+     * makes exec fail with ETXTBSY ("Text file busy") even though the binary is complete.
+     */
+    private Process startProcess(ProcessBuilder pb) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return pb.start();
+            } catch (IOException e) {
+                if (attempt >= MAX_START_ATTEMPTS || !isTextFileBusy(e)) {
+                    throw e;
+                }
+                log.debug("Spectral executable is busy, retrying (attempt " + attempt + ")");
+                Thread.sleep(50L * attempt);
+            }
+        }
+    }
+
+    static boolean isTextFileBusy(IOException e) {
+        String message = e.getMessage();
+        return message != null && (message.contains("error=26") || message.contains("Text file busy"));
+    }
+
     /**
      * Determines which files to validate
      */
-    private List<File> determineFilesToValidate(File inputDirectory, List<String> files) {
+    List<File> determineFilesToValidate(File inputDirectory, List<String> files) {
+        return determineFilesToValidate(inputDirectory, files, file -> { }, file -> { });
+    }
+
+    /**
+     * Determines which files to validate, handing each one to the listener as soon as it is found
+     * and each discovered file that the include/exclude patterns reject to the skipped listener
+     */
+    private List<File> determineFilesToValidate(File inputDirectory, List<String> files, Consumer<File> listener,
+                                                Consumer<File> skippedListener) {
+        SpectralEvents.Discovery event = new SpectralEvents.Discovery();
+        event.begin();
+        AtomicInteger skippedCount = new AtomicInteger();
+        Consumer<File> skipped = file -> {
+            skippedCount.incrementAndGet();
+            skippedListener.accept(file);
+        };
         List<File> filesToValidate = new ArrayList<>();
+        Consumer<File> selected = file -> {
+            filesToValidate.add(file);
+            listener.accept(file);
+        };
+
+        // With a shard, keep only this shard's files; balanced shards need the complete list first
+        List<File> unsharded = new ArrayList<>();
+        Consumer<File> sharded = shard == null ? selected
+                : !shard.isStreaming() ? unsharded::add
+                : file -> {
+                    if (shard.contains(file, inputDirectory)) {
+                        selected.accept(file);
+                    } else {
+                        skipped.accept(file);
+                    }
+                };
+
+        Set<File> canonicalFiles = new HashSet<>();
+        Consumer<File> collector = file -> {
+            // The same file can be selected twice through relative paths, symlinks or files plus scanning
+            if (!canonicalFiles.add(canonical(file))) {
+                log.debug("Skipping duplicate path: " + file.getPath());
+                return;
+            }
+            sharded.accept(file);
+        };
         
         if (files != null && !files.isEmpty()) {
             // Use specified files
@@ -223,30 +1758,78 @@ public class SpectralExecutor {
                     file = new File(inputDirectory, fileName);
                 }
                 if (file.exists() && file.isFile()) {
-                    filesToValidate.add(file);
+                    collector.accept(file);
                 } else {
                     log.warn("Specified file not found: " + file.getPath());
                 }
             }
         } else if (inputDirectory != null && inputDirectory.exists() && inputDirectory.isDirectory()) {
-            // Find all YAML/JSON files in input directory
-            findOpenApiFiles(inputDirectory, filesToValidate);
+            // Find all YAML/JSON files in input directory, reusing an unchanged listing from earlier in this JVM
+            SpecFileFilter filter = new SpecFileFilter(inputDirectory, includes, excludes);
+            Consumer<File> filtered = file -> {
+                if (filter.accepts(file)) {
+                    collector.accept(file);
+                } else {
+                    skipped.accept(file);
+                }
+            };
+            String key = inputDirectory.getAbsolutePath();
+            List<File> listing = sessionCache != null ? sessionCache.getListing(key) : null;
+            if (listing != null) {
+                log.debug("Reusing file listing of " + key);
+                listing.forEach(filtered);
+            } else {
+                List<File> discovered = new ArrayList<>();
+                List<FileStamp> directories = new ArrayList<>();
+                findOpenApiFiles(inputDirectory, file -> {
+                    discovered.add(file);
+                    filtered.accept(file);
+                }, directories);
+                if (sessionCache != null) {
+                    sessionCache.putListing(key, discovered, directories);
+                }
+            }
+        }
+
+        if (shard != null && !shard.isStreaming()) {
+            List<File> mine = shard.select(unsharded, inputDirectory, timings);
+            for (File file : unsharded) {
+                (mine.contains(file) ? selected : skipped).accept(file);
+            }
+        }
+        if (shard != null) {
+            log.info(String.format("Shard %s (%s balance): %d file(s)", shard, shard.getBalance(), filesToValidate.size()));
+        }
+        if (event.shouldCommit()) {
+            event.inputDirectory = inputDirectory != null ? inputDirectory.getPath() : null;
+            event.selected = filesToValidate.size();
+            event.skipped = skippedCount.get();
+            event.commit();
         }
         
         return filesToValidate;
     }
     
+    private static File canonical(File file) {
+        try {
+            return file.getCanonicalFile();
+        } catch (IOException e) {
+            return file.getAbsoluteFile();
+        }
+    }
+
     /**
      * Recursively finds OpenAPI files (YAML/JSON) in directory
      */
-    private void findOpenApiFiles(File directory, List<File> result) {
+    private void findOpenApiFiles(File directory, Consumer<File> result, List<FileStamp> directories) {
+        directories.add(FileStamp.ofDirectory(directory));
         File[] files = directory.listFiles();
         if (files != null) {
             for (File file : files) {
                 if (file.isDirectory()) {
-                    findOpenApiFiles(file, result);
+                    findOpenApiFiles(file, result, directories);
                 } else if (isOpenApiFile(file)) {
-                    result.add(file);
+                    result.accept(file);
                 }
             }
         }
@@ -264,9 +1847,16 @@ public class SpectralExecutor {
      * Writes output to specified file
      */
     private void writeOutputToFile(String output, File outputFile) throws IOException {
+        SpectralEvents.Report event = new SpectralEvents.Report();
+        event.begin();
         try (FileWriter writer = new FileWriter(outputFile)) {
             writer.write(output);
         }
+        if (event.shouldCommit()) {
+            event.kind = "output";
+            event.path = outputFile.getPath();
+            event.commit();
+        }
         log.info("Spectral output written to: " + outputFile.getAbsolutePath());
     }
     
@@ -294,6 +1884,13 @@ public class SpectralExecutor {
         return count > 0 ? count : (exitCode != 0 ? 1 : 0);
     }
     
+    /**
+     * Gets the resource path of the executable for the current platform
+     */
+    static String getExecutableResourcePath() {
+        return SPECTRAL_EXECUTABLE_NAME;
+    }
+
     /**
      * Determines the platform-specific executable name and resource path
      */
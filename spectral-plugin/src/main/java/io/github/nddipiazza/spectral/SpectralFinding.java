@@ -0,0 +1,247 @@
+package io.github.nddipiazza.spectral;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A single rule violation reported by Spectral, as read from its JSON output
+ */
+public class SpectralFinding {
+
+    public static final int SEVERITY_ERROR = 0;
+    public static final int SEVERITY_WARN = 1;
+    public static final int SEVERITY_INFO = 2;
+    public static final int SEVERITY_HINT = 3;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String code;
+    private final String message;
+    private final int severity;
+    private final List<String> path;
+    private final String source;
+    private final int line;
+    private final int character;
+
+    public SpectralFinding(String code, String message, int severity, List<String> path, String source,
+                           int line, int character) {
+        this.code = code;
+        this.message = message;
+        this.severity = severity;
+        this.path = path != null ? Collections.unmodifiableList(new ArrayList<>(path)) : Collections.emptyList();
+        this.source = source;
+        this.line = line;
+        this.character = character;
+    }
+
+    /**
+     * Parses the findings from Spectral's {@code --format json} output
+     */
+    public static List<SpectralFinding> parseJson(String json) throws IOException {
+        List<SpectralFinding> findings = new ArrayList<>();
+        if (json == null || json.trim().isEmpty()) {
+            return findings;
+        }
+        JsonNode root = MAPPER.readTree(json);
+        if (root == null || !root.isArray()) {
+            throw new IOException("Expected a JSON array of Spectral results");
+        }
+        for (JsonNode node : root) {
+            findings.add(fromJson(node));
+        }
+        return findings;
+    }
+
+    static SpectralFinding fromJson(JsonNode node) {
+        List<String> path = new ArrayList<>();
+        for (JsonNode segment : node.path("path")) {
+            path.add(segment.asText());
+        }
+        JsonNode start = node.path("range").path("start");
+        return new SpectralFinding(
+                node.path("code").asText(),
+                node.path("message").asText(),
+                node.path("severity").asInt(SEVERITY_ERROR),
+                path,
+                node.hasNonNull("source") ? node.get("source").asText() : null,
+                start.path("line").asInt(0),
+                start.path("character").asInt(0));
+    }
+
+    /**
+     * Gets the rule code that produced this finding
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Gets the human readable message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Gets the severity (0 = error, 1 = warn, 2 = info, 3 = hint)
+     */
+    public int getSeverity() {
+        return severity;
+    }
+
+    /**
+     * Gets the severity as the name used in Spectral rulesets
+     */
+    public String getSeverityName() {
+        return severityName(severity);
+    }
+
+    /**
+     * Gets the JSON path of the node the finding points at
+     */
+    public List<String> getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the JSON path as an RFC 6901 JSON pointer
+     */
+    public String getJsonPointer() {
+        StringBuilder pointer = new StringBuilder();
+        for (String segment : path) {
+            pointer.append('/').append(segment.replace("~", "~0").replace("/", "~1"));
+        }
+        return pointer.toString();
+    }
+
+    /**
+     * Gets the file the finding was reported against
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the zero-based line of the finding
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Gets the zero-based column of the finding
+     */
+    public int getCharacter() {
+        return character;
+    }
+
+    /**
+     * Gets a copy of this finding with another severity
+     */
+    public SpectralFinding withSeverity(int newSeverity) {
+        return new SpectralFinding(code, message, newSeverity, path, source, line, character);
+    }
+
+    /**
+     * Gets a copy of this finding reported against another file
+     */
+    public SpectralFinding withSource(String newSource) {
+        return new SpectralFinding(code, message, severity, path, newSource, line, character);
+    }
+
+    /**
+     * Checks if output in the format can be rendered from findings, see {@link #renderText} and {@link #renderJson}
+     */
+    public static boolean isRenderable(String format) {
+        return format == null || "text".equalsIgnoreCase(format) || "json".equalsIgnoreCase(format);
+    }
+
+    /**
+     * Renders findings one per line, in the form of {@link #toString()}
+     */
+    public static String renderText(List<SpectralFinding> findings) {
+        StringBuilder text = new StringBuilder();
+        for (SpectralFinding finding : findings) {
+            text.append(finding).append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Renders findings in the shape of Spectral's {@code --format json} output
+     */
+    public static String renderJson(List<SpectralFinding> findings) {
+        try {
+            return MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(toJson(findings));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to render Spectral findings", e);
+        }
+    }
+
+    /**
+     * Converts findings to a JSON array that {@link #fromJson(JsonNode)} reads back
+     */
+    static ArrayNode toJson(List<SpectralFinding> findings) {
+        ArrayNode root = MAPPER.createArrayNode();
+        for (SpectralFinding finding : findings) {
+            ObjectNode node = root.addObject();
+            node.put("code", finding.code);
+            ArrayNode path = node.putArray("path");
+            finding.path.forEach(path::add);
+            node.put("message", finding.message);
+            node.put("severity", finding.severity);
+            if (finding.source != null) {
+                node.put("source", finding.source);
+            }
+            ObjectNode start = node.putObject("range").putObject("start");
+            start.put("line", finding.line);
+            start.put("character", finding.character);
+        }
+        return root;
+    }
+
+    /**
+     * Maps a ruleset severity name to its number
+     */
+    public static int severityOf(String name) {
+        switch (name) {
+            case "error":
+                return SEVERITY_ERROR;
+            case "warn":
+                return SEVERITY_WARN;
+            case "info":
+                return SEVERITY_INFO;
+            default:
+                return SEVERITY_HINT;
+        }
+    }
+
+    /**
+     * Maps a severity number to its ruleset name
+     */
+    public static String severityName(int severity) {
+        switch (severity) {
+            case SEVERITY_ERROR:
+                return "error";
+            case SEVERITY_WARN:
+                return "warn";
+            case SEVERITY_INFO:
+                return "info";
+            default:
+                return "hint";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s:%d:%d %s %s %s", source, line + 1, character + 1, getSeverityName(), code, message);
+    }
+}
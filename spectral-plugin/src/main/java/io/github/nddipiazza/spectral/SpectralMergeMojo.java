@@ -0,0 +1,160 @@
+package io.github.nddipiazza.spectral;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Combines the structured results of sharded runs into one report and one pass/fail decision
+ */
+@Mojo(name = "merge", threadSafe = true)
+public class SpectralMergeMojo extends AbstractSpectralMojo {
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Spectral validation is skipped.");
+            return;
+        }
+
+        getLog().info("Merging Spectral shard results from " + shardResultsDirectory.getAbsolutePath());
+        List<ShardResult> shards = readShards();
+
+        int violations = 0;
+        int fileCount = 0;
+        boolean structured = true;
+        List<SpectralFinding> findings = new ArrayList<>();
+        for (ShardResult shardResult : shards) {
+            for (ShardResult.FileResult file : shardResult.getFiles()) {
+                fileCount++;
+                violations += file.getViolationCount();
+                if (file.getFindings() == null) {
+                    structured = false;
+                } else {
+                    findings.addAll(file.getFindings());
+                }
+            }
+        }
+        getLog().info(String.format("Merged %d shard(s) covering %d OpenAPI file(s)", shards.size(), fileCount));
+
+        String output = "";
+        if (structured) {
+            if (format != null && !"text".equalsIgnoreCase(format) && !"json".equalsIgnoreCase(format)) {
+                getLog().warn("Merged results can only be rendered as text or json, using text instead of " + format);
+            }
+            output = "json".equalsIgnoreCase(format)
+                    ? SpectralFinding.renderJson(findings)
+                    : SpectralFinding.renderText(findings);
+            if (!output.trim().isEmpty()) {
+                getLog().info("Spectral output:");
+                getLog().info(output);
+            }
+        } else {
+            getLog().warn("Some shards have no structured results, their findings are not included in the output");
+        }
+
+        try {
+            if (outputFile != null) {
+                Files.write(outputFile.toPath(), output.getBytes(StandardCharsets.UTF_8));
+                getLog().info("Spectral output written to: " + outputFile.getAbsolutePath());
+            }
+            ReportFormats reportFormats = createReportFormats();
+            File formatsHtmlDirectory = reportFormats != null ? reportFormats.getHtmlDirectory() : null;
+            File htmlDirectory = htmlReport != null ? htmlReport : formatsHtmlDirectory;
+            if (htmlDirectory != null) {
+                HtmlReport report = new HtmlReport(htmlDirectory, inputDirectory);
+                try {
+                    for (ShardResult shardResult : shards) {
+                        for (ShardResult.FileResult file : shardResult.getFiles()) {
+                            report.addFile(file.getFile(), file.getFindings());
+                        }
+                    }
+                } finally {
+                    report.close();
+                }
+                getLog().info("Spectral HTML report written to: " + report.getIndexFile().getAbsolutePath());
+                if (formatsHtmlDirectory != null && !formatsHtmlDirectory.getAbsoluteFile().toPath().normalize()
+                        .equals(htmlDirectory.getAbsoluteFile().toPath().normalize())) {
+                    getLog().info("Both htmlReport and the html report format are set, copying the HTML report to "
+                            + formatsHtmlDirectory);
+                    getLog().info("Spectral HTML report copied to: "
+                            + report.copyTo(formatsHtmlDirectory).getAbsolutePath());
+                }
+            }
+            if (reportFormats != null) {
+                Map<File, List<SpectralFinding>> results = new LinkedHashMap<>();
+                for (ShardResult shardResult : shards) {
+                    for (ShardResult.FileResult file : shardResult.getFiles()) {
+                        results.put(file.getFile(), file.getFindings());
+                    }
+                }
+                for (File report : reportFormats.write(results)) {
+                    getLog().info("Spectral report written to: " + report.getAbsolutePath());
+                }
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to write merged Spectral results", e);
+        } catch (SpectralExecutionException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+
+        reportResult(new SpectralResult(violations, output, structured ? findings : null));
+    }
+
+    /**
+     * Reads the results of every shard, failing if any shard of the run is missing
+     */
+    private List<ShardResult> readShards() throws MojoExecutionException {
+        File[] resultFiles = shardResultsDirectory.listFiles(
+                (dir, name) -> name.startsWith("shard-") && name.endsWith(".json"));
+        if (resultFiles == null || resultFiles.length == 0) {
+            throw new MojoExecutionException("No Spectral shard results found in " + shardResultsDirectory);
+        }
+        Arrays.sort(resultFiles);
+
+        List<ShardResult> shards = new ArrayList<>();
+        for (File resultFile : resultFiles) {
+            try {
+                shards.add(ShardResult.read(resultFile, inputDirectory));
+            } catch (IOException e) {
+                throw new MojoExecutionException("Failed to read Spectral shard result " + resultFile, e);
+            }
+        }
+        shards.sort(Comparator.comparingInt(ShardResult::getIndex));
+
+        int total = shards.get(0).getTotal();
+        boolean[] seen = new boolean[total + 1];
+        for (ShardResult shardResult : shards) {
+            if (shardResult.getTotal() != total) {
+                throw new MojoExecutionException("Shard results in " + shardResultsDirectory
+                        + " come from runs with different shard counts, remove stale results");
+            }
+            if (shardResult.getIndex() < 1 || shardResult.getIndex() > total || seen[shardResult.getIndex()]) {
+                throw new MojoExecutionException("Unexpected result for shard " + shardResult.getIndex() + "/" + total);
+            }
+            seen[shardResult.getIndex()] = true;
+        }
+        List<String> missing = new ArrayList<>();
+        for (int index = 1; index <= total; index++) {
+            if (!seen[index]) {
+                missing.add(index + "/" + total);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new MojoExecutionException("Missing Spectral shard result(s) " + String.join(", ", missing)
+                    + " in " + shardResultsDirectory);
+        }
+        return shards;
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.nddipiazza.spectral;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Reports what the validate goal would do without linting: the files it would lint, serve from
+ * the cache or skip, the predicted lint time from recorded timings, and the planned concurrency
+ */
+@Mojo(name = "plan", threadSafe = true)
+public class SpectralPlanMojo extends AbstractSpectralMojo {
+
+    /**
+     * File to also write the plan report to.
+     */
+    @Parameter(property = "spectral.planFile")
+    protected File planFile;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Spectral plan is skipped.");
+            return;
+        }
+
+        try {
+            SpectralExecutor executor = createExecutor();
+            executor.setTimings(loadTimings());
+            executor.setCleanFiles(skipUnchanged ? loadCleanFiles(cleanFilesFile()) : null);
+            LintPlan plan = executor.plan(inputDirectory, files, ruleset, format, verbose,
+                    new File(project.getBuild().getDirectory()));
+
+            List<String> report = plan.render();
+            getLog().info("Spectral plan:");
+            for (String line : report) {
+                getLog().info(line);
+            }
+
+            if (planFile != null) {
+                File parent = planFile.getAbsoluteFile().getParentFile();
+                if (parent != null) {
+                    Files.createDirectories(parent.toPath());
+                }
+                Files.write(planFile.toPath(), report, StandardCharsets.UTF_8);
+                getLog().info("Spectral plan written to: " + planFile.getAbsolutePath());
+            }
+        } catch (SpectralExecutionException e) {
+            throw new MojoExecutionException("Failed to plan Spectral validation", e);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to write Spectral plan: " + planFile, e);
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package io.github.nddipiazza.spectral;
 
+
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Represents the result of a Spectral validation execution
  */
@@ -7,10 +11,22 @@ public class SpectralResult {
     
     private final int violationCount;
     private final String output;
+    private final List<SpectralFinding> findings;
+    private final List<FileSummary> files;
     
     public SpectralResult(int violationCount, String output) {
+        this(violationCount, output, null);
+    }
+
+    public SpectralResult(int violationCount, String output, List<SpectralFinding> findings) {
+        this(violationCount, output, findings, null);
+    }
+
+    public SpectralResult(int violationCount, String output, List<SpectralFinding> findings, List<FileSummary> files) {
         this.violationCount = violationCount;
         this.output = output;
+        this.findings = findings != null ? Collections.unmodifiableList(findings) : null;
+        this.files = files != null ? Collections.unmodifiableList(files) : Collections.emptyList();
     }
     
     /**
@@ -27,6 +43,27 @@ public class SpectralResult {
         return output;
     }
     
+    /**
+     * Gets the structured findings parsed from Spectral's JSON output, or an empty list if unavailable
+     */
+    public List<SpectralFinding> getFindings() {
+        return findings != null ? findings : Collections.emptyList();
+    }
+
+    /**
+     * Checks if structured findings are available for every linted file
+     */
+    public boolean hasStructuredFindings() {
+        return findings != null;
+    }
+
+    /**
+     * Gets the outcome of each file of a run, in lint order, or an empty list for the result of a single file
+     */
+    public List<FileSummary> getFiles() {
+        return files;
+    }
+
     /**
      * Checks if there were any violations
      */
@@ -0,0 +1,230 @@
+package io.github.nddipiazza.spectral;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JVM-scoped cache of work that does not need repeating while its inputs are unchanged: the extracted
+ * executable, resolved rulesets, directory listings and per-file lint results.
+ *
+ * <p>The cache lives as long as the plugin's class loader. In a plain {@code mvn} run that is one build, so
+ * it mainly helps multi-module builds; under mvnd the class loader survives between builds, so a warm daemon
+ * build with no changes skips extraction, discovery and linting entirely. Every entry is validated against
+ * file modification times and content hashes before it is used.</p>
+ */
+public final class SpectralSessionCache {
+
+    /**
+     * Maximum number of per-file results kept, least recently used results are evicted first
+     */
+    static final int MAX_RESULTS = 20_000;
+
+    private static final SpectralSessionCache INSTANCE = new SpectralSessionCache();
+
+    private final Map<String, ExecutableEntry> executables = new ConcurrentHashMap<>();
+    private final Map<String, RulesetBundle> rulesets = new ConcurrentHashMap<>();
+    private final Map<String, ListingEntry> listings = new ConcurrentHashMap<>();
+    private final Map<String, ResultEntry> results = new LinkedHashMap<String, ResultEntry>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ResultEntry> eldest) {
+            return size() > MAX_RESULTS;
+        }
+    };
+
+    SpectralSessionCache() {
+    }
+
+    /**
+     * Gets the cache shared by all executions in this JVM
+     */
+    public static SpectralSessionCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets a previously extracted executable if it is still in place and unchanged
+     */
+    public File getExecutable(String key) {
+        ExecutableEntry entry = executables.get(key);
+        if (entry != null && entry.stamp.isCurrent()) {
+            return entry.stamp.getFile();
+        }
+        executables.remove(key);
+        return null;
+    }
+
+    /**
+     * Gets the Spectral version recorded for a cached executable
+     */
+    public String getExecutableVersion(String key) {
+        ExecutableEntry entry = executables.get(key);
+        return entry != null ? entry.version : null;
+    }
+
+    /**
+     * Records an extracted executable
+     */
+    public void putExecutable(String key, File executable, String version) throws IOException {
+        executables.put(key, new ExecutableEntry(FileStamp.of(executable), version));
+    }
+
+    /**
+     * Gets the resolved ruleset, resolving it again only if the ruleset or its dependencies changed
+     */
+    public RulesetBundle getRuleset(String resolvedRuleset) throws IOException {
+        String key = String.valueOf(resolvedRuleset);
+        RulesetBundle bundle = rulesets.get(key);
+        if (bundle == null || !bundle.isCurrent()) {
+            bundle = RulesetBundle.resolve(resolvedRuleset);
+            rulesets.put(key, bundle);
+        }
+        return bundle;
+    }
+
+    /**
+     * Gets the files found by a previous directory scan, if no scanned directory has changed since
+     */
+    public List<File> getListing(String key) {
+        ListingEntry entry = listings.get(key);
+        if (entry == null) {
+            return null;
+        }
+        for (FileStamp directory : entry.directories) {
+            if (!directory.isCurrent()) {
+                listings.remove(key);
+                return null;
+            }
+        }
+        return entry.files;
+    }
+
+    /**
+     * Records the files found by a directory scan, with the state of every directory that was scanned
+     */
+    public void putListing(String key, List<File> files, List<FileStamp> directories) {
+        listings.put(key, new ListingEntry(files, directories));
+    }
+
+    /**
+     * Gets the cached result of linting a file, if the file and everything it references are unchanged.
+     * A result produced under other rule severities is adjusted to the given ones when possible.
+     */
+    public SpectralResult getResult(File file, String contextKey, RuleSeverities severities, String format) {
+        String key = resultKey(file, contextKey);
+        ResultEntry entry;
+        synchronized (results) {
+            entry = results.get(key);
+        }
+        if (entry == null) {
+            return null;
+        }
+        for (FileStamp stamp : entry.stamps) {
+            if (!stamp.isCurrent()) {
+                synchronized (results) {
+                    results.remove(key);
+                }
+                return null;
+            }
+        }
+        return entry.severities.equals(severities) ? entry.result : adjust(entry, severities, format);
+    }
+
+    /**
+     * Records the result of linting a file
+     *
+     * @param severities the rule severities the result was produced under
+     * @param stamps the state of the file and its references, taken before it was linted
+     */
+    public void putResult(File file, String contextKey, RuleSeverities severities, SpectralResult result,
+                          List<FileStamp> stamps) {
+        synchronized (results) {
+            results.put(resultKey(file, contextKey), new ResultEntry(result, severities, stamps));
+        }
+    }
+
+    /**
+     * Derives the result under other severities from the cached findings, or returns null if the output
+     * format cannot be rendered in the JVM or the severity change needs a new lint
+     */
+    private static SpectralResult adjust(ResultEntry entry, RuleSeverities severities, String format) {
+        boolean json = "json".equalsIgnoreCase(format);
+        boolean text = format == null || "text".equalsIgnoreCase(format);
+        if (!entry.result.hasStructuredFindings() || !(json || text)) {
+            return null;
+        }
+        List<SpectralFinding> findings = severities.adjust(entry.result.getFindings(), entry.severities);
+        if (findings == null) {
+            return null;
+        }
+        // Like the CLI's exit code, only report violations when at least one finding is an error
+        boolean hasErrors = findings.stream().anyMatch(f -> f.getSeverity() == SpectralFinding.SEVERITY_ERROR);
+        String output = json ? SpectralFinding.renderJson(findings) : SpectralFinding.renderText(findings);
+        return new SpectralResult(hasErrors ? findings.size() : 0, output, findings);
+    }
+
+    /**
+     * Takes stamps of a spec and every local file it references
+     */
+    public static List<FileStamp> stampsFor(File file) throws IOException {
+        List<FileStamp> stamps = new ArrayList<>();
+        stamps.add(FileStamp.of(file));
+        for (File dependency : SpecDependencies.localReferences(file)) {
+            stamps.add(FileStamp.of(dependency));
+        }
+        return stamps;
+    }
+
+    /**
+     * Removes all cached entries
+     */
+    public void clear() {
+        executables.clear();
+        rulesets.clear();
+        listings.clear();
+        synchronized (results) {
+            results.clear();
+        }
+    }
+
+    private static String resultKey(File file, String contextKey) {
+        return file.getAbsolutePath() + '\n' + contextKey;
+    }
+
+    private static class ExecutableEntry {
+        private final FileStamp stamp;
+        private final String version;
+
+        ExecutableEntry(FileStamp stamp, String version) {
+            this.stamp = stamp;
+            this.version = version;
+        }
+    }
+
+    private static class ListingEntry {
+        private final List<File> files;
+        private final List<FileStamp> directories;
+
+        ListingEntry(List<File> files, List<FileStamp> directories) {
+            this.files = Collections.unmodifiableList(new ArrayList<>(files));
+            this.directories = directories;
+        }
+    }
+
+    private static class ResultEntry {
+        private final SpectralResult result;
+        private final RuleSeverities severities;
+        private final List<FileStamp> stamps;
+
+        ResultEntry(SpectralResult result, RuleSeverities severities, List<FileStamp> stamps) {
+            this.result = result;
+            this.severities = severities;
+            this.stamps = stamps;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.nddipiazza.spectral;
+
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Starts Spectral validation in the background and returns immediately, so that linting overlaps with the
+ * rest of the build. The await goal collects the result and applies failOnViolations.
+ */
+@Mojo(name = "start", defaultPhase = LifecyclePhase.VALIDATE, threadSafe = true)
+public class SpectralStartMojo extends AbstractSpectralMojo {
+
+    /**
+     * Project context key under which the running validation is handed to the await goal
+     */
+    static final String RESULT_CONTEXT_KEY = SpectralStartMojo.class.getName() + ".result";
+
+    /**
+     * Runs background validations; daemon threads, so a build that never awaits is not kept alive
+     */
+    private static final ExecutorService BACKGROUND = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "spectral-background");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public void execute() {
+        if (skip) {
+            getLog().info("Spectral validation is skipped.");
+            return;
+        }
+
+        getLog().info("Starting Spectral OpenAPI validation in the background...");
+
+        CompletableFuture<SpectralResult> result = CompletableFuture.supplyAsync(() -> {
+            try {
+                return runSpectral(outputFile);
+            } catch (SpectralExecutionException e) {
+                throw new CompletionException(e);
+            }
+        }, BACKGROUND);
+        project.setContextValue(RESULT_CONTEXT_KEY, result);
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.nddipiazza.spectral;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes stable fingerprints for findings, used to match them against a {@link SpectralBaseline}.
+ *
+ * <p>A fingerprint is {@code <file>\t<rule code>\t<json pointer>\t<content hash>}, where the file is relative
+ * to the base directory and the content hash covers the node the finding points at. Line numbers are
+ * deliberately left out, so unrelated edits elsewhere in a spec do not turn known violations into new ones,
+ * while editing the offending node does.</p>
+ */
+public class ViolationFingerprinter {
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+
+    private final File baseDirectory;
+    private final Map<String, JsonNode> documents = new ConcurrentHashMap<>();
+
+    public ViolationFingerprinter(File baseDirectory) {
+        this.baseDirectory = baseDirectory;
+    }
+
+    /**
+     * Computes the fingerprint of a finding
+     */
+    public String fingerprint(SpectralFinding finding) {
+        JsonNode document = finding.getSource() != null
+                ? documents.computeIfAbsent(finding.getSource(), ViolationFingerprinter::readDocument)
+                : MissingNode.getInstance();
+        JsonNode target = document.at(finding.getJsonPointer());
+        return relativize(finding.getSource()) + '\t' + finding.getCode() + '\t'
+                + finding.getJsonPointer() + '\t' + contentHash(target);
+    }
+
+    private String relativize(String source) {
+        return source != null ? FileStamp.relativePath(new File(source), baseDirectory) : "";
+    }
+
+    private static JsonNode readDocument(String source) {
+        File file = new File(source);
+        try {
+            ObjectMapper mapper = file.getName().toLowerCase().endsWith(".json") ? JSON_MAPPER : YAML_MAPPER;
+            JsonNode node = mapper.readTree(file);
+            return node != null ? node : MissingNode.getInstance();
+        } catch (IOException e) {
+            return MissingNode.getInstance();
+        }
+    }
+
+    private static String contentHash(JsonNode node) {
+        try {
+            byte[] content = node.isMissingNode()
+                    ? new byte[0]
+                    : JSON_MAPPER.writeValueAsString(node).getBytes(StandardCharsets.UTF_8);
+            return FileStamp.sha256(content).substring(0, 16);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to hash finding target", e);
+        }
+    }
+}
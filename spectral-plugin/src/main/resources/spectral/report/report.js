@@ -0,0 +1,125 @@
+/* Filtering and lazy rendering for the Spectral HTML report */
+(function () {
+    var SEVERITIES = ['error', 'warn', 'info', 'hint'];
+    var ROWS_PER_PAGE = 200;
+
+    function query(name) {
+        var match = new RegExp('[?&]' + name + '=([^&]*)').exec(window.location.search);
+        return match ? decodeURIComponent(match[1]) : '';
+    }
+
+    function fill(select, values, selected) {
+        values.forEach(function (value) {
+            var option = document.createElement('option');
+            option.value = option.textContent = value;
+            select.appendChild(option);
+        });
+        select.value = selected;
+    }
+
+    function cell(row, text, className) {
+        var td = row.insertCell();
+        td.textContent = text;
+        if (className) {
+            td.className = className;
+        }
+        return td;
+    }
+
+    function filterQuery(severity, rule) {
+        return '?severity=' + encodeURIComponent(severity) + '&rule=' + encodeURIComponent(rule);
+    }
+
+    /* Index page: the file list is rendered a page at a time from the compact index */
+    function showIndex(files) {
+        var severitySelect = document.getElementById('severity');
+        var ruleSelect = document.getElementById('rule');
+        var rules = {};
+        var total = [0, 0, 0, 0];
+        files.forEach(function (file) {
+            Object.keys(file.r).forEach(function (rule) { rules[rule] = true; });
+            file.s.forEach(function (count, i) { total[i] += count; });
+        });
+        fill(severitySelect, SEVERITIES, query('severity'));
+        fill(ruleSelect, Object.keys(rules).sort(), query('rule'));
+        document.getElementById('summary').textContent = files.length + ' file(s): ' + total[0] + ' error(s), '
+            + total[1] + ' warning(s), ' + total[2] + ' info(s), ' + total[3] + ' hint(s)';
+
+        var page = 0;
+
+        function render() {
+            var severity = severitySelect.value;
+            var rule = ruleSelect.value;
+            var matching = files.filter(function (file) {
+                return (!severity || file.s[SEVERITIES.indexOf(severity)] > 0) && (!rule || file.r[rule] > 0);
+            });
+            var pages = Math.max(1, Math.ceil(matching.length / ROWS_PER_PAGE));
+            page = Math.min(page, pages - 1);
+
+            var body = document.getElementById('files');
+            body.textContent = '';
+            matching.slice(page * ROWS_PER_PAGE, (page + 1) * ROWS_PER_PAGE).forEach(function (file) {
+                var row = body.insertRow();
+                var link = document.createElement('a');
+                link.href = 'files/' + file.i + '-1.html' + filterQuery(severity, rule);
+                link.textContent = file.f;
+                row.insertCell().appendChild(link);
+                file.s.forEach(function (count) { cell(row, count, 'num'); });
+                cell(row, file.n, 'num');
+            });
+
+            var pager = document.getElementById('pager');
+            pager.textContent = '';
+            if (pages > 1) {
+                [['Previous', page - 1], ['Next', page + 1]].forEach(function (target) {
+                    if (target[1] >= 0 && target[1] < pages) {
+                        var link = document.createElement('a');
+                        link.href = '#';
+                        link.textContent = target[0];
+                        link.onclick = function () { page = target[1]; render(); return false; };
+                        pager.appendChild(link);
+                    }
+                });
+                var position = document.createElement('span');
+                position.textContent = 'Page ' + (page + 1) + ' of ' + pages;
+                pager.appendChild(position);
+            }
+        }
+
+        severitySelect.onchange = ruleSelect.onchange = function () { page = 0; render(); };
+        render();
+    }
+
+    /* File page: rows are already in the page, filtering only hides them */
+    function showFile() {
+        var severitySelect = document.getElementById('severity');
+        var ruleSelect = document.getElementById('rule');
+        var rows = Array.prototype.slice.call(document.querySelectorAll('#findings tbody tr'));
+        var rules = {};
+        rows.forEach(function (row) { rules[row.getAttribute('data-rule')] = true; });
+        fill(severitySelect, SEVERITIES, query('severity'));
+        fill(ruleSelect, Object.keys(rules).sort(), rules[query('rule')] ? query('rule') : '');
+
+        function render() {
+            var severity = severitySelect.value;
+            var rule = ruleSelect.value;
+            rows.forEach(function (row) {
+                var visible = (!severity || row.getAttribute('data-severity') === severity)
+                    && (!rule || row.getAttribute('data-rule') === rule);
+                row.style.display = visible ? '' : 'none';
+            });
+            // Carry the filters over to the other pages of this file
+            Array.prototype.forEach.call(document.querySelectorAll('nav a.page'), function (link) {
+                link.href = link.getAttribute('href').split('?')[0] + filterQuery(severity, rule);
+            });
+        }
+
+        severitySelect.onchange = ruleSelect.onchange = render;
+        render();
+    }
+
+    window.spectralReport = { load: showIndex };
+    if (document.body.getAttribute('data-page') === 'file') {
+        showFile();
+    }
+})();
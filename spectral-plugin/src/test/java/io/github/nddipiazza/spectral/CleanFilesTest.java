@@ -0,0 +1,73 @@
+package io.github.nddipiazza.spectral;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CleanFiles
+ */
+class CleanFilesTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testUpdateKeepsOnlyCleanFiles() {
+        // Given
+        File clean = new File(tempDir, "specs/clean.yaml");
+        File dirty = new File(tempDir, "specs/dirty.yaml");
+        List<SpectralResult> results = Arrays.asList(
+                new SpectralResult(0, "No results", Collections.emptyList()),
+                new SpectralResult(1, "1 error", Collections.singletonList(
+                        new SpectralFinding("rule", "Problem", 0, null, dirty.getPath(), 1, 0))));
+        CleanFiles cleanFiles = new CleanFiles(tempDir);
+
+        // When
+        cleanFiles.update("text|false", Arrays.asList(
+                new FileSummary(clean, "hash-a", results.get(0), 10, null),
+                new FileSummary(dirty, "hash-b", results.get(1), 10, null)), results);
+
+        // Then
+        assertEquals(1, cleanFiles.size());
+        assertEquals("text|false", cleanFiles.getConfiguration());
+        assertEquals("No results", cleanFiles.getOutput(clean, "hash-a"));
+        assertNull(cleanFiles.getOutput(clean, "hash-changed"));
+        assertNull(cleanFiles.getOutput(dirty, "hash-b"));
+    }
+
+    @Test
+    void testWriteAndLoad() throws Exception {
+        // Given
+        File file = new File(tempDir, "target/spectral/clean-files.properties");
+        File spec = new File(tempDir, "specs/a b=c.yaml");
+        SpectralResult result = new SpectralResult(0, "line 1\nline 2", Collections.emptyList());
+        CleanFiles cleanFiles = new CleanFiles(tempDir);
+        cleanFiles.update("json|true", Collections.singletonList(new FileSummary(spec, "hash", result, 5, null)),
+                Collections.singletonList(result));
+
+        // When
+        cleanFiles.write(file);
+        CleanFiles loaded = CleanFiles.load(file, tempDir);
+
+        // Then
+        assertEquals("json|true", loaded.getConfiguration());
+        assertEquals("line 1\nline 2", loaded.getOutput(spec, "hash"));
+    }
+
+    @Test
+    void testLoadMissingFile() throws Exception {
+        // When
+        CleanFiles loaded = CleanFiles.load(new File(tempDir, "missing.properties"), tempDir);
+
+        // Then
+        assertNull(loaded.getConfiguration());
+        assertEquals(0, loaded.size());
+    }
+}
@@ -0,0 +1,141 @@
+package io.github.nddipiazza.spectral;
+
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ConsoleReporter
+ */
+class ConsoleReporterTest {
+
+    @Mock
+    private Log mockLog;
+
+    private final File spec = new File("specs/api.yaml");
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testFullModeLogsCompleteOutput() throws Exception {
+        // Given
+        SpectralResult result = new SpectralResult(1, "api.yaml:1:1 error rule Problem");
+
+        // When
+        try (ConsoleReporter console = ConsoleReporter.create(mockLog, null, 5)) {
+            console.started(spec);
+            console.finished(spec, result, null);
+            console.finished(new File("specs/other.yaml"), result, "cached");
+        }
+
+        // Then
+        InOrder order = inOrder(mockLog);
+        order.verify(mockLog).info("Validating: " + spec.getPath());
+        order.verify(mockLog).info("Spectral output:");
+        order.verify(mockLog).info("api.yaml:1:1 error rule Problem");
+        order.verify(mockLog).info("Validating: " + new File("specs/other.yaml").getPath() + " (cached)");
+    }
+
+    @Test
+    void testSummaryModeLogsTopFindingsAndTotals() throws Exception {
+        // Given
+        List<SpectralFinding> findings = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            findings.add(new SpectralFinding("rule-a", "Problem " + i, 0, null, spec.getPath(), i, 0));
+        }
+        findings.add(new SpectralFinding("rule-b", "Hint", 1, null, spec.getPath(), 9, 0));
+        SpectralResult result = new SpectralResult(5, SpectralFinding.renderText(findings), findings);
+
+        // When
+        try (ConsoleReporter console = ConsoleReporter.create(mockLog, "summary", 2)) {
+            console.started(spec);
+            console.finished(spec, result, null);
+            console.finished(new File("specs/clean.yaml"), new SpectralResult(0, "", new ArrayList<>()), null);
+        }
+
+        // Then
+        InOrder order = inOrder(mockLog);
+        order.verify(mockLog).info(spec.getPath() + ": 4 error, 1 warn");
+        order.verify(mockLog).info("  " + findings.get(0));
+        order.verify(mockLog).info("  " + findings.get(1));
+        order.verify(mockLog).info("  ... and 3 more");
+        order.verify(mockLog).info("Spectral summary: 4 error, 1 warn in 1 file(s)");
+        order.verify(mockLog).info("Spectral findings by rule: rule-a 4, rule-b 1");
+        verify(mockLog, never()).info("Spectral output:");
+        verify(mockLog, never()).info(startsWith("Validating:"));
+        verify(mockLog, never()).info(startsWith(new File("specs/clean.yaml").getPath()));
+    }
+
+    @Test
+    void testSummaryModeTruncatesUnstructuredOutput() throws Exception {
+        // Given
+        SpectralResult result = new SpectralResult(3, "line 1\nline 2\n\nline 3\n");
+
+        // When
+        try (ConsoleReporter console = ConsoleReporter.create(mockLog, "SUMMARY", 1)) {
+            console.finished(spec, result, "cached");
+        }
+
+        // Then
+        verify(mockLog).info(spec.getPath() + " (cached): 3 violation(s)");
+        verify(mockLog).info("  line 1");
+        verify(mockLog).info("  ... and 2 more");
+        verify(mockLog).info("Spectral summary: 1 file(s) with violations in output that could not be parsed");
+    }
+
+    @Test
+    void testCopiedFileInFullModeOnlyLogsOrigin() throws Exception {
+        // Given
+        File copy = new File("specs/copy.yaml");
+
+        // When
+        try (ConsoleReporter console = ConsoleReporter.create(mockLog, "full", 5)) {
+            console.copied(copy, spec, new SpectralResult(1, "output"));
+        }
+
+        // Then
+        verify(mockLog).info("Validating: " + copy.getPath() + " (same content as " + spec.getPath() + ")");
+        verify(mockLog, times(1)).info(anyString());
+    }
+
+    @Test
+    void testLogsEveryQueuedReportBeforeCloseReturns() throws Exception {
+        // Given
+        int reports = ConsoleReporter.MAX_QUEUED * 3;
+
+        // When
+        try (ConsoleReporter console = ConsoleReporter.create(mockLog, "full", 5)) {
+            for (int i = 0; i < reports; i++) {
+                console.started(new File("specs/api-" + i + ".yaml"));
+            }
+        }
+
+        // Then
+        verify(mockLog, times(reports)).info(startsWith("Validating:"));
+    }
+
+    @Test
+    void testUnknownModeFails() {
+        // When
+        SpectralExecutionException e = assertThrows(SpectralExecutionException.class,
+                () -> ConsoleReporter.create(mockLog, "verbose", 5));
+
+        // Then
+        assertTrue(e.getMessage().contains("verbose"));
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.nddipiazza.spectral;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DirectoryResultCacheBackend
+ */
+class DirectoryResultCacheBackendTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testPutAndGet() throws Exception {
+        // Given
+        DirectoryResultCacheBackend backend = new DirectoryResultCacheBackend(tempDir, 1024 * 1024);
+        String key = FileStamp.sha256("spec");
+
+        // When
+        backend.put(key, "{\"findings\":[]}".getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        assertEquals("{\"findings\":[]}", new String(backend.get(key), StandardCharsets.UTF_8));
+        assertNull(backend.get(FileStamp.sha256("other")));
+        try (Stream<java.nio.file.Path> files = Files.walk(tempDir.toPath())) {
+            assertTrue(files.noneMatch(file -> file.toString().endsWith(".tmp")), "temporary files should be moved into place");
+        }
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedEntries() throws Exception {
+        // Given
+        DirectoryResultCacheBackend backend = new DirectoryResultCacheBackend(tempDir, 250);
+        String oldest = FileStamp.sha256("a");
+        String used = FileStamp.sha256("b");
+        String newest = FileStamp.sha256("c");
+        backend.put(oldest, new byte[100]);
+        backend.put(used, new byte[100]);
+        age(oldest, 2);
+        age(used, 1);
+        backend.get(used);
+
+        // When
+        backend.put(newest, new byte[100]);
+
+        // Then
+        assertNull(backend.get(oldest));
+        assertNotNull(backend.get(used));
+        assertNotNull(backend.get(newest));
+    }
+
+    @Test
+    void testForLocationSelectsBackend() {
+        // When & Then
+        assertTrue(ResultCacheBackend.forLocation("https://cache.example.com/spectral", 1) instanceof HttpResultCacheBackend);
+        assertTrue(ResultCacheBackend.forLocation(tempDir.getPath(), 1) instanceof DirectoryResultCacheBackend);
+    }
+
+    private void age(String key, int minutes) {
+        File entry = new File(new File(tempDir, key.substring(0, 2)), key + ".json");
+        assertTrue(entry.setLastModified(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(minutes)));
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.nddipiazza.spectral;
+
+import org.apache.maven.plugin.logging.Log;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ExecutableArtifactResolver
+ */
+class ExecutableArtifactResolverTest {
+
+    @TempDir
+    File tempDir;
+
+    private final RepositorySystem repositorySystem = mock(RepositorySystem.class);
+    private final RepositorySystemSession session = mock(RepositorySystemSession.class);
+    private final Log log = mock(Log.class);
+
+    @Test
+    void testArtifactIdFor() {
+        // When & Then
+        assertEquals("spectral-win", ExecutableArtifactResolver.artifactIdFor("spectral/windows/spectral.exe"));
+        assertEquals("spectral-linux-x64", ExecutableArtifactResolver.artifactIdFor("spectral/linux-x64/spectral"));
+        assertEquals("spectral-macos-arm64", ExecutableArtifactResolver.artifactIdFor("spectral/macos-arm64/spectral"));
+        assertEquals("spectral-alpine-x64", ExecutableArtifactResolver.artifactIdFor("spectral/alpine-x64/spectral"));
+    }
+
+    @Test
+    void testResolveRequestsOnlyThePlatformArtifact() throws Exception {
+        // Given
+        File jar = new File(tempDir, "spectral-linux-x64-6.15.3.jar");
+        ArtifactResult result = new ArtifactResult(new ArtifactRequest());
+        result.setArtifact(new org.eclipse.aether.artifact.DefaultArtifact(
+                "io.github.nddipiazza:spectral-linux-x64:6.15.3").setFile(jar));
+        when(repositorySystem.resolveArtifact(eq(session), any(ArtifactRequest.class))).thenReturn(result);
+        ExecutableArtifactResolver resolver = new ExecutableArtifactResolver(
+                repositorySystem, session, Collections.emptyList(), "6.15.3", log);
+
+        // When
+        File resolved = resolver.resolve("spectral-linux-x64");
+
+        // Then
+        assertEquals(jar, resolved);
+        ArgumentCaptor<ArtifactRequest> request = ArgumentCaptor.forClass(ArtifactRequest.class);
+        verify(repositorySystem).resolveArtifact(eq(session), request.capture());
+        Artifact artifact = request.getValue().getArtifact();
+        assertEquals("io.github.nddipiazza", artifact.getGroupId());
+        assertEquals("spectral-linux-x64", artifact.getArtifactId());
+        assertEquals("6.15.3", artifact.getVersion());
+        assertEquals("jar", artifact.getExtension());
+    }
+
+    @Test
+    void testResolveFailure() throws Exception {
+        // Given
+        when(repositorySystem.resolveArtifact(eq(session), any(ArtifactRequest.class)))
+                .thenThrow(new ArtifactResolutionException(Collections.emptyList(), "offline"));
+        ExecutableArtifactResolver resolver = new ExecutableArtifactResolver(
+                repositorySystem, session, Collections.emptyList(), "6.15.3", log);
+
+        // When & Then
+        assertThrows(SpectralExecutionException.class, () -> resolver.resolve("spectral-win"));
+    }
+
+    @Test
+    void testExecutorExtractsFromResolvedArchive() throws Exception {
+        // Given - A jar laid out like the spectral-executables artifacts
+        File jar = new File(tempDir, "executables.jar");
+        try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(jar))) {
+            zip.putNextEntry(new ZipEntry(SpectralExecutor.getExecutableResourcePath()));
+            zip.write("#!/bin/sh\necho 6.15.0\n".getBytes());
+            zip.closeEntry();
+        }
+        ArtifactResult result = new ArtifactResult(new ArtifactRequest());
+        result.setArtifact(new org.eclipse.aether.artifact.DefaultArtifact(
+                "io.github.nddipiazza:spectral-linux-x64:6.15.3").setFile(jar));
+        when(repositorySystem.resolveArtifact(eq(session), any(ArtifactRequest.class))).thenReturn(result);
+
+        SpectralExecutor executor = new SpectralExecutor(log);
+        executor.setArtifactResolver(new ExecutableArtifactResolver(
+                repositorySystem, session, Collections.emptyList(), "6.15.3", log));
+
+        // When
+        File executable = executor.extractSpectralExecutable(tempDir);
+
+        // Then
+        assertEquals("#!/bin/sh\necho 6.15.0\n", new String(Files.readAllBytes(executable.toPath())));
+    }
+}
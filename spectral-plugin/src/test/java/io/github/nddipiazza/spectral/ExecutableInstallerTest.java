@@ -0,0 +1,104 @@
+package io.github.nddipiazza.spectral;
+
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for ExecutableInstaller
+ */
+class ExecutableInstallerTest {
+
+    @TempDir
+    File tempDir;
+
+    private final ExecutableInstaller installer = new ExecutableInstaller(mock(Log.class));
+
+    @Test
+    void testInstallWritesExecutable() throws Exception {
+        // Given
+        File target = new File(tempDir, "bin/spectral");
+
+        // When
+        File installed = installer.install(new ByteArrayInputStream("binary".getBytes()), target, true);
+
+        // Then
+        assertEquals(target, installed);
+        assertEquals("binary", new String(Files.readAllBytes(target.toPath())));
+        assertTrue(target.canExecute() || System.getProperty("os.name").toLowerCase().contains("win"));
+        assertNoTempFilesLeft(target.getParentFile());
+    }
+
+    @Test
+    void testInstallSkipsIdenticalContent() throws Exception {
+        // Given
+        File target = new File(tempDir, "spectral");
+        installer.install(new ByteArrayInputStream("binary".getBytes()), target, true);
+        target.setLastModified(1_000_000_000L);
+
+        // When
+        installer.install(new ByteArrayInputStream("binary".getBytes()), target, true);
+
+        // Then - The existing file was left in place
+        assertEquals(1_000_000_000L, target.lastModified());
+        assertNoTempFilesLeft(tempDir);
+    }
+
+    @Test
+    void testInstallReplacesChangedContent() throws Exception {
+        // Given
+        File target = new File(tempDir, "spectral");
+        installer.install(new ByteArrayInputStream("old".getBytes()), target, true);
+
+        // When
+        installer.install(new ByteArrayInputStream("new".getBytes()), target, true);
+
+        // Then
+        assertEquals("new", new String(Files.readAllBytes(target.toPath())));
+    }
+
+    @Test
+    void testConcurrentInstallsNeverExposePartialFile() throws Exception {
+        // Given
+        File target = new File(tempDir, "spectral");
+        byte[] content = new byte[256 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        // When
+        try {
+            List<Future<File>> futures = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                futures.add(pool.submit(() -> installer.install(new ByteArrayInputStream(content), target, true)));
+            }
+            for (Future<File> future : futures) {
+                File installed = future.get();
+                // Then - Whenever an install returns, the complete binary is in place
+                assertArrayEquals(content, Files.readAllBytes(installed.toPath()));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertNoTempFilesLeft(tempDir);
+    }
+
+    private void assertNoTempFilesLeft(File directory) {
+        File[] leftovers = directory.listFiles((dir, name) -> name.endsWith(".tmp"));
+        assertNotNull(leftovers);
+        assertEquals(0, leftovers.length);
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.nddipiazza.spectral;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FileStamp
+ */
+class FileStampTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testUnchangedFileIsCurrent() throws Exception {
+        // Given
+        File file = new File(tempDir, "api.yaml");
+        Files.write(file.toPath(), "openapi: 3.0.0".getBytes());
+
+        // When
+        FileStamp stamp = FileStamp.of(file);
+
+        // Then
+        assertTrue(stamp.isCurrent());
+        assertEquals(FileStamp.sha256("openapi: 3.0.0"), stamp.getHash());
+    }
+
+    @Test
+    void testTouchedFileWithSameContentIsCurrent() throws Exception {
+        // Given
+        File file = new File(tempDir, "api.yaml");
+        Files.write(file.toPath(), "openapi: 3.0.0".getBytes());
+        FileStamp stamp = FileStamp.of(file);
+
+        // When
+        Files.write(file.toPath(), "openapi: 3.0.0".getBytes());
+        file.setLastModified(file.lastModified() + 10_000);
+
+        // Then
+        assertTrue(stamp.isCurrent());
+    }
+
+    @Test
+    void testModifiedFileIsNotCurrent() throws Exception {
+        // Given
+        File file = new File(tempDir, "api.yaml");
+        Files.write(file.toPath(), "openapi: 3.0.0".getBytes());
+        FileStamp stamp = FileStamp.of(file);
+
+        // When
+        Files.write(file.toPath(), "openapi: 3.1.0".getBytes());
+        file.setLastModified(file.lastModified() + 10_000);
+
+        // Then
+        assertFalse(stamp.isCurrent());
+    }
+
+    @Test
+    void testDeletedFileIsNotCurrent() throws Exception {
+        // Given
+        File file = new File(tempDir, "api.yaml");
+        Files.write(file.toPath(), "openapi: 3.0.0".getBytes());
+        FileStamp stamp = FileStamp.of(file);
+
+        // When
+        Files.delete(file.toPath());
+
+        // Then
+        assertFalse(stamp.isCurrent());
+    }
+
+    @Test
+    void testDirectoryStampTracksModificationTime() {
+        // Given
+        FileStamp stamp = FileStamp.ofDirectory(tempDir);
+
+        // When
+        tempDir.setLastModified(tempDir.lastModified() + 10_000);
+
+        // Then
+        assertNull(stamp.getHash());
+        assertFalse(stamp.isCurrent());
+    }
+
+    @Test
+    void testRelativePathNormalizesBothPaths() {
+        // Given
+        File base = new File(tempDir, "project/./specs/..");
+
+        // When & Then
+        assertEquals("specs/api.yaml", FileStamp.relativePath(new File(tempDir, "project/specs/../specs/api.yaml"), base));
+        assertEquals(new File(tempDir, "other.yaml").getAbsolutePath().replace(File.separatorChar, '/'),
+                FileStamp.relativePath(new File(tempDir, "other.yaml"), base));
+        assertEquals("api.yaml", FileStamp.relativePath(new File("api.yaml"), new File("")));
+    }
+}
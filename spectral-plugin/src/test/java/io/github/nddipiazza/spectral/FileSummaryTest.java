@@ -0,0 +1,60 @@
+package io.github.nddipiazza.spectral;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FileSummary
+ */
+class FileSummaryTest {
+
+    @Test
+    void testCountsFindingsBySeverity() {
+        // Given
+        File spec = new File("api.yaml");
+        SpectralResult result = new SpectralResult(2, "output", Arrays.asList(
+                new SpectralFinding("a", "A", SpectralFinding.SEVERITY_ERROR, null, spec.getPath(), 1, 0),
+                new SpectralFinding("b", "B", SpectralFinding.SEVERITY_ERROR, null, spec.getPath(), 2, 0),
+                new SpectralFinding("c", "C", SpectralFinding.SEVERITY_HINT, null, spec.getPath(), 3, 0)));
+
+        // When
+        FileSummary summary = new FileSummary(spec, "hash", result, 42, null);
+
+        // Then
+        assertEquals(2, summary.getSeverityCount(SpectralFinding.SEVERITY_ERROR));
+        assertEquals(0, summary.getSeverityCount(SpectralFinding.SEVERITY_WARN));
+        assertEquals(1, summary.getSeverityCount(SpectralFinding.SEVERITY_HINT));
+        assertEquals(0, summary.getSeverityCount(7));
+        assertFalse(summary.isClean());
+        assertFalse(summary.isCached());
+        assertEquals(42, summary.getDurationMillis());
+        assertEquals("api.yaml: 2 error, 0 warn, 0 info, 1 hint, 42 ms", summary.toString());
+    }
+
+    @Test
+    void testCleanCachedFile() {
+        // When
+        FileSummary summary = new FileSummary(new File("api.yaml"), "hash",
+                new SpectralResult(0, "", Collections.emptyList()), -1, "cached");
+
+        // Then
+        assertTrue(summary.isClean());
+        assertTrue(summary.isCached());
+        assertEquals("api.yaml: clean (cached)", summary.toString());
+    }
+
+    @Test
+    void testFileWithoutStructuredFindingsIsNotClean() {
+        // When
+        FileSummary summary = new FileSummary(new File("api.yaml"), null, new SpectralResult(0, "output"), 5, null);
+
+        // Then
+        assertFalse(summary.isClean());
+        assertNull(summary.getHash());
+    }
+}
@@ -0,0 +1,202 @@
+package io.github.nddipiazza.spectral;
+
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for GraalJsLintEngine, using a stand-in bundle that implements the spectralMaven contract
+ */
+class GraalJsLintEngineTest {
+
+    private static final String FAKE_BUNDLE = String.join("\n",
+            "var rulesetLoads = 0;",
+            "globalThis.spectralMaven = {",
+            "  loadRuleset: function (text) {",
+            "    rulesetLoads++;",
+            "    return { severity: text && text.indexOf('warn') >= 0 ? 1 : 0 };",
+            "  },",
+            "  lint: function (ruleset, doc, path) {",
+            "    if (doc.indexOf('reject') >= 0) { return Promise.reject(new Error('bad document')); }",
+            "    var results = doc.indexOf('contact') >= 0 ? [] : [{",
+            "      code: 'info-contact', message: 'loads=' + rulesetLoads, severity: ruleset.severity,",
+            "      path: ['info'], source: path,",
+            "      range: { start: { line: 1, character: 0 }, end: { line: 1, character: 4 } }",
+            "    }];",
+            "    return Promise.resolve().then(function () { return JSON.stringify(results); });",
+            "  }",
+            "};");
+
+    /**
+     * Reports the content of the file named by the document, or why it could not be read, as the finding message
+     */
+    private static final String READING_BUNDLE = String.join("\n",
+            "globalThis.spectralMaven = {",
+            "  loadRuleset: function (text) {",
+            "    if (text && text.indexOf('functions') >= 0) { throw new Error('Custom functions are not supported'); }",
+            "    return {};",
+            "  },",
+            "  lint: function (ruleset, doc, path) {",
+            "    var message;",
+            "    try { message = spectralMavenReadFile(doc.trim()); } catch (e) { message = 'refused: ' + e.message; }",
+            "    return JSON.stringify([{ code: 'ref', message: message, severity: 1, path: [], source: path,",
+            "      range: { start: { line: 0, character: 0 }, end: { line: 0, character: 1 } } }]);",
+            "  }",
+            "};");
+
+    @TempDir
+    File tempDir;
+
+    private final GraalJsLintEngine engine = new GraalJsLintEngine(FAKE_BUNDLE, mock(Log.class));
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    void testRuntimeIsAvailableInTests() {
+        // When & Then
+        assertTrue(GraalJsSupport.isRuntimeAvailable(getClass().getClassLoader()));
+    }
+
+    @Test
+    void testLintReturnsFindings() throws Exception {
+        // Given
+        File spec = write("api.yaml", "openapi: 3.0.0\ninfo:\n  title: Test\n");
+
+        // When
+        SpectralResult result = engine.lint(spec, null, "text");
+
+        // Then
+        assertEquals(1, result.getViolationCount());
+        assertTrue(result.hasStructuredFindings());
+        SpectralFinding finding = result.getFindings().get(0);
+        assertEquals("info-contact", finding.getCode());
+        assertEquals(spec.getAbsolutePath(), finding.getSource());
+        assertTrue(result.getOutput().contains("error info-contact"));
+    }
+
+    @Test
+    void testRulesetIsLoadedOncePerContext() throws Exception {
+        // Given
+        File first = write("first.yaml", "openapi: 3.0.0");
+        File second = write("second.yaml", "openapi: 3.0.0");
+
+        // When
+        engine.lint(first, "rules: {}", "text");
+        SpectralResult result = engine.lint(second, "rules: {}", "text");
+
+        // Then - The second file reused the warmed context and its loaded ruleset
+        assertEquals("loads=1", result.getFindings().get(0).getMessage());
+    }
+
+    @Test
+    void testWarningsDoNotCountAsViolations() throws Exception {
+        // Given
+        File spec = write("api.yaml", "openapi: 3.0.0");
+
+        // When
+        SpectralResult result = engine.lint(spec, "severity: warn", "json");
+
+        // Then
+        assertEquals(0, result.getViolationCount());
+        assertEquals(1, result.getFindings().size());
+        assertTrue(result.getOutput().startsWith("["));
+    }
+
+    @Test
+    void testCleanFile() throws Exception {
+        // Given
+        File spec = write("api.yaml", "info:\n  contact: {}\n");
+
+        // When
+        SpectralResult result = engine.lint(spec, null, "text");
+
+        // Then
+        assertFalse(result.hasViolations());
+        assertTrue(result.getFindings().isEmpty());
+    }
+
+    @Test
+    void testRejectedLintIsReported() throws Exception {
+        // Given
+        File spec = write("api.yaml", "reject");
+
+        // When & Then
+        SpectralExecutionException e = assertThrows(SpectralExecutionException.class,
+                () -> engine.lint(spec, null, "text"));
+        assertTrue(e.getMessage().contains("bad document"));
+    }
+
+    @Test
+    void testRejectsFormatsItCannotRender() throws Exception {
+        // Given
+        File spec = write("api.yaml", "openapi: 3.0.0");
+
+        // When & Then
+        assertTrue(GraalJsSupport.supportsFormat("JSON"));
+        assertFalse(GraalJsSupport.supportsFormat("junit"));
+        SpectralExecutionException e = assertThrows(SpectralExecutionException.class,
+                () -> engine.lint(spec, null, "sarif"));
+        assertTrue(e.getMessage().contains("only text and json"));
+    }
+
+    @Test
+    void testBundleReadsFilesInReadableDirectories() throws Exception {
+        // Given
+        File specs = new File(tempDir, "specs");
+        specs.mkdirs();
+        File schema = write("specs/pet.yaml", "type: object");
+        File secret = write("secret.txt", "password");
+        File inside = write("specs/inside.yaml", schema.toURI().toString());
+        File outside = write("specs/outside.yaml", secret.getAbsolutePath());
+
+        try (GraalJsLintEngine reading = new GraalJsLintEngine(READING_BUNDLE,
+                Collections.singletonList(specs), mock(Log.class))) {
+            // When
+            SpectralResult read = reading.lint(inside, null, "json");
+            SpectralResult refused = reading.lint(outside, null, "json");
+
+            // Then
+            assertEquals("type: object", read.getFindings().get(0).getMessage());
+            assertTrue(refused.getFindings().get(0).getMessage().startsWith("refused"));
+        }
+    }
+
+    @Test
+    void testRulesetThatCannotLoadIsReported() {
+        try (GraalJsLintEngine reading = new GraalJsLintEngine(READING_BUNDLE, mock(Log.class))) {
+            // When & Then
+            assertDoesNotThrow(() -> reading.loadRuleset("extends: spectral:oas"));
+            SpectralExecutionException e = assertThrows(SpectralExecutionException.class,
+                    () -> reading.loadRuleset("functions: [check]"));
+            assertTrue(e.getMessage().contains("Custom functions are not supported"));
+        }
+    }
+
+    @Test
+    void testBundleWithoutContract() throws Exception {
+        // Given
+        File spec = write("api.yaml", "openapi: 3.0.0");
+        try (GraalJsLintEngine broken = new GraalJsLintEngine("var nothing = 1;", mock(Log.class))) {
+            // When & Then
+            assertThrows(SpectralExecutionException.class, () -> broken.lint(spec, null, "text"));
+        }
+    }
+
+    private File write(String name, String content) throws IOException {
+        File file = new File(tempDir, name);
+        Files.write(file.toPath(), content.getBytes());
+        return file;
+    }
+}
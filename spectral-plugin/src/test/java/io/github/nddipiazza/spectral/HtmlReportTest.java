@@ -0,0 +1,102 @@
+package io.github.nddipiazza.spectral;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HtmlReport
+ */
+class HtmlReportTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testWritesIndexAndPages() throws Exception {
+        // Given
+        File reportDir = new File(tempDir, "report");
+        File spec = new File(tempDir, "specs/api.yaml");
+        List<SpectralFinding> findings = Arrays.asList(
+                new SpectralFinding("info-contact", "Missing <contact>", 1, Arrays.asList("info"), spec.getPath(), 2, 0),
+                new SpectralFinding("oas3-schema", "Invalid", 0, Arrays.asList("paths"), spec.getPath(), 5, 2));
+
+        // When
+        try (HtmlReport report = new HtmlReport(reportDir, tempDir)) {
+            report.addFile(spec, findings);
+            report.addFile(new File(tempDir, "specs/other.yaml"), null);
+        }
+
+        // Then
+        assertTrue(new File(reportDir, "index.html").isFile());
+        assertTrue(new File(reportDir, "report.js").isFile());
+        String index = read(new File(reportDir, "index.js"));
+        assertEquals("spectralReport.load([{\"i\":1,\"f\":\"specs/api.yaml\",\"n\":1,\"s\":[1,1,0,0],"
+                + "\"r\":{\"info-contact\":1,\"oas3-schema\":1}},{\"i\":2,\"f\":\"specs/other.yaml\",\"n\":1,"
+                + "\"s\":[0,0,0,0],\"r\":{}}]);\n", index);
+        String page = read(new File(reportDir, "files/1-1.html"));
+        assertTrue(page.contains("data-severity=\"warn\" data-rule=\"info-contact\""));
+        assertTrue(page.contains("Missing &lt;contact&gt;"));
+        assertTrue(page.contains("specs/api.yaml:6:3"));
+        assertTrue(read(new File(reportDir, "files/2-1.html")).contains("Structured results are not available"));
+    }
+
+    @Test
+    void testCopiesReportToAnotherDirectory() throws Exception {
+        // Given
+        File reportDir = new File(tempDir, "report");
+        File copyDir = new File(tempDir, "copy");
+        HtmlReport report = new HtmlReport(reportDir, tempDir);
+        report.addFile(new File(tempDir, "specs/api.yaml"), null);
+        report.close();
+
+        // When
+        File index = report.copyTo(copyDir);
+
+        // Then
+        assertEquals(new File(copyDir, "index.html"), index);
+        assertTrue(index.isFile());
+        assertEquals(read(new File(reportDir, "index.js")), read(new File(copyDir, "index.js")));
+        assertTrue(new File(copyDir, "files/1-1.html").isFile());
+    }
+
+    @Test
+    void testSplitsLargeFilesIntoPages() throws Exception {
+        // Given
+        File reportDir = new File(tempDir, "report");
+        List<SpectralFinding> findings = new ArrayList<>();
+        for (int i = 0; i < HtmlReport.FINDINGS_PER_PAGE * 2 + 1; i++) {
+            findings.add(new SpectralFinding("rule-" + (i % 3), "message", 2, null, "api.yaml", i, 0));
+        }
+
+        // When
+        try (HtmlReport report = new HtmlReport(reportDir, tempDir)) {
+            report.addFile(new File(tempDir, "api.yaml"), findings);
+        }
+
+        // Then
+        assertTrue(new File(reportDir, "files/1-3.html").isFile());
+        assertFalse(new File(reportDir, "files/1-4.html").exists());
+        assertTrue(read(new File(reportDir, "files/1-2.html")).contains("Page 2 of 3"));
+        assertTrue(read(new File(reportDir, "index.js")).contains("\"n\":3,\"s\":[0,0,2001,0]"));
+    }
+
+    @Test
+    void testEscape() {
+        // When & Then
+        assertEquals("&lt;a href=&quot;x&quot;&gt;&amp;&#39;", HtmlReport.escape("<a href=\"x\">&'"));
+        assertEquals("", HtmlReport.escape(null));
+    }
+
+    private static String read(File file) throws Exception {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.nddipiazza.spectral;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HttpResultCacheBackend, against a stub cache server
+ */
+class HttpResultCacheBackendTest {
+
+    private final Map<String, byte[]> stored = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/cache/", exchange -> {
+            String key = exchange.getRequestURI().getPath().substring("/cache/".length());
+            if ("PUT".equals(exchange.getRequestMethod())) {
+                stored.put(key, exchange.getRequestBody().readAllBytes());
+                exchange.sendResponseHeaders(201, -1);
+            } else if (key.startsWith("broken")) {
+                exchange.sendResponseHeaders(500, -1);
+            } else if (stored.containsKey(key)) {
+                byte[] body = stored.get(key);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(body);
+                }
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+            }
+            exchange.close();
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/cache";
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testPutAndGet() throws Exception {
+        // Given
+        HttpResultCacheBackend backend = new HttpResultCacheBackend(url);
+
+        // When
+        backend.put("abc", "result".getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        assertEquals("result", new String(stored.get("abc"), StandardCharsets.UTF_8));
+        assertEquals("result", new String(backend.get("abc"), StandardCharsets.UTF_8));
+        assertNull(backend.get("missing"));
+    }
+
+    @Test
+    void testServerErrorsAreReported() {
+        // Given
+        HttpResultCacheBackend backend = new HttpResultCacheBackend(url + "/");
+
+        // When
+        IOException e = assertThrows(IOException.class, () -> backend.get("broken"));
+
+        // Then
+        assertTrue(e.getMessage().contains("HTTP 500"));
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.nddipiazza.spectral;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LintPlan
+ */
+class LintPlanTest {
+
+    @Test
+    void testPredictedWallTimeUsesFirstFreeWorker() {
+        // Given
+        LintPlan plan = new LintPlan(2);
+        plan.add(new File("a.yaml"), LintPlan.Action.LINT, 400L);
+        plan.add(new File("b.yaml"), LintPlan.Action.LINT, 100L);
+        plan.add(new File("c.yaml"), LintPlan.Action.LINT, 100L);
+        plan.add(new File("d.yaml"), LintPlan.Action.LINT, 100L);
+        plan.add(new File("e.yaml"), LintPlan.Action.CACHED, null);
+
+        // When & Then
+        assertEquals(700, plan.getPredictedCpuMillis());
+        assertEquals(400, plan.getPredictedWallMillis());
+    }
+
+    @Test
+    void testCounts() {
+        // Given
+        LintPlan plan = new LintPlan(0);
+        plan.add(new File("a.yaml"), LintPlan.Action.LINT, null);
+        plan.add(new File("b.yaml"), LintPlan.Action.CACHED, null);
+        plan.add(new File("c.yaml"), LintPlan.Action.SKIPPED, null);
+
+        // When & Then
+        assertEquals(1, plan.getConcurrency());
+        assertEquals(1, plan.count(LintPlan.Action.LINT));
+        assertEquals(1, plan.count(LintPlan.Action.CACHED));
+        assertEquals(1, plan.count(LintPlan.Action.SKIPPED));
+        assertEquals(1, plan.countUntimed());
+    }
+
+    @Test
+    void testRender() {
+        // Given
+        LintPlan plan = new LintPlan(4);
+        plan.add(new File("a.yaml"), LintPlan.Action.LINT, 250L);
+        plan.add(new File("b.yaml"), LintPlan.Action.SKIPPED, null);
+
+        // When
+        List<String> lines = plan.render();
+
+        // Then
+        assertEquals("LINT    a.yaml ~250 ms", lines.get(0));
+        assertEquals("SKIPPED b.yaml", lines.get(1));
+        assertEquals("2 file(s): 1 to lint, 0 cached, 1 skipped", lines.get(2));
+        assertEquals("Concurrency: 4, predicted lint time: ~250 ms wall, ~250 ms total", lines.get(3));
+    }
+}
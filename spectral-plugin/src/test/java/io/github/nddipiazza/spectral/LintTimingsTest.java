@@ -0,0 +1,64 @@
+package io.github.nddipiazza.spectral;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LintTimings
+ */
+class LintTimingsTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testRecordAndAverage() {
+        // Given
+        LintTimings timings = new LintTimings(tempDir);
+
+        // When
+        timings.put(new File(tempDir, "a.yaml"), 100);
+        timings.put(new File(tempDir, "b.yaml"), 300);
+
+        // Then
+        assertEquals(100L, timings.get(new File(tempDir, "a.yaml")));
+        assertNull(timings.get(new File(tempDir, "c.yaml")));
+        assertEquals(200L, timings.average());
+    }
+
+    @Test
+    void testAverageWithoutTimings() {
+        // When & Then
+        assertNull(new LintTimings(tempDir).average());
+    }
+
+    @Test
+    void testWriteAndLoad() throws Exception {
+        // Given
+        File file = new File(tempDir, "target/spectral/timings.properties");
+        LintTimings timings = new LintTimings(tempDir);
+        timings.put(new File(tempDir, "specs/b.yaml"), 20);
+        timings.put(new File(tempDir, "specs/a.yaml"), 10);
+
+        // When
+        timings.write(file);
+        LintTimings loaded = LintTimings.load(file, tempDir);
+
+        // Then
+        assertEquals(2, loaded.size());
+        assertEquals(10L, loaded.get(new File(tempDir, "specs/a.yaml")));
+        String content = new String(Files.readAllBytes(file.toPath()));
+        assertTrue(content.indexOf("specs/a.yaml") < content.indexOf("specs/b.yaml"));
+    }
+
+    @Test
+    void testLoadMissingFile() throws Exception {
+        // When & Then
+        assertEquals(0, LintTimings.load(new File(tempDir, "missing.properties"), tempDir).size());
+    }
+}
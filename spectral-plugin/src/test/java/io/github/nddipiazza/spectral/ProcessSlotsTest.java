@@ -0,0 +1,60 @@
+package io.github.nddipiazza.spectral;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProcessSlots
+ */
+class ProcessSlotsTest {
+
+    private static final long MB = 1024L * 1024L;
+
+    @Test
+    void testConcurrencyFollowsTheHeapOfEachProcess() {
+        // Given - 8 CPUs and 16 GB, 2 GB of it kept for the JVM
+        ProcessSlots slots = new ProcessSlots(new ResourceLimits(8, 16384 * MB), 2048 * MB, 672 * MB);
+
+        // When & Then - default processes are bound by CPUs, large ones by memory
+        assertEquals(8, slots.concurrency(672 * MB));
+        assertEquals(3, slots.concurrency(4256 * MB));
+        assertEquals(1, slots.concurrency(32768 * MB));
+    }
+
+    @Test
+    void testWithoutMemoryLimitOnlyCpusCount() {
+        // Given
+        ProcessSlots slots = new ProcessSlots(new ResourceLimits(4, 0), 2048 * MB, 672 * MB);
+
+        // When & Then
+        assertEquals(4, slots.concurrency(672 * MB));
+        assertEquals(4, slots.concurrency(8192 * MB));
+    }
+
+    @Test
+    void testLargeProcessesLeaveNoRoomForMore() throws Exception {
+        // Given - 4 GB shared by processes of 2 GB
+        ProcessSlots slots = new ProcessSlots(new ResourceLimits(4, 4096 * MB), 0, 672 * MB);
+        slots.acquire(2048 * MB);
+        slots.acquire(2048 * MB);
+
+        // When
+        CompletableFuture<Void> third = CompletableFuture.runAsync(() -> {
+            try {
+                slots.acquire(672 * MB);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // Then
+        assertThrows(TimeoutException.class, () -> third.get(200, TimeUnit.MILLISECONDS));
+        slots.release(2048 * MB);
+        third.get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,285 @@
+package io.github.nddipiazza.spectral;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for RemoteRefCache, against a stub document server
+ */
+class RemoteRefCacheTest {
+
+    @Mock
+    private Log mockLog;
+
+    @TempDir
+    File tempDir;
+
+    private final Map<String, String> documents = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private final Map<String, Long> delays = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            try {
+                Thread.sleep(delays.getOrDefault(exchange.getRequestURI().getPath(), 0L));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String body = documents.get(exchange.getRequestURI().getPath());
+            String etag = body != null ? "\"" + body.hashCode() + "\"" : null;
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+            } else if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("ETag", etag);
+                exchange.sendResponseHeaders(200, bytes.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(bytes);
+                }
+            }
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort();
+        documents.put("/schemas/pet.yaml", "type: object\nproperties:\n  tag:\n    $ref: 'tag.yaml'\n");
+        documents.put("/schemas/tag.yaml", "type: string\n");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testRewritesRemoteRefsToCachedCopies() throws Exception {
+        // Given
+        File spec = spec("api.yaml", "openapi: 3.0.0\ncomponents:\n  schemas:\n    Pet:\n      $ref: '" + url
+                + "/schemas/pet.yaml#/properties'\n    Local:\n      $ref: './common.yaml'\n");
+        write("common.yaml", "Other:\n  $ref: \"" + url + "/schemas/tag.yaml\"\n");
+        RemoteRefCache cache = cache(3_600_000, false);
+
+        // When
+        RemoteRefCache.Localized localized = cache.localize(spec);
+
+        // Then
+        List<String> lines = Files.readAllLines(localized.getFile().toPath());
+        assertEquals(7, lines.size());
+        assertTrue(lines.get(4).endsWith("/pet.yaml#/properties'"));
+        assertFalse(lines.get(4).contains("http"));
+        String common = lines.get(6).replaceAll(".*\\$ref: '(.*)'", "$1");
+        assertNotEquals(new File(tempDir, "common.yaml").getAbsolutePath(), common);
+        assertFalse(read(new File(common)).contains("http"));
+        String pet = lines.get(4).replaceAll(".*\\$ref: '(.*)#.*", "$1");
+        assertFalse(read(new File(pet)).contains("'tag.yaml'"), "relative refs of remote documents are cached too");
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void testSpecWithoutRemoteRefsIsLintedAsItIs() throws Exception {
+        // Given
+        File spec = spec("api.yaml", "openapi: 3.0.0\npaths: {}\n");
+
+        // When & Then
+        assertNull(cache(3_600_000, false).localize(spec));
+        assertEquals(0, requests.get());
+    }
+
+    @Test
+    void testRestoreMapsCopiesBackToOriginals() throws Exception {
+        // Given
+        File spec = spec("api.yaml", "pet:\n  $ref: '" + url + "/schemas/pet.yaml'\n");
+        RemoteRefCache.Localized localized = cache(3_600_000, false).localize(spec);
+        String copy = localized.getFile().getAbsolutePath();
+        SpectralFinding finding = new SpectralFinding("rule", "Problem", 0, null, copy, 1, 2);
+
+        // When
+        SpectralResult restored = localized.restore(
+                new SpectralResult(1, copy + ":2:3 error rule Problem\n", Collections.singletonList(finding)));
+
+        // Then
+        assertEquals(spec.getPath() + ":2:3 error rule Problem\n", restored.getOutput());
+        assertEquals(spec.getPath(), restored.getFindings().get(0).getSource());
+        assertEquals(1, restored.getFindings().get(0).getLine());
+    }
+
+    @Test
+    void testRevalidatesExpiredCopiesWithEtag() throws Exception {
+        // Given
+        File spec = spec("api.yaml", "pet:\n  $ref: '" + url + "/schemas/tag.yaml'\n");
+        cache(0, false).localize(spec);
+
+        // When
+        cache(0, false).localize(spec);
+
+        // Then
+        assertEquals(2, requests.get());
+        assertEquals(1, notModified.get());
+    }
+
+    @Test
+    void testFreshCopiesAreNotRequestedAgain() throws Exception {
+        // Given
+        File spec = spec("api.yaml", "pet:\n  $ref: '" + url + "/schemas/tag.yaml'\n");
+        cache(3_600_000, false).localize(spec);
+
+        // When
+        cache(3_600_000, false).localize(spec);
+
+        // Then
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void testUsesCachedCopyWhenServerIsDown() throws Exception {
+        // Given
+        File spec = spec("api.yaml", "pet:\n  $ref: '" + url + "/schemas/tag.yaml'\n");
+        cache(0, false).localize(spec);
+        server.stop(0);
+
+        // When
+        RemoteRefCache.Localized localized = cache(0, false).localize(spec);
+
+        // Then
+        assertFalse(read(localized.getFile()).contains("http"));
+        verify(mockLog).warn(startsWith("Could not revalidate remote $ref"));
+    }
+
+    @Test
+    void testOfflineUsesOnlyCachedCopies() throws Exception {
+        // Given
+        File cached = spec("cached.yaml", "pet:\n  $ref: '" + url + "/schemas/tag.yaml'\n");
+        cache(0, false).localize(cached);
+        File missing = spec("missing.yaml", "pet:\n  $ref: '" + url + "/schemas/pet.yaml'\n");
+
+        // When
+        RemoteRefCache offline = cache(0, true);
+        RemoteRefCache.Localized localized = offline.localize(cached);
+        SpectralExecutionException e = assertThrows(SpectralExecutionException.class, () -> offline.localize(missing));
+
+        // Then
+        assertFalse(read(localized.getFile()).contains("http"));
+        assertTrue(e.getMessage().contains("offline"));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void testSlowFetchDoesNotBlockOtherSpecs() throws Exception {
+        // Given
+        documents.put("/schemas/slow.yaml", "type: string\n");
+        delays.put("/schemas/slow.yaml", 2_000L);
+        File slow = spec("slow.yaml", "pet:\n  $ref: '" + url + "/schemas/slow.yaml'\n");
+        File fast = spec("fast.yaml", "pet:\n  $ref: '" + url + "/schemas/tag.yaml'\n");
+        RemoteRefCache cache = cache(3_600_000, false);
+        CompletableFuture<RemoteRefCache.Localized> slowLocalized = CompletableFuture.supplyAsync(() -> {
+            try {
+                return cache.localize(slow);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+        while (requests.get() == 0) {
+            Thread.sleep(10);
+        }
+
+        // When
+        long start = System.nanoTime();
+        RemoteRefCache.Localized fastLocalized = cache.localize(fast);
+        long fastMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertTrue(fastMillis < 1_000, "took " + fastMillis + " ms");
+        assertFalse(read(fastLocalized.getFile()).contains("http"));
+        assertFalse(read(slowLocalized.get().getFile()).contains("http"));
+    }
+
+    @Test
+    void testDocumentIsFetchedOnceForConcurrentSpecs() throws Exception {
+        // Given
+        delays.put("/schemas/tag.yaml", 500L);
+        File first = spec("first.yaml", "pet:\n  $ref: '" + url + "/schemas/tag.yaml'\n");
+        File second = spec("second.yaml", "tag:\n  $ref: '" + url + "/schemas/tag.yaml'\n");
+        RemoteRefCache cache = cache(3_600_000, false);
+
+        // When
+        CompletableFuture<RemoteRefCache.Localized> firstLocalized = CompletableFuture.supplyAsync(() -> {
+            try {
+                return cache.localize(first);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+        RemoteRefCache.Localized secondLocalized = cache.localize(second);
+
+        // Then
+        assertFalse(read(firstLocalized.get().getFile()).contains("http"));
+        assertFalse(read(secondLocalized.getFile()).contains("http"));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void testMissingRemoteDocumentIsLeftToSpectral() throws Exception {
+        // Given
+        File spec = spec("api.yaml", "pet:\n  $ref: '" + url + "/schemas/missing.yaml'\n");
+
+        // When
+        RemoteRefCache.Localized localized = cache(3_600_000, false).localize(spec);
+
+        // Then
+        assertTrue(read(localized.getFile()).contains(url + "/schemas/missing.yaml"));
+        verify(mockLog).warn(startsWith("Could not fetch remote $ref"));
+    }
+
+    private RemoteRefCache cache(long ttlMillis, boolean offline) {
+        return new RemoteRefCache(new File(tempDir, "cache"), new File(tempDir, "work"), ttlMillis, offline, mockLog);
+    }
+
+    private File spec(String name, String content) throws IOException {
+        return write(name, content);
+    }
+
+    private File write(String name, String content) throws IOException {
+        File file = new File(tempDir, name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.nddipiazza.spectral;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReportFormats
+ */
+class ReportFormatsTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testWritesEachFormatToItsOwnFile() throws Exception {
+        // Given
+        File reportsDir = new File(tempDir, "reports");
+        ReportFormats reportFormats = new ReportFormats(Arrays.asList("text", "JSON", "junit", "sarif", "html"),
+                reportsDir, tempDir);
+
+        // When
+        List<File> written = reportFormats.write(results());
+
+        // Then
+        assertEquals(Arrays.asList(new File(reportsDir, "spectral.txt"), new File(reportsDir, "spectral.json"),
+                new File(reportsDir, "spectral-junit.xml"), new File(reportsDir, "spectral.sarif")), written);
+        assertEquals(new File(reportsDir, "html"), reportFormats.getHtmlDirectory());
+        assertEquals(2, read(new File(reportsDir, "spectral.txt")).split("\n").length);
+        assertEquals(2, SpectralFinding.parseJson(read(new File(reportsDir, "spectral.json"))).size());
+    }
+
+    @Test
+    void testRendersJunitSuitePerFile() throws Exception {
+        // Given
+        File reportsDir = new File(tempDir, "reports");
+        ReportFormats reportFormats = new ReportFormats(Collections.singletonList("junit"), reportsDir, tempDir);
+
+        // When
+        reportFormats.write(results());
+
+        // Then
+        String xml = read(new File(reportsDir, "spectral-junit.xml"));
+        assertTrue(xml.contains("<testsuite package=\"org.spectral\" time=\"0\" tests=\"2\" errors=\"0\" failures=\"2\""
+                + " name=\"specs/api.yaml\">"));
+        assertTrue(xml.contains("name=\"org.spectral.oas3-schema(/paths)\""));
+        assertTrue(xml.contains("<failure message=\"Bad &lt;type&gt;\" type=\"error\">"));
+        assertTrue(xml.contains("tests=\"0\" errors=\"0\" failures=\"0\" name=\"specs/clean.yaml\""));
+        assertFalse(xml.contains("unreadable.yaml"));
+    }
+
+    @Test
+    void testRendersSarifWithRelativeLocations() throws Exception {
+        // Given
+        File reportsDir = new File(tempDir, "reports");
+        ReportFormats reportFormats = new ReportFormats(Collections.singletonList("sarif"), reportsDir, tempDir);
+
+        // When
+        reportFormats.write(results());
+
+        // Then
+        JsonNode sarif = new ObjectMapper().readTree(new File(reportsDir, "spectral.sarif"));
+        assertEquals("2.1.0", sarif.path("version").asText());
+        JsonNode run = sarif.path("runs").get(0);
+        assertEquals("spectral", run.path("tool").path("driver").path("name").asText());
+        assertEquals(2, run.path("tool").path("driver").path("rules").size());
+        JsonNode result = run.path("results").get(1);
+        assertEquals("oas3-schema", result.path("ruleId").asText());
+        assertEquals("error", result.path("level").asText());
+        JsonNode location = result.path("locations").get(0).path("physicalLocation");
+        assertEquals("specs/api.yaml", location.path("artifactLocation").path("uri").asText());
+        assertEquals("SRCROOT", location.path("artifactLocation").path("uriBaseId").asText());
+        assertEquals(6, location.path("region").path("startLine").asInt());
+        assertEquals(3, location.path("region").path("startColumn").asInt());
+        assertEquals("warning", run.path("results").get(0).path("level").asText());
+    }
+
+    @Test
+    void testUnsupportedFormatFails() {
+        // When
+        SpectralExecutionException e = assertThrows(SpectralExecutionException.class,
+                () -> new ReportFormats(Arrays.asList("junit", "teamcity"), tempDir, tempDir));
+
+        // Then
+        assertTrue(e.getMessage().contains("teamcity"));
+    }
+
+    private Map<File, List<SpectralFinding>> results() {
+        File spec = new File(tempDir, "specs/api.yaml");
+        Map<File, List<SpectralFinding>> results = new LinkedHashMap<>();
+        results.put(spec, Arrays.asList(
+                new SpectralFinding("info-contact", "Missing contact", 1, Arrays.asList("info"), spec.getPath(), 2, 0),
+                new SpectralFinding("oas3-schema", "Bad <type>", 0, Arrays.asList("paths"), spec.getPath(), 5, 2)));
+        results.put(new File(tempDir, "specs/clean.yaml"), Collections.emptyList());
+        results.put(new File(tempDir, "specs/unreadable.yaml"), null);
+        return results;
+    }
+
+    private static String read(File file) throws Exception {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,121 @@
+package io.github.nddipiazza.spectral;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ResourceLimits
+ */
+class ResourceLimitsTest {
+
+    private static final long MB = 1024L * 1024L;
+
+    @TempDir
+    Path cgroupRoot;
+
+    @Test
+    void testDetectWithoutCgroupFilesUsesHostProcessors() {
+        // Given & When
+        ResourceLimits limits = ResourceLimits.detect(cgroupRoot, 8);
+
+        // Then
+        assertEquals(8, limits.getAvailableProcessors());
+        assertFalse(limits.hasMemoryLimit());
+    }
+
+    @Test
+    void testDetectCgroupV2Limits() throws IOException {
+        // Given - 2.5 CPUs and a 4 GB memory limit
+        write(cgroupRoot.resolve("cpu.max"), "250000 100000\n");
+        write(cgroupRoot.resolve("memory.max"), String.valueOf(4096 * MB));
+
+        // When
+        ResourceLimits limits = ResourceLimits.detect(cgroupRoot, 16);
+
+        // Then
+        assertEquals(3, limits.getAvailableProcessors());
+        assertEquals(4096 * MB, limits.getMemoryLimitBytes());
+    }
+
+    @Test
+    void testDetectCgroupV2Unlimited() throws IOException {
+        // Given
+        write(cgroupRoot.resolve("cpu.max"), "max 100000");
+        write(cgroupRoot.resolve("memory.max"), "max");
+
+        // When
+        ResourceLimits limits = ResourceLimits.detect(cgroupRoot, 4);
+
+        // Then
+        assertEquals(4, limits.getAvailableProcessors());
+        assertFalse(limits.hasMemoryLimit());
+    }
+
+    @Test
+    void testDetectCgroupV1Limits() throws IOException {
+        // Given
+        write(cgroupRoot.resolve("cpu").resolve("cpu.cfs_quota_us"), "200000");
+        write(cgroupRoot.resolve("cpu").resolve("cpu.cfs_period_us"), "100000");
+        write(cgroupRoot.resolve("memory").resolve("memory.limit_in_bytes"), String.valueOf(2048 * MB));
+
+        // When
+        ResourceLimits limits = ResourceLimits.detect(cgroupRoot, 8);
+
+        // Then
+        assertEquals(2, limits.getAvailableProcessors());
+        assertEquals(2048 * MB, limits.getMemoryLimitBytes());
+    }
+
+    @Test
+    void testDetectCgroupV1UnlimitedMemory() throws IOException {
+        // Given
+        write(cgroupRoot.resolve("memory").resolve("memory.limit_in_bytes"), "9223372036854771712");
+
+        // When
+        ResourceLimits limits = ResourceLimits.detect(cgroupRoot, 2);
+
+        // Then
+        assertFalse(limits.hasMemoryLimit());
+    }
+
+    @Test
+    void testRecommendedConcurrencyIsBoundByMemory() {
+        // Given - 4 GB container, 1 GB for the Maven JVM, ~700 MB per Spectral process
+        ResourceLimits limits = new ResourceLimits(16, 4096 * MB);
+
+        // When
+        int concurrency = limits.recommendedConcurrency(700 * MB, 1024 * MB);
+
+        // Then
+        assertEquals(4, concurrency);
+    }
+
+    @Test
+    void testRecommendedConcurrencyIsBoundByCpus() {
+        // Given
+        ResourceLimits limits = new ResourceLimits(2, -1);
+
+        // When & Then
+        assertEquals(2, limits.recommendedConcurrency(700 * MB, 1024 * MB));
+    }
+
+    @Test
+    void testRecommendedConcurrencyIsAtLeastOne() {
+        // Given - Less memory than a single process needs
+        ResourceLimits limits = new ResourceLimits(8, 512 * MB);
+
+        // When & Then
+        assertEquals(1, limits.recommendedConcurrency(700 * MB, 1024 * MB));
+    }
+
+    private void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes());
+    }
+}
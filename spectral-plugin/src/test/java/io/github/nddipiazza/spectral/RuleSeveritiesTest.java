@@ -0,0 +1,80 @@
+package io.github.nddipiazza.spectral;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RuleSeverities
+ */
+class RuleSeveritiesTest {
+
+    private static final String DEFINITION = "  my-rule:\n    given: $.info\n    then:\n      field: title\n      function: truthy\n";
+
+    @Test
+    void testParseSeverities() {
+        // Given
+        String ruleset = "extends: spectral:oas\nrules:\n  a: off\n  b: warn\n  c: false\n  d: true\n  e: 0\n" + DEFINITION;
+
+        // When
+        RuleSeverities severities = RuleSeverities.parse(ruleset);
+
+        // Then
+        assertEquals("off", severities.getSeverities().get("a"));
+        assertEquals("warn", severities.getSeverities().get("b"));
+        assertEquals("off", severities.getSeverities().get("c"));
+        assertEquals("default", severities.getSeverities().get("d"));
+        assertEquals("error", severities.getSeverities().get("e"));
+        assertEquals("default", severities.getSeverities().get("my-rule"));
+    }
+
+    @Test
+    void testRulesHashIgnoresSeverities() {
+        // Given
+        RuleSeverities before = RuleSeverities.parse("rules:\n  a: error\n" + DEFINITION + "    severity: error\n");
+        RuleSeverities after = RuleSeverities.parse("rules:\n  a: off\n" + DEFINITION + "    severity: hint\n");
+        RuleSeverities changed = RuleSeverities.parse("rules:\n  a: off\n" + DEFINITION.replace("title", "version"));
+
+        // When & Then
+        assertEquals(before.getRulesHash(), after.getRulesHash());
+        assertNotEquals(before.getRulesHash(), changed.getRulesHash());
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void testAdjustDisablesAndResets() {
+        // Given
+        RuleSeverities before = RuleSeverities.parse("rules:\n  a: error\n  b: warn\n");
+        RuleSeverities after = RuleSeverities.parse("rules:\n  a: hint\n  b: off\n");
+        List<SpectralFinding> findings = Arrays.asList(finding("a", 0), finding("b", 1), finding("c", 1));
+
+        // When
+        List<SpectralFinding> adjusted = after.adjust(findings, before);
+
+        // Then
+        assertEquals(2, adjusted.size());
+        assertEquals(SpectralFinding.SEVERITY_HINT, adjusted.get(0).getSeverity());
+        assertEquals("c", adjusted.get(1).getCode());
+    }
+
+    @Test
+    void testAdjustIsNotPossibleWhenRuleIsEnabledOrReset() {
+        // Given
+        RuleSeverities off = RuleSeverities.parse("rules:\n  a: off\n");
+        RuleSeverities warn = RuleSeverities.parse("rules:\n  a: warn\n");
+        RuleSeverities unset = RuleSeverities.parse("rules: {}\n");
+        List<SpectralFinding> findings = Arrays.asList(finding("a", 1));
+
+        // When & Then
+        assertNull(warn.adjust(findings, off));
+        assertNull(unset.adjust(findings, warn));
+        assertNotNull(off.adjust(findings, unset));
+    }
+
+    private static SpectralFinding finding(String code, int severity) {
+        return new SpectralFinding(code, "message", severity, null, "api.yaml", 0, 0);
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.nddipiazza.spectral;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ShardResult
+ */
+class ShardResultTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testWriteAndReadInAnotherWorkspace() throws Exception {
+        // Given
+        File workspace = new File(tempDir, "node-1/specs");
+        File spec = new File(workspace, "v1/api.yaml");
+        SpectralFinding finding = new SpectralFinding("info-contact", "Missing contact", 1,
+                Arrays.asList("info"), spec.getAbsolutePath(), 3, 2);
+        ShardResult result = new ShardResult(2, 3, Arrays.asList(
+                new ShardResult.FileResult(spec, 1, Collections.singletonList(finding)),
+                new ShardResult.FileResult(new File(workspace, "v2/api.yaml"), 0, null)));
+        File resultFile = new File(tempDir, "shards/" + ShardResult.fileName(Shard.parse("2/3", null)));
+
+        // When
+        result.write(resultFile, workspace);
+        File otherWorkspace = new File(tempDir, "node-2/specs");
+        ShardResult read = ShardResult.read(resultFile, otherWorkspace);
+
+        // Then
+        assertEquals("shard-2-of-3.json", resultFile.getName());
+        assertFalse(new String(Files.readAllBytes(resultFile.toPath())).contains("node-1"));
+        assertEquals(2, read.getIndex());
+        assertEquals(3, read.getTotal());
+        assertEquals(new File(otherWorkspace, "v1/api.yaml"), read.getFiles().get(0).getFile());
+        assertEquals(1, read.getFiles().get(0).getViolationCount());
+        SpectralFinding readFinding = read.getFiles().get(0).getFindings().get(0);
+        assertEquals(new File(otherWorkspace, "v1/api.yaml").getPath(), readFinding.getSource());
+        assertEquals("info-contact", readFinding.getCode());
+        assertEquals(3, readFinding.getLine());
+        assertNull(read.getFiles().get(1).getFindings());
+    }
+
+    @Test
+    void testReadRejectsOtherFiles() throws Exception {
+        // Given
+        File file = new File(tempDir, "other.json");
+        Files.write(file.toPath(), "{\"name\": \"x\"}".getBytes());
+
+        // When & Then
+        assertThrows(java.io.IOException.class, () -> ShardResult.read(file, tempDir));
+    }
+}
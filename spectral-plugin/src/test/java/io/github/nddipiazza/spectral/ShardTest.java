@@ -0,0 +1,117 @@
+package io.github.nddipiazza.spectral;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Shard
+ */
+class ShardTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testParse() {
+        // When
+        Shard shard = Shard.parse(" 2/4 ", null);
+
+        // Then
+        assertEquals(2, shard.getIndex());
+        assertEquals(4, shard.getTotal());
+        assertEquals(Shard.BALANCE_HASH, shard.getBalance());
+        assertTrue(shard.isStreaming());
+        assertEquals("2/4", shard.toString());
+    }
+
+    @Test
+    void testParseRejectsInvalidShards() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> Shard.parse("0/4", "hash"));
+        assertThrows(IllegalArgumentException.class, () -> Shard.parse("5/4", "hash"));
+        assertThrows(IllegalArgumentException.class, () -> Shard.parse("two", "hash"));
+        assertThrows(IllegalArgumentException.class, () -> Shard.parse("1/2", "random"));
+    }
+
+    @Test
+    void testHashShardsPartitionFiles() throws Exception {
+        // Given
+        List<File> files = createFiles(50);
+
+        // When & Then
+        assertPartition(files, "hash", null);
+    }
+
+    @Test
+    void testSizeShardsPartitionAndBalanceFiles() throws Exception {
+        // Given
+        List<File> files = createFiles(30);
+
+        // When
+        assertPartition(files, "size", null);
+        long[] sizes = new long[3];
+        for (int index = 1; index <= 3; index++) {
+            for (File file : Shard.parse(index + "/3", "size").select(files, tempDir, null)) {
+                sizes[index - 1] += file.length();
+            }
+        }
+
+        // Then
+        long max = Math.max(sizes[0], Math.max(sizes[1], sizes[2]));
+        long min = Math.min(sizes[0], Math.min(sizes[1], sizes[2]));
+        assertTrue(max - min <= 100, "shards should carry similar sizes: " + max + " vs " + min);
+    }
+
+    @Test
+    void testDurationShardsUseTimings() throws Exception {
+        // Given
+        List<File> files = createFiles(4);
+        LintTimings timings = new LintTimings(tempDir);
+        timings.put(files.get(0), 1000);
+        timings.put(files.get(1), 10);
+        timings.put(files.get(2), 10);
+        timings.put(files.get(3), 10);
+
+        // When
+        List<File> first = Shard.parse("1/2", "duration").select(files, tempDir, timings);
+        List<File> second = Shard.parse("2/2", "duration").select(files, tempDir, timings);
+
+        // Then
+        assertEquals(1, first.size());
+        assertEquals(files.get(0), first.get(0));
+        assertEquals(3, second.size());
+    }
+
+    private void assertPartition(List<File> files, String balance, LintTimings timings) {
+        Set<File> union = new HashSet<>();
+        int total = 0;
+        for (int index = 1; index <= 3; index++) {
+            List<File> selected = Shard.parse(index + "/3", balance).select(files, tempDir, timings);
+            // Selecting again gives the same files
+            assertEquals(selected, Shard.parse(index + "/3", balance).select(files, tempDir, timings));
+            union.addAll(selected);
+            total += selected.size();
+        }
+        assertEquals(files.size(), total);
+        assertEquals(new HashSet<>(files), union);
+    }
+
+    private List<File> createFiles(int count) throws Exception {
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            File file = new File(tempDir, "spec-" + i + ".yaml");
+            Files.write(file.toPath(), new byte[100 + i * 37]);
+            files.add(file);
+        }
+        return files;
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.nddipiazza.spectral;
+
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SharedResultCache
+ */
+class SharedResultCacheTest {
+
+    @Mock
+    private Log mockLog;
+
+    @TempDir
+    File tempDir;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testResultFromOneWorkspaceIsReusedInAnother() throws Exception {
+        // Given
+        SharedResultCache cache = new SharedResultCache(new DirectoryResultCacheBackend(new File(tempDir, "cache"), 1 << 20), mockLog);
+        File first = new File(tempDir, "agent-1/specs/api.yaml");
+        File second = new File(tempDir, "agent-2/checkout/specs/api.yaml");
+        SpectralFinding own = new SpectralFinding("oas3-schema", "Invalid", 0, Arrays.asList("info"),
+                first.getAbsolutePath(), 1, 0);
+        SpectralFinding referenced = new SpectralFinding("info-contact", "Missing", 1, null,
+                new File(tempDir, "agent-1/common/info.yaml").getAbsolutePath(), 2, 0);
+        String key = SharedResultCache.key("content", "ruleset", "cli:6.15.0");
+
+        // When
+        cache.put(first, key, new SpectralResult(2, "raw", Arrays.asList(own, referenced)));
+        SpectralResult result = cache.get(second, key, "json");
+
+        // Then
+        assertNotNull(result);
+        assertEquals(2, result.getViolationCount());
+        assertEquals(second.getAbsolutePath(), result.getFindings().get(0).getSource());
+        assertEquals(new File(tempDir, "agent-2/checkout/common/info.yaml").getAbsolutePath(),
+                result.getFindings().get(1).getSource());
+        assertEquals(2, SpectralFinding.parseJson(result.getOutput()).size());
+        assertNull(cache.get(second, SharedResultCache.key("content", "ruleset", "cli:6.16.0"), "json"));
+    }
+
+    @Test
+    void testBackendFailureDisablesCache() throws Exception {
+        // Given
+        ResultCacheBackend backend = mock(ResultCacheBackend.class);
+        when(backend.get(anyString())).thenThrow(new IOException("connection refused"));
+        SharedResultCache cache = new SharedResultCache(backend, mockLog);
+        File spec = new File(tempDir, "api.yaml");
+
+        // When
+        assertNull(cache.get(spec, "a", "text"));
+        assertNull(cache.get(spec, "b", "text"));
+        cache.put(spec, "a", new SpectralResult(0, "", Arrays.asList()));
+
+        // Then
+        verify(backend, times(1)).get(anyString());
+        verify(backend, times(0)).put(anyString(), any());
+        verify(mockLog).warn(startsWith("Shared result cache"));
+    }
+
+    @Test
+    void testUnstructuredResultsAreNotShared() throws Exception {
+        // Given
+        ResultCacheBackend backend = mock(ResultCacheBackend.class);
+        SharedResultCache cache = new SharedResultCache(backend, mockLog);
+
+        // When
+        cache.put(new File(tempDir, "api.yaml"), "a", new SpectralResult(1, "raw output"));
+
+        // Then
+        verify(backend, times(0)).put(anyString(), any());
+        assertTrue(SharedResultCache.supports("text"));
+        assertFalse(SharedResultCache.supports("junit"));
+    }
+
+    @Test
+    void testPortableRulesetHashIgnoresCheckoutLocation() throws Exception {
+        // Given
+        File first = writeRuleset(new File(tempDir, "one"));
+        File second = writeRuleset(new File(tempDir, "two"));
+
+        // When
+        RulesetBundle a = RulesetBundle.resolve(first.getAbsolutePath());
+        RulesetBundle b = RulesetBundle.resolve(second.getAbsolutePath());
+
+        // Then
+        assertEquals(a.getPortableHash(), b.getPortableHash());
+        assertNotEquals(a.getHash(), b.getHash());
+    }
+
+    private File writeRuleset(File directory) throws IOException {
+        new File(directory, "rules").mkdirs();
+        Files.write(new File(directory, "rules/base.yaml").toPath(), "rules: {}".getBytes());
+        File ruleset = new File(directory, "rules/ruleset.yaml");
+        Files.write(ruleset.toPath(), "extends: ['./base.yaml']\nrules:\n  info-contact: warn\n".getBytes());
+        return ruleset;
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.nddipiazza.spectral;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SpecBundler
+ */
+class SpecBundlerTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testSpecWithoutLocalRefsIsNotBundled() throws Exception {
+        // Given
+        File spec = write("api.yaml", "openapi: 3.0.0\ninfo:\n  title: API\n");
+
+        // When & Then
+        assertNull(new SpecBundler(new File(tempDir, "bundles")).bundle(spec));
+    }
+
+    @Test
+    void testInlinesLocalRefsOnce() throws Exception {
+        // Given
+        write("common/schemas.yaml",
+                "Pet:\n"
+                + "  type: object\n"
+                + "  properties:\n"
+                + "    owner:\n"
+                + "      $ref: '#/Owner'\n"
+                + "    parent:\n"
+                + "      $ref: '#/Pet'\n"
+                + "Owner:\n"
+                + "  type: string\n");
+        File spec = write("api.yaml",
+                "openapi: 3.0.0\n"
+                + "paths: {}\n"
+                + "components:\n"
+                + "  schemas:\n"
+                + "    Pet:\n"
+                + "      $ref: './common/schemas.yaml#/Pet'\n"
+                + "    Pets:\n"
+                + "      type: array\n"
+                + "      items:\n"
+                + "        $ref: 'common/schemas.yaml#/Pet'\n"
+                + "    Local:\n"
+                + "      $ref: '#/components/schemas/Pets'\n");
+
+        // When
+        SpecBundler.Bundle bundle = new SpecBundler(new File(tempDir, "bundles")).bundle(spec);
+
+        // Then
+        assertEquals("api.yaml", bundle.getFile().getName());
+        JsonNode bundled = new ObjectMapper().readTree(bundle.getFile());
+        JsonNode pet = bundled.at("/components/schemas/Pet");
+        assertEquals("object", pet.path("type").asText());
+        assertEquals("string", pet.at("/properties/owner/type").asText());
+        assertEquals("#/components/schemas/Pet", pet.at("/properties/parent/$ref").asText());
+        assertEquals("#/components/schemas/Pet", bundled.at("/components/schemas/Pets/items/$ref").asText());
+        assertEquals("#/components/schemas/Pets", bundled.at("/components/schemas/Local/$ref").asText());
+    }
+
+    @Test
+    void testRemapsFindingsToOriginalFiles() throws Exception {
+        // Given
+        File schemas = write("common/schemas.yaml",
+                "Pet:\n"
+                + "  type: object\n"
+                + "  properties:\n"
+                + "    name:\n"
+                + "      type: strin\n");
+        File spec = write("api.yaml",
+                "openapi: 3.0.0\n"
+                + "info:\n"
+                + "  title: API\n"
+                + "components:\n"
+                + "  schemas:\n"
+                + "    Pet:\n"
+                + "      $ref: './common/schemas.yaml#/Pet'\n");
+        SpecBundler.Bundle bundle = new SpecBundler(new File(tempDir, "bundles")).bundle(spec);
+        String bundlePath = bundle.getFile().getAbsolutePath();
+        SpectralFinding inFragment = new SpectralFinding("oas3-schema", "Invalid type", 0,
+                Arrays.asList("components", "schemas", "Pet", "properties", "name", "type"), bundlePath, 40, 8);
+        SpectralFinding inRoot = new SpectralFinding("info-contact", "Missing contact", 1,
+                Collections.singletonList("info"), bundlePath, 2, 2);
+
+        // When
+        SpectralResult result = bundle.remap(new SpectralResult(2, "raw", Arrays.asList(inFragment, inRoot)), "text");
+
+        // Then
+        SpectralFinding mapped = result.getFindings().get(0);
+        assertEquals(schemas.getAbsolutePath(), mapped.getSource());
+        assertEquals(Arrays.asList("Pet", "properties", "name", "type"), mapped.getPath());
+        assertEquals(4, mapped.getLine());
+        assertEquals(6, mapped.getCharacter());
+        SpectralFinding root = result.getFindings().get(1);
+        assertEquals(spec.getAbsolutePath(), root.getSource());
+        assertEquals(1, root.getLine());
+        assertEquals(2, result.getViolationCount());
+        assertTrue(result.getOutput().contains(schemas.getAbsolutePath() + ":5:7"), result.getOutput());
+    }
+
+    private File write(String path, String content) throws Exception {
+        File file = new File(tempDir, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes());
+        return file;
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.nddipiazza.spectral;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SpecDependencies
+ */
+class SpecDependenciesTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testFindsTransitiveLocalReferences() throws Exception {
+        // Given
+        File spec = write("api.yaml", "paths:\n  /pets:\n    $ref: './paths/pets.yaml'\n");
+        File pets = write("paths/pets.yaml", "get:\n  schema:\n    $ref: \"../schemas/pet.json#/Pet\"\n");
+        File pet = write("schemas/pet.json", "{\"Pet\": {\"type\": \"object\"}}");
+
+        // When
+        List<File> references = SpecDependencies.localReferences(spec);
+
+        // Then
+        assertEquals(Arrays.asList(pets.getAbsoluteFile(), pet.getAbsoluteFile()), references);
+    }
+
+    @Test
+    void testSkipsInternalRemoteAndMissingReferences() throws Exception {
+        // Given
+        File spec = write("api.yaml", "a:\n  $ref: '#/components/schemas/Pet'\n"
+                + "b:\n  $ref: 'https://example.com/pet.yaml'\n"
+                + "c:\n  $ref: './missing.yaml'\n");
+
+        // When & Then
+        assertTrue(SpecDependencies.localReferences(spec).isEmpty());
+    }
+
+    @Test
+    void testDetectsRemoteReferencesThroughLocalFiles() throws Exception {
+        // Given
+        File spec = write("api.yaml", "a:\n  $ref: './common.yaml'\n");
+        write("common.yaml", "b:\n  $ref: 'HTTPS://example.com/pet.yaml#/Pet'\n");
+        File local = write("local.yaml", "c:\n  $ref: '#/components/schemas/Pet'\n");
+
+        // When & Then
+        assertTrue(SpecDependencies.hasRemoteReferences(spec));
+        assertFalse(SpecDependencies.hasRemoteReferences(local));
+    }
+
+    @Test
+    void testHandlesCyclicReferences() throws Exception {
+        // Given
+        File spec = write("a.yaml", "x:\n  $ref: './b.yaml'\n");
+        File other = write("b.yaml", "y:\n  $ref: './a.yaml'\n");
+
+        // When & Then
+        assertEquals(Arrays.asList(other.getAbsoluteFile()), SpecDependencies.localReferences(spec));
+    }
+
+    private File write(String path, String content) throws Exception {
+        File file = new File(tempDir, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes());
+        return file;
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.nddipiazza.spectral;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SpecFileFilter
+ */
+class SpecFileFilterTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testNoPatternsAcceptsEverything() {
+        // Given
+        SpecFileFilter filter = new SpecFileFilter(tempDir, null, Collections.emptyList());
+
+        // When & Then
+        assertTrue(filter.isEmpty());
+        assertTrue(filter.accepts(new File(tempDir, "any/file.json")));
+    }
+
+    @Test
+    void testIncludes() {
+        // Given
+        SpecFileFilter filter = new SpecFileFilter(tempDir, Arrays.asList("**/*.yaml"), null);
+
+        // When & Then
+        assertTrue(filter.accepts(new File(tempDir, "api.yaml")));
+        assertTrue(filter.accepts(new File(tempDir, "v1/api.yaml")));
+        assertFalse(filter.accepts(new File(tempDir, "v1/api.json")));
+    }
+
+    @Test
+    void testExcludesWinOverIncludes() {
+        // Given
+        SpecFileFilter filter = new SpecFileFilter(tempDir, Arrays.asList("**/*.yaml"), Arrays.asList("legacy/**"));
+
+        // When & Then
+        assertTrue(filter.accepts(new File(tempDir, "v2/api.yaml")));
+        assertFalse(filter.accepts(new File(tempDir, "legacy/old/api.yaml")));
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.nddipiazza.spectral;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the start and await goals
+ */
+class SpectralAwaitMojoTest {
+
+    @Mock
+    private Log mockLog;
+
+    @TempDir
+    File tempDir;
+
+    private MavenProject project;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        project = new MavenProject();
+        project.getModel().setBuild(new Build());
+        project.getBuild().setDirectory(tempDir.getAbsolutePath());
+    }
+
+    @Test
+    void testStartHandsRunningValidationToAwait() throws Exception {
+        // Given
+        SpectralStartMojo start = configure(new SpectralStartMojo());
+
+        // When
+        start.execute();
+
+        // Then
+        assertTrue(project.getContextValue(SpectralStartMojo.RESULT_CONTEXT_KEY) instanceof CompletableFuture);
+        verify(mockLog).info("Starting Spectral OpenAPI validation in the background...");
+    }
+
+    @Test
+    void testAwaitFailsOnViolations() throws Exception {
+        // Given
+        SpectralAwaitMojo await = configure(new SpectralAwaitMojo());
+        project.setContextValue(SpectralStartMojo.RESULT_CONTEXT_KEY,
+                CompletableFuture.completedFuture(new SpectralResult(3, "output")));
+
+        // When
+        MojoFailureException e = assertThrows(MojoFailureException.class, await::execute);
+
+        // Then
+        assertTrue(e.getMessage().contains("3 violations"));
+        assertNull(project.getContextValue(SpectralStartMojo.RESULT_CONTEXT_KEY));
+        verify(mockLog).info("Waiting for background Spectral validation...");
+    }
+
+    @Test
+    void testAwaitWarnsOnViolationsWhenNotFailing() throws Exception {
+        // Given
+        SpectralAwaitMojo await = configure(new SpectralAwaitMojo());
+        setField(await, "failOnViolations", false);
+        project.setContextValue(SpectralStartMojo.RESULT_CONTEXT_KEY,
+                CompletableFuture.completedFuture(new SpectralResult(2, "output")));
+
+        // When
+        await.execute();
+
+        // Then
+        verify(mockLog).warn("Spectral validation completed with 2 violations.");
+    }
+
+    @Test
+    void testAwaitReportsBackgroundFailure() throws Exception {
+        // Given
+        SpectralAwaitMojo await = configure(new SpectralAwaitMojo());
+        CompletableFuture<SpectralResult> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new SpectralExecutionException("boom"));
+        project.setContextValue(SpectralStartMojo.RESULT_CONTEXT_KEY, failed);
+
+        // When
+        MojoExecutionException e = assertThrows(MojoExecutionException.class, await::execute);
+
+        // Then
+        assertEquals("boom", e.getCause().getMessage());
+    }
+
+    @Test
+    void testAwaitValidatesInForegroundWithoutStart() throws Exception {
+        // Given
+        SpectralAwaitMojo await = configure(new SpectralAwaitMojo());
+
+        // When & Then
+        assertThrows(MojoExecutionException.class, await::execute);
+        verify(mockLog).warn("No background Spectral validation was started for this project, validating now");
+    }
+
+    private <T extends AbstractSpectralMojo> T configure(T mojo) throws Exception {
+        mojo.setLog(mockLog);
+        setField(mojo, "project", project);
+        setField(mojo, "inputDirectory", tempDir);
+        setField(mojo, "format", "text");
+        setField(mojo, "failOnViolations", true);
+        return mojo;
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        Field field = AbstractSpectralMojo.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.nddipiazza.spectral;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SpectralBaseline
+ */
+class SpectralBaselineTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testEmptyBaseline() {
+        // Given
+        SpectralBaseline baseline = SpectralBaseline.empty();
+
+        // When & Then
+        assertEquals(0, baseline.size());
+        assertFalse(baseline.contains("api.yaml\trule\t/info\tabc"));
+    }
+
+    @Test
+    void testContains() {
+        // Given
+        SpectralBaseline baseline = SpectralBaseline.of(Arrays.asList("a\trule\t/info\t1", "b\trule\t/info\t2"));
+
+        // When & Then
+        assertEquals(2, baseline.size());
+        assertTrue(baseline.contains("a\trule\t/info\t1"));
+        assertTrue(baseline.contains("b\trule\t/info\t2"));
+        assertFalse(baseline.contains("a\trule\t/info\t2"));
+    }
+
+    @Test
+    void testDuplicatesAreCountedOnce() {
+        // Given
+        SpectralBaseline baseline = SpectralBaseline.of(Arrays.asList("x", "x", "y"));
+
+        // When & Then
+        assertEquals(2, baseline.size());
+    }
+
+    @Test
+    void testLargeBaseline() {
+        // Given
+        List<String> fingerprints = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            fingerprints.add("spec" + (i % 100) + ".yaml\trule-" + (i % 37) + "\t/paths/" + i + "\t" + Integer.toHexString(i));
+        }
+
+        // When
+        SpectralBaseline baseline = SpectralBaseline.of(fingerprints);
+
+        // Then
+        assertEquals(50_000, baseline.size());
+        for (String fingerprint : fingerprints) {
+            assertTrue(baseline.contains(fingerprint));
+        }
+        assertFalse(baseline.contains("spec1.yaml\trule-1\t/paths/50001\tc351"));
+    }
+
+    @Test
+    void testWriteAndLoad() throws Exception {
+        // Given
+        File file = new File(tempDir, "nested/spectral.baseline");
+
+        // When
+        SpectralBaseline.write(file, Arrays.asList("b\trule\t/info\t2", "a\trule\t/info\t1"));
+        SpectralBaseline baseline = SpectralBaseline.load(file);
+
+        // Then
+        List<String> lines = Files.readAllLines(file.toPath());
+        assertTrue(lines.get(0).startsWith("#"));
+        assertEquals("a\trule\t/info\t1", lines.get(2));
+        assertEquals("b\trule\t/info\t2", lines.get(3));
+        assertEquals(2, baseline.size());
+        assertTrue(baseline.contains("a\trule\t/info\t1"));
+    }
+
+    @Test
+    void testWriteEmptyBaseline() throws Exception {
+        // Given
+        File file = new File(tempDir, "spectral.baseline");
+
+        // When
+        SpectralBaseline.write(file, Collections.emptyList());
+
+        // Then
+        assertEquals(0, SpectralBaseline.load(file).size());
+    }
+}
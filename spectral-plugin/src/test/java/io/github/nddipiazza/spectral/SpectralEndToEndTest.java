@@ -0,0 +1,615 @@
+package io.github.nddipiazza.spectral;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.maven.model.Build;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.reflect.Field;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * End-to-end tests of the process path, running the validate goal against a stub Spectral executable.
+ *
+ * <p>The scaling test is skipped unless {@code spectral.scaling.specs} is set, e.g.
+ * {@code mvn test -Dtest=SpectralEndToEndTest -Dspectral.scaling.specs=10000}. It lints that many synthetic specs
+ * and writes throughput, peak heap and process counts to {@code target/spectral-scaling.properties}. The stub's
+ * latency and findings per file and the concurrency can be set with {@code spectral.scaling.latencyMillis},
+ * {@code spectral.scaling.findings} and {@code spectral.scaling.concurrency}.</p>
+ */
+@DisabledOnOs(OS.WINDOWS)
+class SpectralEndToEndTest {
+
+    @Mock
+    private Log mockLog;
+
+    @TempDir
+    File tempDir;
+
+    private File specsDir;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        specsDir = new File(tempDir, "specs");
+        specsDir.mkdirs();
+    }
+
+    @Test
+    void testValidateRunsProcessesWithinConcurrency() throws Exception {
+        // Given
+        createSpecs(40);
+        StubSpectral stub = new StubSpectral(new File(tempDir, "stub")).latencyMillis(50).findings(2);
+        File outputFile = new File(tempDir, "spectral.txt");
+        SpectralValidateMojo mojo = validateMojo(stub.create(), mockLog);
+        setField(mojo, "concurrency", 4);
+        setField(mojo, "outputFile", outputFile);
+
+        // When
+        mojo.execute();
+
+        // Then
+        assertEquals(40, stub.startedCount());
+        int maxConcurrent = stub.maxConcurrent();
+        assertTrue(maxConcurrent > 1 && maxConcurrent <= 4, "ran " + maxConcurrent + " processes at once");
+        assertEquals(80, Files.readAllLines(outputFile.toPath()).stream()
+                .filter(line -> line.contains("stub-rule")).count());
+        verify(mockLog).warn("Spectral validation completed with 80 violations.");
+    }
+
+    @Test
+    void testLargeOutputIsCapturedCompletely() throws Exception {
+        // Given
+        createSpecs(3);
+        StubSpectral stub = new StubSpectral(new File(tempDir, "stub")).outputBytes(2 * 1024 * 1024);
+        File outputFile = new File(tempDir, "spectral.txt");
+        SpectralValidateMojo mojo = validateMojo(stub.create(), mockLog);
+        setField(mojo, "outputFile", outputFile);
+
+        // When
+        mojo.execute();
+
+        // Then
+        assertTrue(outputFile.length() >= 3L * 2 * 1024 * 1024);
+        verify(mockLog).info("Spectral validation completed successfully with no violations.");
+    }
+
+    @Test
+    void testSummaryConsoleKeepsFullOutputInOutputFile() throws Exception {
+        // Given
+        createSpecs(3);
+        StubSpectral stub = new StubSpectral(new File(tempDir, "stub")).findings(4);
+        File outputFile = new File(tempDir, "spectral.txt");
+        SpectralValidateMojo mojo = validateMojo(stub.create(), mockLog);
+        setField(mojo, "outputFile", outputFile);
+        setField(mojo, "console", "summary");
+        setField(mojo, "consoleTopFindings", 1);
+
+        // When
+        mojo.execute();
+
+        // Then
+        assertEquals(12, Files.readAllLines(outputFile.toPath()).stream()
+                .filter(line -> line.contains("stub-rule")).count());
+        verify(mockLog, times(3)).info("  ... and 3 more");
+        verify(mockLog).info("Spectral summary: 12 error in 3 file(s)");
+        verify(mockLog, never()).info("Spectral output:");
+    }
+
+    @Test
+    void testFormatsAreRenderedFromOneLint() throws Exception {
+        // Given
+        createSpecs(3);
+        StubSpectral stub = new StubSpectral(new File(tempDir, "stub")).findings(2);
+        File reportsDir = new File(tempDir, "reports");
+        SpectralValidateMojo mojo = validateMojo(stub.create(), mockLog);
+        setField(mojo, "formats", Arrays.asList("junit", "sarif", "json", "html"));
+        setField(mojo, "reportsDirectory", reportsDir);
+
+        // When
+        mojo.execute();
+
+        // Then
+        assertEquals(3, stub.startedCount());
+        assertTrue(new File(reportsDir, "spectral-junit.xml").isFile());
+        assertTrue(new File(reportsDir, "spectral.sarif").isFile());
+        assertEquals(6, SpectralFinding.parseJson(new String(
+                Files.readAllBytes(new File(reportsDir, "spectral.json").toPath()))).size());
+        assertTrue(new File(reportsDir, "html/index.html").isFile());
+    }
+
+    @Test
+    void testRemoteRefsAreServedFromCache() throws Exception {
+        // Given
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        byte[] schema = "type: string\n".getBytes();
+        server.createContext("/schemas/", exchange -> {
+            exchange.sendResponseHeaders(200, schema.length);
+            exchange.getResponseBody().write(schema);
+            exchange.close();
+        });
+        server.start();
+        File spec = new File(specsDir, "api.yaml");
+        Files.write(spec.toPath(), ("openapi: 3.0.0\nname:\n  $ref: 'http://127.0.0.1:" + server.getAddress().getPort()
+                + "/schemas/name.yaml'\n").getBytes());
+        StubSpectral stub = new StubSpectral(new File(tempDir, "stub")).findings(1);
+        File outputFile = new File(tempDir, "spectral.txt");
+        SpectralValidateMojo mojo = validateMojo(stub.create(), mockLog);
+        setField(mojo, "outputFile", outputFile);
+        setField(mojo, "cacheRemoteRefs", true);
+        setField(mojo, "remoteRefCacheDirectory", new File(tempDir, "remote-refs"));
+        setField(mojo, "remoteRefTtl", 3600L);
+
+        // When
+        try {
+            mojo.execute();
+        } finally {
+            server.stop(0);
+        }
+
+        // Then
+        assertEquals(spec.getPath() + ":2:1 error stub-rule Stub finding 1",
+                Files.readAllLines(outputFile.toPath()).get(0));
+        assertEquals(1, new File(tempDir, "remote-refs").list().length);
+    }
+
+    @Test
+    void testCleanUnchangedFilesAreNotLintedAgain() throws Exception {
+        // Given
+        createSpecs(3);
+        StubSpectral stub = new StubSpectral(new File(tempDir, "stub"));
+        File executable = stub.create();
+        File outputFile = new File(tempDir, "spectral.txt");
+        SpectralValidateMojo first = validateMojo(executable, mockLog);
+        setField(first, "outputFile", outputFile);
+        setField(first, "skipUnchanged", true);
+        first.execute();
+        byte[] firstOutput = Files.readAllBytes(outputFile.toPath());
+
+        // When
+        SpectralValidateMojo second = validateMojo(executable, mockLog);
+        setField(second, "outputFile", outputFile);
+        setField(second, "skipUnchanged", true);
+        second.execute();
+        byte[] secondOutput = Files.readAllBytes(outputFile.toPath());
+        Files.write(new File(specsDir, "group-1/api-1.yaml").toPath(), "openapi: 3.0.1\n".getBytes());
+        SpectralValidateMojo third = validateMojo(executable, mockLog);
+        setField(third, "skipUnchanged", true);
+        third.execute();
+
+        // Then
+        assertArrayEquals(firstOutput, secondOutput);
+        verify(mockLog).info("All 3 OpenAPI file(s) are clean and unchanged since the last run, skipping Spectral");
+        assertEquals(4, stub.startedCount(), "only the edited file is linted again");
+    }
+
+    @Test
+    void testCleanSpecIsLintedAgainWhenRemoteDocumentChanges() throws Exception {
+        // Given
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        String[] schema = {"type: string\n"};
+        server.createContext("/schemas/", exchange -> {
+            byte[] body = schema[0].getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        Files.write(new File(specsDir, "api.yaml").toPath(), ("openapi: 3.0.0\nname:\n  $ref: 'http://127.0.0.1:"
+                + server.getAddress().getPort() + "/schemas/name.yaml'\n").getBytes());
+        StubSpectral stub = new StubSpectral(new File(tempDir, "stub"));
+        File executable = stub.create();
+
+        // When
+        try {
+            for (int run = 0; run < 2; run++) {
+                SpectralValidateMojo mojo = validateMojo(executable, mockLog);
+                setField(mojo, "skipUnchanged", true);
+                setField(mojo, "cacheRemoteRefs", true);
+                setField(mojo, "remoteRefCacheDirectory", new File(tempDir, "remote-refs"));
+                setField(mojo, "remoteRefTtl", 0L);
+                mojo.execute();
+                schema[0] = "type: integer\n";
+            }
+        } finally {
+            server.stop(0);
+        }
+
+        // Then
+        assertEquals(2, stub.startedCount());
+        verify(mockLog, never()).info(startsWith("All 1 OpenAPI file(s) are clean and unchanged"));
+    }
+
+    @Test
+    void testPlanUsesCleanFilesAndSharedCache() throws Exception {
+        // Given
+        createSpecs(3);
+        StubSpectral stub = new StubSpectral(new File(tempDir, "stub"));
+        File executable = stub.create();
+        File cacheDir = new File(tempDir, "shared-cache");
+        SpectralValidateMojo validate = validateMojo(executable, mockLog);
+        setField(validate, "skipUnchanged", true);
+        setField(validate, "resultCache", cacheDir.getAbsolutePath());
+        setField(validate, "resultCacheMaxSize", 16L);
+        validate.execute();
+        File edited = new File(specsDir, "group-1/api-1.yaml");
+        Files.write(edited.toPath(), "openapi: 3.0.1\n".getBytes());
+
+        // When
+        LintPlan unchanged = plan(executable, true, cacheDir);
+        LintPlan shared = plan(executable, false, cacheDir);
+
+        // Then
+        assertEquals(2, unchanged.count(LintPlan.Action.SKIPPED), "clean files are skipped as validate would");
+        assertEquals(2, shared.count(LintPlan.Action.CACHED), "shared results are reused as validate would");
+        for (LintPlan plan : Arrays.asList(unchanged, shared)) {
+            assertEquals(1, plan.count(LintPlan.Action.LINT));
+            assertTrue(plan.getEntries().stream().anyMatch(entry -> entry.getFile().equals(edited)
+                    && entry.getAction() == LintPlan.Action.LINT));
+        }
+        assertEquals(3, stub.startedCount(), "planning lints nothing");
+    }
+
+    @Test
+    void testChangedFilesAreLintedFirst() throws Exception {
+        // Given
+        createSpecs(6);
+        File edited = editSpec("group-4/api-4.yaml");
+        StubSpectral stub = new StubSpectral(new File(tempDir, "stub")).latencyMillis(200);
+        SpectralValidateMojo mojo = validateMojo(stub.create(), mockLog);
+        setField(mojo, "concurrency", 1);
+        setField(mojo, "changedFirst", true);
+
+        // When
+        mojo.execute();
+
+        // Then
+        List<String> linted = stub.lintedFiles();
+        assertEquals(6, linted.size());
+        assertEquals(edited.getAbsolutePath(), linted.get(0), "linted in order " + linted);
+    }
+
+    @Test
+    void testChangedFilesAreLintedFirstInParallel() throws Exception {
+        // Given
+        createSpecs(8);
+        File older = editSpec("group-6/api-6.yaml");
+        older.setLastModified(System.currentTimeMillis() - 60_000);
+        File newer = new File(specsDir, "group-7/api-7.yaml");
+        Files.write(newer.toPath(), "openapi: 3.0.2\n".getBytes());
+        StubSpectral stub = new StubSpectral(new File(tempDir, "stub")).latencyMillis(200);
+        SpectralValidateMojo mojo = validateMojo(stub.create(), mockLog);
+        setField(mojo, "concurrency", 2);
+        setField(mojo, "changedFirst", true);
+
+        // When
+        mojo.execute();
+
+        // Then
+        List<String> linted = stub.lintedFiles();
+        assertEquals(8, linted.size());
+        // Both threads take a lint at once, so the two newest files start in either order
+        assertEquals(new HashSet<>(Arrays.asList(newer.getAbsolutePath(), older.getAbsolutePath())),
+                new HashSet<>(linted.subList(0, 2)), "linted in order " + linted);
+    }
+
+    @Test
+    void testFailFastStopsAtFirstFailingFile() throws Exception {
+        // Given
+        createSpecs(6);
+        editSpec("group-4/api-4.yaml");
+        StubSpectral stub = new StubSpectral(new File(tempDir, "stub")).latencyMillis(200).findings(1)
+                .findingsOn("api-4.yaml");
+        SpectralValidateMojo mojo = validateMojo(stub.create(), mockLog);
+        setField(mojo, "concurrency", 1);
+        setField(mojo, "changedFirst", true);
+        setField(mojo, "failFast", true);
+        setField(mojo, "failOnViolations", true);
+
+        // When
+        MojoFailureException e = assertThrows(MojoFailureException.class, mojo::execute);
+
+        // Then
+        assertTrue(e.getMessage().contains("1 violations"));
+        assertTrue(stub.startedCount() < 6, "started " + stub.startedCount() + " lints");
+        verify(mockLog).warn(startsWith("Stopped linting after " + new File(specsDir, "group-4/api-4.yaml").getPath()));
+    }
+
+    @Test
+    void testGraalJsFallsBackToExecutableForOtherFormats() throws Exception {
+        // Given
+        createSpecs(1);
+        StubSpectral stub = new StubSpectral(new File(tempDir, "stub"));
+        SpectralValidateMojo mojo = validateMojo(stub.create(), mockLog);
+        setField(mojo, "engine", "graaljs");
+        setField(mojo, "format", "junit");
+
+        // When
+        mojo.execute();
+
+        // Then
+        assertEquals(1, stub.startedCount());
+        verify(mockLog).warn(startsWith("The graaljs engine renders only text and json output"));
+    }
+
+    @Test
+    void testHtmlReportIsWrittenForBothSettings() throws Exception {
+        // Given
+        createSpecs(2);
+        StubSpectral stub = new StubSpectral(new File(tempDir, "stub")).findings(1);
+        SpectralValidateMojo mojo = validateMojo(stub.create(), mockLog);
+        File htmlReport = new File(tempDir, "html-report");
+        File reportsDir = new File(tempDir, "reports");
+        setField(mojo, "htmlReport", htmlReport);
+        setField(mojo, "formats", Collections.singletonList("html"));
+        setField(mojo, "reportsDirectory", reportsDir);
+
+        // When
+        mojo.execute();
+
+        // Then
+        assertTrue(new File(htmlReport, "files/2-1.html").isFile());
+        assertTrue(new File(reportsDir, "html/files/2-1.html").isFile());
+        verify(mockLog).info(startsWith("Both htmlReport and the html report format are set"));
+    }
+
+    @Test
+    void testFailFastDoesNotTruncateBaseline() throws Exception {
+        // Given
+        createSpecs(6);
+        StubSpectral stub = new StubSpectral(new File(tempDir, "stub")).latencyMillis(50).findings(1);
+        File executable = stub.create();
+        File baselineFile = new File(tempDir, "spectral-baseline.txt");
+        SpectralBaselineMojo mojo = configure(new SpectralBaselineMojo() {
+            @Override
+            protected SpectralExecutor newExecutor() {
+                return new SpectralExecutor(getLog()) {
+                    @Override
+                    protected File extractSpectralExecutable(File targetDirectory) {
+                        return executable;
+                    }
+                };
+            }
+        }, mockLog);
+        setField(mojo, "concurrency", 1);
+        setField(mojo, "failFast", true);
+        setField(mojo, "failOnViolations", true);
+        setField(mojo, "baselineFile", baselineFile);
+
+        // When
+        mojo.execute();
+
+        // Then
+        assertEquals(6, stub.startedCount());
+        assertEquals(6, SpectralBaseline.load(baselineFile).size());
+    }
+
+    @Test
+    void testSpecsWithRemoteRefsAreNotCachedForTheSession() throws Exception {
+        // Given
+        Files.write(new File(specsDir, "api.yaml").toPath(),
+                "openapi: 3.0.0\nname:\n  $ref: 'https://example.com/schemas/name.yaml'\n".getBytes());
+        StubSpectral stub = new StubSpectral(new File(tempDir, "stub"));
+        File executable = stub.create();
+
+        // When
+        for (int run = 0; run < 2; run++) {
+            SpectralValidateMojo mojo = validateMojo(executable, mockLog);
+            setField(mojo, "sessionCache", true);
+            mojo.execute();
+        }
+
+        // Then
+        assertEquals(2, stub.startedCount());
+    }
+
+    @Test
+    void testSpecsWithRemoteRefsAreNotShared() throws Exception {
+        // Given
+        Files.write(new File(specsDir, "api.yaml").toPath(),
+                "openapi: 3.0.0\nname:\n  $ref: 'https://example.com/schemas/name.yaml'\n".getBytes());
+        StubSpectral stub = new StubSpectral(new File(tempDir, "stub"));
+        File executable = stub.create();
+        File cacheDir = new File(tempDir, "shared-cache");
+
+        // When
+        for (int run = 0; run < 2; run++) {
+            SpectralValidateMojo mojo = validateMojo(executable, mockLog);
+            setField(mojo, "resultCache", cacheDir.getAbsolutePath());
+            setField(mojo, "resultCacheMaxSize", 16L);
+            mojo.execute();
+        }
+
+        // Then
+        assertEquals(2, stub.startedCount());
+        assertFalse(cacheDir.exists() && cacheDir.list().length > 0, "nothing is shared");
+    }
+
+    @Test
+    void testHungProcessTimesOut() throws Exception {
+        // Given
+        createSpecs(2);
+        Files.write(new File(specsDir, "slow.yaml").toPath(), "openapi: 3.0.0\n".getBytes());
+        StubSpectral stub = new StubSpectral(new File(tempDir, "stub")).hangOn("slow");
+        SpectralValidateMojo mojo = validateMojo(stub.create(), mockLog);
+        setField(mojo, "processTimeout", 1);
+
+        // When
+        long start = System.nanoTime();
+        Exception e = assertThrows(Exception.class, mojo::execute);
+
+        // Then
+        assertTrue(String.valueOf(e.getCause().getMessage()).contains("timed out after 1 seconds"));
+        assertTrue(System.nanoTime() - start < 30_000_000_000L, "the hung process should be killed");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "spectral.scaling.specs", matches = "\\d+")
+    void testScaling() throws Exception {
+        // Given
+        int specs = Integer.getInteger("spectral.scaling.specs");
+        createSpecs(specs);
+        StubSpectral stub = new StubSpectral(new File(tempDir, "stub"))
+                .latencyMillis(Long.getLong("spectral.scaling.latencyMillis", 20))
+                .findings(Integer.getInteger("spectral.scaling.findings", 5));
+        SpectralValidateMojo mojo = validateMojo(stub.create(), new SystemStreamLog() {
+            @Override
+            public boolean isInfoEnabled() {
+                return false;
+            }
+
+            @Override
+            public void info(CharSequence content) {
+            }
+        });
+        setField(mojo, "outputFile", new File(tempDir, "spectral.txt"));
+        setField(mojo, "concurrency", Integer.getInteger("spectral.scaling.concurrency", 0));
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+
+        // When
+        long start = System.nanoTime();
+        mojo.execute();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peakHeap += pool.getPeakUsage().getUsed();
+            }
+        }
+        Properties report = new Properties();
+        report.setProperty("specs", String.valueOf(specs));
+        report.setProperty("elapsedMillis", String.valueOf(elapsedMillis));
+        report.setProperty("specsPerSecond", String.format("%.1f", specs * 1000.0 / Math.max(1, elapsedMillis)));
+        report.setProperty("peakHeapMb", String.valueOf(peakHeap / (1024 * 1024)));
+        report.setProperty("processes", String.valueOf(stub.startedCount()));
+        report.setProperty("maxConcurrentProcesses", String.valueOf(stub.maxConcurrent()));
+        File reportFile = new File("target/spectral-scaling.properties");
+        reportFile.getParentFile().mkdirs();
+        try (OutputStream out = new FileOutputStream(reportFile)) {
+            report.store(out, "Spectral scaling run");
+        }
+        System.out.println("Spectral scaling: " + report);
+        assertEquals(specs, stub.startedCount());
+    }
+
+    private SpectralValidateMojo validateMojo(File executable, Log log) throws Exception {
+        return configure(new SpectralValidateMojo() {
+            @Override
+            protected SpectralExecutor newExecutor() {
+                return new SpectralExecutor(getLog()) {
+                    @Override
+                    protected File extractSpectralExecutable(File targetDirectory) {
+                        return executable;
+                    }
+                };
+            }
+        }, log);
+    }
+
+    /**
+     * Plans a validate run of the specs, returning the plan the plan goal reports
+     */
+    private LintPlan plan(File executable, boolean skipUnchanged, File cacheDir) throws Exception {
+        LintPlan[] plan = new LintPlan[1];
+        SpectralPlanMojo mojo = configure(new SpectralPlanMojo() {
+            @Override
+            protected SpectralExecutor newExecutor() {
+                return new SpectralExecutor(getLog()) {
+                    @Override
+                    protected File extractSpectralExecutable(File targetDirectory) {
+                        return executable;
+                    }
+
+                    @Override
+                    public LintPlan plan(File inputDirectory, List<String> files, String ruleset, String format,
+                                         boolean verbose, File targetDirectory) throws SpectralExecutionException {
+                        plan[0] = super.plan(inputDirectory, files, ruleset, format, verbose, targetDirectory);
+                        return plan[0];
+                    }
+                };
+            }
+        }, mockLog);
+        setField(mojo, "skipUnchanged", skipUnchanged);
+        setField(mojo, "resultCache", cacheDir.getAbsolutePath());
+        setField(mojo, "resultCacheMaxSize", 16L);
+        mojo.execute();
+        return plan[0];
+    }
+
+    private <T extends AbstractSpectralMojo> T configure(T mojo, Log log) throws Exception {
+        MavenProject project = new MavenProject();
+        project.getModel().setBuild(new Build());
+        project.getBuild().setDirectory(new File(tempDir, "target").getAbsolutePath());
+
+        mojo.setLog(log);
+        setField(mojo, "project", project);
+        setField(mojo, "inputDirectory", specsDir);
+        setField(mojo, "format", "text");
+        setField(mojo, "failOnViolations", false);
+        setField(mojo, "processTimeout", 60);
+        return mojo;
+    }
+
+    /**
+     * Marks every spec as modified an hour ago, except the given one, which was just edited
+     */
+    private File editSpec(String path) throws IOException {
+        long hourAgo = System.currentTimeMillis() - 3_600_000;
+        try (Stream<Path> specs = Files.walk(specsDir.toPath())) {
+            specs.forEach(spec -> spec.toFile().setLastModified(hourAgo));
+        }
+        File edited = new File(specsDir, path);
+        Files.write(edited.toPath(), "openapi: 3.0.1\n".getBytes());
+        return edited;
+    }
+
+    private void createSpecs(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            File dir = new File(specsDir, "group-" + (i % 50));
+            dir.mkdirs();
+            String spec = "openapi: 3.0.0\ninfo:\n  title: API " + i + "\n  version: 1.0.0\npaths: {}\n";
+            Files.write(new File(dir, "api-" + i + ".yaml").toPath(), spec.getBytes());
+        }
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        Field field = AbstractSpectralMojo.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.nddipiazza.spectral;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the JFR events emitted while validating against a stub Spectral executable
+ */
+@DisabledOnOs(OS.WINDOWS)
+class SpectralEventsTest {
+
+    @Mock
+    private Log mockLog;
+
+    @TempDir
+    File tempDir;
+
+    private File specsDir;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        specsDir = new File(tempDir, "specs");
+        specsDir.mkdirs();
+        SpectralSessionCache.getInstance().clear();
+    }
+
+    @Test
+    void testValidateEmitsEventsForEachStage() throws Exception {
+        // Given
+        Files.write(new File(specsDir, "a.yaml").toPath(), "openapi: 3.0.0\n".getBytes());
+        Files.write(new File(specsDir, "b.yaml").toPath(), "openapi: 3.0.0\n".getBytes());
+        Files.write(new File(specsDir, "notes.txt").toPath(), "not a spec".getBytes());
+        File executable = new StubSpectral(new File(tempDir, "stub")).findings(2).create();
+        SpectralExecutor executor = executor(executable);
+        executor.setExcludes(List.of("**/b.yaml"));
+        File outputFile = new File(tempDir, "spectral.txt");
+        Path recordingFile = tempDir.toPath().resolve("events.jfr");
+
+        // When
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("Extract", "Discovery", "Process", "Parse", "Report")) {
+                recording.enable("io.github.nddipiazza.spectral." + name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            executor.validate(specsDir, null, null, "text", outputFile, false, new File(tempDir, "target"));
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        // Then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+        RecordedEvent extract = single(events, "Extract");
+        assertEquals(executable.getPath(), extract.getString("executable"));
+        assertFalse(extract.getBoolean("reused"));
+
+        RecordedEvent discovery = single(events, "Discovery");
+        assertEquals(specsDir.getPath(), discovery.getString("inputDirectory"));
+        assertEquals(1, discovery.getInt("selected"));
+        assertEquals(1, discovery.getInt("skipped"));
+
+        RecordedEvent process = single(events, "Process");
+        assertEquals(new File(specsDir, "a.yaml").getPath(), process.getString("file"));
+        assertEquals(1, process.getInt("exitCode"));
+        assertTrue(process.getLong("outputBytes") > 0);
+        assertFalse(process.getBoolean("timedOut"));
+
+        assertEquals(2, single(events, "Parse").getInt("findings"));
+
+        RecordedEvent report = single(events, "Report");
+        assertEquals("output", report.getString("kind"));
+        assertEquals(outputFile.getPath(), report.getString("path"));
+    }
+
+    @Test
+    void testValidateWithoutRecordingStillWorks() throws Exception {
+        // Given
+        Files.write(new File(specsDir, "a.yaml").toPath(), "openapi: 3.0.0\n".getBytes());
+        File executable = new StubSpectral(new File(tempDir, "stub")).findings(1).create();
+
+        // When
+        SpectralResult result = executor(executable)
+                .validate(specsDir, null, null, "text", null, false, new File(tempDir, "target"));
+
+        // Then
+        assertEquals(1, result.getViolationCount());
+    }
+
+    private SpectralExecutor executor(File executable) {
+        return new SpectralExecutor(mockLog) {
+            @Override
+            protected File extractSpectralExecutable(File targetDirectory) {
+                return executable;
+            }
+        };
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals("io.github.nddipiazza.spectral." + name))
+                .collect(Collectors.toList());
+        assertEquals(1, matching.size(), "expected one " + name + " event");
+        return matching.get(0);
+    }
+}
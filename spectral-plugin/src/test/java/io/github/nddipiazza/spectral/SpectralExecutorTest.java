@@ -9,9 +9,17 @@ import org.mockito.MockitoAnnotations;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -45,6 +53,55 @@ class SpectralExecutorTest {
         // We can't directly test the log field since it's private, but we can verify it's used
     }
 
+    @Test
+    void testGraalJsFallsBackWithoutPolyglotOnTheClasspath() throws Exception {
+        // Given - the plugin classes loaded without the GraalVM polyglot API, as when it is not a plugin dependency
+        File emptyDir = new File(tempDir, "empty");
+        emptyDir.mkdirs();
+        URL pluginClasses = SpectralExecutor.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader loader = new WithoutPolyglotClassLoader(pluginClasses)) {
+            Class<?> executorClass = loader.loadClass(SpectralExecutor.class.getName());
+            Object executor = executorClass.getConstructor(Log.class).newInstance(mockLog);
+            executorClass.getMethod("setEngine", String.class).invoke(executor, "graaljs");
+
+            // When
+            try {
+                executorClass.getMethod("validate", File.class, List.class, String.class, String.class, File.class,
+                        boolean.class, File.class).invoke(executor, emptyDir, null, null, "text", null, false, tempDir);
+            } catch (InvocationTargetException e) {
+                // Then - extracting the executable may fail here, but not for lack of the polyglot API
+                assertFalse(e.getCause() instanceof LinkageError, e.getCause().toString());
+            }
+        }
+
+        // Then
+        verify(mockLog).warn(startsWith("GraalJS polyglot runtime not found"));
+    }
+
+    /**
+     * Loads the plugin classes itself, and hides the GraalVM polyglot API
+     */
+    private static class WithoutPolyglotClassLoader extends URLClassLoader {
+
+        WithoutPolyglotClassLoader(URL pluginClasses) {
+            super(new URL[]{pluginClasses}, SpectralExecutorTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.startsWith("org.graalvm.")) {
+                throw new ClassNotFoundException(name);
+            }
+            if (name.startsWith(SpectralExecutor.class.getPackage().getName() + '.')) {
+                synchronized (getClassLoadingLock(name)) {
+                    Class<?> loaded = findLoadedClass(name);
+                    return loaded != null ? loaded : findClass(name);
+                }
+            }
+            return super.loadClass(name, resolve);
+        }
+    }
+
     @Test
     void testValidateWithNoFilesFound() throws Exception {
         // Given
@@ -207,6 +264,339 @@ class SpectralExecutorTest {
         verify(mockLog).info("Validating 3 OpenAPI file(s)");
     }
 
+    @Test
+    void testResolveConcurrencyUsesExplicitValue() {
+        // Given
+        spectralExecutor.setConcurrency(6);
+
+        // When & Then
+        assertEquals(6, spectralExecutor.resolveConcurrency(100));
+        assertEquals(2, spectralExecutor.resolveConcurrency(2));
+    }
+
+    @Test
+    void testResolveConcurrencyFromResourceLimits() {
+        // Given - 4 GB container with 8 CPUs and 256 MB heaps per process
+        spectralExecutor.setNodeMaxOldSpaceSize(256);
+        spectralExecutor.setResourceLimits(new ResourceLimits(8, 4096L * 1024 * 1024));
+
+        // When
+        int concurrency = spectralExecutor.resolveConcurrency(100);
+
+        // Then - Bounded by the memory left after the test JVM's own heap
+        long perProcess = (256 + 160) * 1024L * 1024L;
+        long expected = Math.max(1, Math.min(8, (4096L * 1024 * 1024 - Runtime.getRuntime().maxMemory()) / perProcess));
+        assertEquals(expected, concurrency);
+    }
+
+    @Test
+    void testConfigureEnvironmentSetsNodeOptions() {
+        // Given
+        spectralExecutor.setNodeMaxOldSpaceSize(512);
+        spectralExecutor.setUvThreadPoolSize(2);
+        Map<String, String> environment = new HashMap<>();
+
+        // When
+        spectralExecutor.configureEnvironment(environment);
+
+        // Then
+        assertEquals("--max-old-space-size=512", environment.get("NODE_OPTIONS"));
+        assertEquals("2", environment.get("UV_THREADPOOL_SIZE"));
+    }
+
+    @Test
+    void testConfigureEnvironmentPreservesExistingNodeOptions() {
+        // Given
+        spectralExecutor.setNodeMaxOldSpaceSize(512);
+        Map<String, String> environment = new HashMap<>();
+        environment.put("NODE_OPTIONS", "--enable-source-maps");
+
+        // When
+        spectralExecutor.configureEnvironment(environment);
+
+        // Then
+        assertEquals("--enable-source-maps --max-old-space-size=512", environment.get("NODE_OPTIONS"));
+        assertFalse(environment.containsKey("UV_THREADPOOL_SIZE"));
+    }
+
+    @Test
+    void testExtractionRunsOffTheCallingThread() throws Exception {
+        // Given
+        createTestFile("api.yaml", "openapi: 3.0.0");
+        AtomicReference<String> extractionThread = new AtomicReference<>();
+        SpectralExecutor executor = new TestableSpectralExecutor(mockLog, tempDir) {
+            @Override
+            protected File extractSpectralExecutable(File targetDirectory) throws SpectralExecutionException {
+                extractionThread.set(Thread.currentThread().getName());
+                return super.extractSpectralExecutable(targetDirectory);
+            }
+        };
+
+        // When
+        assertThrows(SpectralExecutionException.class, () ->
+                executor.validate(tempDir, null, null, "text", null, false, tempDir));
+
+        // Then
+        assertTrue(extractionThread.get().startsWith("spectral-prepare"));
+        verify(mockLog).info("Validating 1 OpenAPI file(s)");
+    }
+
+    @Test
+    void testExtractionFailureIsReported() throws Exception {
+        // Given
+        createTestFile("api.yaml", "openapi: 3.0.0");
+        SpectralExecutor executor = new SpectralExecutor(mockLog) {
+            @Override
+            protected File extractSpectralExecutable(File targetDirectory) throws SpectralExecutionException {
+                throw new SpectralExecutionException("boom");
+            }
+        };
+
+        // When
+        SpectralExecutionException e = assertThrows(SpectralExecutionException.class, () ->
+                executor.validate(tempDir, null, null, "text", null, false, tempDir));
+
+        // Then
+        assertEquals("boom", e.getMessage());
+    }
+
+    @Test
+    void testResolveRuleset() throws Exception {
+        // Given
+        File rulesetFile = createTestFile(".spectral.yaml", "extends: spectral:oas");
+
+        // When & Then
+        assertNull(spectralExecutor.resolveRuleset(null));
+        assertEquals("https://example.com/rules.yaml", spectralExecutor.resolveRuleset("https://example.com/rules.yaml"));
+        assertEquals(rulesetFile.getAbsolutePath(), spectralExecutor.resolveRuleset(rulesetFile.getPath()));
+        assertNull(spectralExecutor.resolveRuleset(new File(tempDir, "missing.yaml").getPath()));
+        verify(mockLog).warn(contains("Specified ruleset file does not exist"));
+    }
+
+    @Test
+    void testIsTextFileBusy() {
+        // When & Then
+        assertTrue(SpectralExecutor.isTextFileBusy(
+                new IOException("Cannot run program \"spectral\": error=26, Text file busy")));
+        assertFalse(SpectralExecutor.isTextFileBusy(
+                new IOException("Cannot run program \"spectral\": error=2, No such file or directory")));
+        assertFalse(SpectralExecutor.isTextFileBusy(new IOException()));
+    }
+
+    @Test
+    void testSessionCacheReusesExecutableAndListing() throws Exception {
+        // Given
+        File emptyDir = new File(tempDir, "empty");
+        emptyDir.mkdirs();
+        AtomicInteger extractions = new AtomicInteger();
+        SpectralExecutor executor = new TestableSpectralExecutor(mockLog, tempDir) {
+            @Override
+            protected File extractSpectralExecutable(File targetDirectory) throws SpectralExecutionException {
+                extractions.incrementAndGet();
+                return super.extractSpectralExecutable(targetDirectory);
+            }
+        };
+        executor.setSessionCache(new SpectralSessionCache());
+
+        // When
+        executor.validate(emptyDir, null, null, "text", null, false, tempDir);
+        executor.validate(emptyDir, null, null, "text", null, false, tempDir);
+
+        // Then
+        assertEquals(1, extractions.get());
+        verify(mockLog).debug(startsWith("Reusing Spectral executable"));
+        verify(mockLog).debug("Reusing file listing of " + emptyDir.getAbsolutePath());
+    }
+
+    @Test
+    void testPlanDoesNotStartSpectral() throws Exception {
+        // Given
+        File a = createTestFile("a.yaml", "openapi: 3.0.0\ninfo:\n  title: A");
+        File b = createTestFile("b.yaml", "openapi: 3.0.0\ninfo:\n  title: B");
+        File legacyDir = new File(tempDir, "legacy");
+        legacyDir.mkdirs();
+        File legacy = createTestFile(legacyDir, "old.yaml", "swagger: 2.0");
+        SpectralSessionCache cache = new SpectralSessionCache();
+        AtomicInteger extractions = new AtomicInteger();
+        SpectralExecutor executor = new SpectralExecutor(mockLog) {
+            @Override
+            protected File extractSpectralExecutable(File targetDirectory) {
+                extractions.incrementAndGet();
+                return null;
+            }
+        };
+        executor.setConcurrency(2);
+        executor.setExcludes(Collections.singletonList("legacy/**"));
+        executor.setSessionCache(cache);
+        LintTimings timings = new LintTimings(tempDir);
+        timings.put(a, 300);
+        executor.setTimings(timings);
+
+        // When
+        LintPlan plan = executor.plan(tempDir, null, null, "text", false, tempDir);
+
+        // Then
+        assertEquals(0, extractions.get());
+        assertEquals(2, plan.getConcurrency());
+        assertEquals(2, plan.count(LintPlan.Action.LINT));
+        assertEquals(1, plan.count(LintPlan.Action.SKIPPED));
+        for (LintPlan.Entry entry : plan.getEntries()) {
+            if (entry.getFile().equals(legacy)) {
+                assertEquals(LintPlan.Action.SKIPPED, entry.getAction());
+            } else {
+                // b.yaml has no history of its own, so it is predicted from the average
+                assertEquals(300L, entry.getPredictedMillis());
+            }
+        }
+        assertTrue(plan.getEntries().stream().anyMatch(entry -> entry.getFile().equals(b)));
+    }
+
+    @Test
+    void testValidateSkipsExcludedFiles() throws Exception {
+        // Given
+        createTestFile("api.yaml", "openapi: 3.0.0");
+        createTestFile("api.json", "{}");
+        spectralExecutor.setIncludes(Collections.singletonList("**/*.json"));
+
+        // When
+        List<File> files = spectralExecutor.determineFilesToValidate(tempDir, null);
+
+        // Then
+        assertEquals(1, files.size());
+        assertEquals("api.json", files.get(0).getName());
+    }
+
+    @Test
+    void testDetermineFilesSkipsDuplicatePaths() throws Exception {
+        // Given
+        File spec = createTestFile("api.yaml", "openapi: 3.0.0");
+        File nested = new File(tempDir, "nested");
+        nested.mkdirs();
+        Files.createSymbolicLink(new File(nested, "api.yaml").toPath(), spec.toPath());
+
+        // When
+        List<File> explicit = spectralExecutor.determineFilesToValidate(tempDir,
+                Arrays.asList("api.yaml", spec.getAbsolutePath(), "./api.yaml"));
+        List<File> scanned = spectralExecutor.determineFilesToValidate(tempDir, null);
+
+        // Then
+        assertEquals(1, explicit.size());
+        assertEquals(1, scanned.size());
+    }
+
+    @Test
+    void testContentKeyGroupsIdenticalCopies() throws Exception {
+        // Given
+        File copies = new File(tempDir, "copies");
+        copies.mkdirs();
+        File a = createTestFile("a.yaml", "openapi: 3.0.0\ninfo:\n  $ref: './info.yaml'\n");
+        createTestFile("info.yaml", "title: A");
+        File b = createTestFile(copies, "a.yaml", "openapi: 3.0.0\ninfo:\n  $ref: './info.yaml'\n");
+        File info = createTestFile(copies, "info.yaml", "title: A");
+
+        // When & Then
+        assertEquals(SpectralExecutor.contentKey(a), SpectralExecutor.contentKey(b));
+        Files.write(info.toPath(), "title: B".getBytes());
+        assertNotEquals(SpectralExecutor.contentKey(a), SpectralExecutor.contentKey(b));
+        assertNull(SpectralExecutor.contentKey(new File(tempDir, "missing.yaml")));
+    }
+
+    @Test
+    void testFanOutPointsFindingsAtCopy() {
+        // Given
+        File original = new File(tempDir, "a.yaml");
+        File copy = new File(tempDir, "copies/a.yaml");
+        String common = new File(tempDir, "common.yaml").getAbsolutePath();
+        SpectralResult result = new SpectralResult(2, original.getAbsolutePath() + ":1:1 error rule message\n",
+                Arrays.asList(
+                        new SpectralFinding("rule", "message", 0, null, original.getAbsolutePath(), 0, 0),
+                        new SpectralFinding("rule", "message", 0, null, common, 0, 0)));
+
+        // When
+        SpectralResult fanned = SpectralExecutor.fanOut(result, original, copy);
+
+        // Then
+        assertEquals(2, fanned.getViolationCount());
+        assertEquals(copy.getAbsolutePath(), fanned.getFindings().get(0).getSource());
+        assertEquals(common, fanned.getFindings().get(1).getSource());
+        assertTrue(fanned.getOutput().startsWith(copy.getAbsolutePath() + ":1:1"));
+    }
+
+    @Test
+    void testShardsSplitDiscoveredFiles() throws Exception {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            createTestFile("api-" + i + ".yaml", "openapi: 3.0.0\n# " + i);
+        }
+
+        // When
+        int total = 0;
+        for (int index = 1; index <= 3; index++) {
+            SpectralExecutor executor = new SpectralExecutor(mockLog);
+            executor.setShard(Shard.parse(index + "/3", "size"));
+            total += executor.determineFilesToValidate(tempDir, null).size();
+        }
+
+        // Then
+        assertEquals(10, total);
+    }
+
+    @Test
+    void testEmptyShardWritesResult() throws Exception {
+        // Given
+        File emptyDir = new File(tempDir, "empty");
+        emptyDir.mkdirs();
+        File shardsDir = new File(tempDir, "shards");
+        TestableSpectralExecutor executor = new TestableSpectralExecutor(mockLog, tempDir);
+        executor.setShard(Shard.parse("2/2", null));
+        executor.setShardResultsDirectory(shardsDir);
+
+        // When
+        executor.validate(emptyDir, null, null, "text", null, false, tempDir);
+
+        // Then
+        ShardResult result = ShardResult.read(new File(shardsDir, "shard-2-of-2.json"), emptyDir);
+        assertEquals(2, result.getIndex());
+        assertTrue(result.getFiles().isEmpty());
+    }
+
+    @Test
+    void testRulesetMappingsRouteCopiesToSeparateLints() throws Exception {
+        // Given
+        File specsDir = new File(tempDir, "specs");
+        File paymentsDir = new File(specsDir, "payments");
+        paymentsDir.mkdirs();
+        File ordersDir = new File(specsDir, "orders");
+        ordersDir.mkdirs();
+        String spec = "openapi: 3.0.0\ninfo:\n  title: Same";
+        createTestFile(paymentsDir, "api.yaml", spec);
+        createTestFile(paymentsDir, "copy.yaml", spec);
+        createTestFile(ordersDir, "api.yaml", spec);
+        File paymentsRules = createTestFile("payments-rules.yaml", "extends: spectral:oas\n");
+        SpectralExecutor executor = new SpectralExecutor(mockLog);
+        executor.setRulesetMappings(Collections.singletonList(
+                new RulesetMapping("payments/**", paymentsRules.getAbsolutePath())));
+
+        // When
+        LintPlan plan = executor.plan(specsDir, null, null, "text", false, tempDir);
+
+        // Then
+        // The payments copy shares its twin's lint, the orders copy uses other rules and is linted itself
+        assertEquals(2, plan.count(LintPlan.Action.LINT));
+        assertEquals(1, plan.count(LintPlan.Action.CACHED));
+        verify(mockLog).info("Using ruleset: " + paymentsRules.getAbsolutePath());
+    }
+
+    @Test
+    void testRulesetMappingWithoutPatternFails() {
+        // Given
+        SpectralExecutor executor = new SpectralExecutor(mockLog);
+        executor.setRulesetMappings(Collections.singletonList(new RulesetMapping(" ", "rules.yaml")));
+
+        // When & Then
+        assertThrows(SpectralExecutionException.class, () -> executor.plan(tempDir, null, null, "text", false, tempDir));
+    }
+
     /**
      * Helper method to create test files
      */
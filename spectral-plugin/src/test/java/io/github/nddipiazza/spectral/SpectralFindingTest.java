@@ -0,0 +1,72 @@
+package io.github.nddipiazza.spectral;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SpectralFinding
+ */
+class SpectralFindingTest {
+
+    @Test
+    void testParseJson() throws Exception {
+        // Given
+        String json = "[{\"code\":\"operation-operationId\",\"path\":[\"paths\",\"/pets\",\"get\"],"
+                + "\"message\":\"Operation must have \\\"operationId\\\".\",\"severity\":1,"
+                + "\"range\":{\"start\":{\"line\":5,\"character\":4},\"end\":{\"line\":9,\"character\":20}},"
+                + "\"source\":\"/specs/api.yaml\"}]";
+
+        // When
+        List<SpectralFinding> findings = SpectralFinding.parseJson(json);
+
+        // Then
+        assertEquals(1, findings.size());
+        SpectralFinding finding = findings.get(0);
+        assertEquals("operation-operationId", finding.getCode());
+        assertEquals(SpectralFinding.SEVERITY_WARN, finding.getSeverity());
+        assertEquals("warn", finding.getSeverityName());
+        assertEquals(Arrays.asList("paths", "/pets", "get"), finding.getPath());
+        assertEquals("/specs/api.yaml", finding.getSource());
+        assertEquals(5, finding.getLine());
+        assertEquals(4, finding.getCharacter());
+    }
+
+    @Test
+    void testParseEmptyJson() throws Exception {
+        // When & Then
+        assertTrue(SpectralFinding.parseJson("[]").isEmpty());
+        assertTrue(SpectralFinding.parseJson("  ").isEmpty());
+    }
+
+    @Test
+    void testParseInvalidJson() {
+        // When & Then
+        assertThrows(IOException.class, () -> SpectralFinding.parseJson("No results with a severity of 'error' found!"));
+        assertThrows(IOException.class, () -> SpectralFinding.parseJson("{}"));
+    }
+
+    @Test
+    void testJsonPointerEscapesSegments() {
+        // Given
+        SpectralFinding finding = new SpectralFinding("rule", "msg", 0,
+                Arrays.asList("paths", "/pets/{id}", "a~b"), "api.yaml", 0, 0);
+
+        // When & Then
+        assertEquals("/paths/~1pets~1{id}/a~0b", finding.getJsonPointer());
+    }
+
+    @Test
+    void testToString() {
+        // Given
+        SpectralFinding finding = new SpectralFinding("info-contact", "Info object must have contact.", 1,
+                Arrays.asList("info"), "api.yaml", 2, 0);
+
+        // When & Then
+        assertEquals("api.yaml:3:1 warn info-contact Info object must have contact.", finding.toString());
+    }
+}
@@ -0,0 +1,154 @@
+package io.github.nddipiazza.spectral;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for SpectralMergeMojo
+ */
+class SpectralMergeMojoTest {
+
+    @Mock
+    private Log mockLog;
+
+    @TempDir
+    File tempDir;
+
+    private File shardsDir;
+    private SpectralMergeMojo mojo;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        MavenProject project = new MavenProject();
+        project.getModel().setBuild(new Build());
+        project.getBuild().setDirectory(tempDir.getAbsolutePath());
+        shardsDir = new File(tempDir, "shards");
+
+        mojo = new SpectralMergeMojo();
+        mojo.setLog(mockLog);
+        setField("project", project);
+        setField("inputDirectory", tempDir);
+        setField("format", "text");
+        setField("failOnViolations", true);
+        setField("shardResultsDirectory", shardsDir);
+    }
+
+    @Test
+    void testMergeFailsOnViolationsFromAnyShard() throws Exception {
+        // Given
+        File spec = new File(tempDir, "api.yaml");
+        SpectralFinding error = new SpectralFinding("oas3-schema", "Invalid", 0, null, spec.getPath(), 0, 0);
+        writeShard(1, 2, new ShardResult.FileResult(spec, 1, Collections.singletonList(error)));
+        writeShard(2, 2, new ShardResult.FileResult(new File(tempDir, "other.yaml"), 0, Collections.emptyList()));
+        File outputFile = new File(tempDir, "merged.txt");
+        setField("outputFile", outputFile);
+
+        // When
+        MojoFailureException e = assertThrows(MojoFailureException.class, mojo::execute);
+
+        // Then
+        assertTrue(e.getMessage().contains("1 violations"));
+        assertTrue(outputFile.isFile());
+        verify(mockLog).info("Merged 2 shard(s) covering 2 OpenAPI file(s)");
+    }
+
+    @Test
+    void testMergeWritesHtmlReport() throws Exception {
+        // Given
+        writeShard(1, 1, new ShardResult.FileResult(new File(tempDir, "api.yaml"), 0, Collections.emptyList()));
+        File report = new File(tempDir, "report");
+        setField("htmlReport", report);
+
+        // When
+        mojo.execute();
+
+        // Then
+        assertTrue(new File(report, "files/1-1.html").isFile());
+        verify(mockLog).info("Spectral validation completed successfully with no violations.");
+    }
+
+    @Test
+    void testMergeWritesHtmlReportForBothSettings() throws Exception {
+        // Given
+        writeShard(1, 1, new ShardResult.FileResult(new File(tempDir, "api.yaml"), 0, Collections.emptyList()));
+        File report = new File(tempDir, "report");
+        File reportsDir = new File(tempDir, "reports");
+        setField("htmlReport", report);
+        setField("formats", Collections.singletonList("html"));
+        setField("reportsDirectory", reportsDir);
+
+        // When
+        mojo.execute();
+
+        // Then
+        assertTrue(new File(report, "files/1-1.html").isFile());
+        assertTrue(new File(reportsDir, "html/files/1-1.html").isFile());
+        verify(mockLog).info(startsWith("Both htmlReport and the html report format are set"));
+    }
+
+    @Test
+    void testMergeWritesReportFormats() throws Exception {
+        // Given
+        File spec = new File(tempDir, "api.yaml");
+        SpectralFinding warning = new SpectralFinding("info-contact", "Missing", 1, null, spec.getPath(), 0, 0);
+        writeShard(1, 1, new ShardResult.FileResult(spec, 0, Collections.singletonList(warning)));
+        File reportsDir = new File(tempDir, "reports");
+        setField("formats", Arrays.asList("junit", "sarif"));
+        setField("reportsDirectory", reportsDir);
+
+        // When
+        mojo.execute();
+
+        // Then
+        assertTrue(new File(reportsDir, "spectral-junit.xml").isFile());
+        assertTrue(new File(reportsDir, "spectral.sarif").isFile());
+        verify(mockLog).info("Spectral report written to: " + new File(reportsDir, "spectral.sarif").getAbsolutePath());
+    }
+
+    @Test
+    void testMergeFailsWhenShardIsMissing() throws Exception {
+        // Given
+        writeShard(1, 3, new ShardResult.FileResult(new File(tempDir, "api.yaml"), 0, Collections.emptyList()));
+
+        // When
+        MojoExecutionException e = assertThrows(MojoExecutionException.class, mojo::execute);
+
+        // Then
+        assertTrue(e.getMessage().startsWith("Missing Spectral shard result(s) 2/3, 3/3"));
+    }
+
+    @Test
+    void testMergeFailsWithoutResults() {
+        // When & Then
+        assertThrows(MojoExecutionException.class, mojo::execute);
+    }
+
+    private void writeShard(int index, int total, ShardResult.FileResult file) throws Exception {
+        new ShardResult(index, total, Collections.singletonList(file))
+                .write(new File(shardsDir, "shard-" + index + "-of-" + total + ".json"), tempDir);
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        Field field = AbstractSpectralMojo.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(mojo, value);
+    }
+}
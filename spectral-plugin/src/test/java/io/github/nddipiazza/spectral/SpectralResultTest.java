@@ -1,6 +1,10 @@
 package io.github.nddipiazza.spectral;
 
 import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Collections;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -22,6 +26,22 @@ class SpectralResultTest {
         assertEquals(output, result.getOutput());
     }
 
+    @Test
+    void testFilesDefaultToEmpty() {
+        // Given
+        FileSummary summary = new FileSummary(new File("api.yaml"), "hash",
+                new SpectralResult(0, "", Collections.emptyList()), 10, null);
+
+        // When
+        SpectralResult single = new SpectralResult(0, "");
+        SpectralResult run = new SpectralResult(0, "", null, Collections.singletonList(summary));
+
+        // Then
+        assertTrue(single.getFiles().isEmpty());
+        assertEquals(1, run.getFiles().size());
+        assertThrows(UnsupportedOperationException.class, () -> run.getFiles().add(summary));
+    }
+
     @Test
     void testHasViolationsWithZeroViolations() {
         // Given
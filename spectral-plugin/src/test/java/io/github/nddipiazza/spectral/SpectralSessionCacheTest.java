@@ -0,0 +1,139 @@
+package io.github.nddipiazza.spectral;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SpectralSessionCache
+ */
+class SpectralSessionCacheTest {
+
+    @TempDir
+    File tempDir;
+
+    private static final RuleSeverities NONE = RuleSeverities.opaque("rules");
+
+    private final SpectralSessionCache cache = new SpectralSessionCache();
+
+    @Test
+    void testResultIsReusedWhileFileIsUnchanged() throws Exception {
+        // Given
+        File spec = write("api.yaml", "openapi: 3.0.0");
+        SpectralResult result = new SpectralResult(0, "ok");
+
+        // When
+        cache.putResult(spec, "ctx", NONE, result, SpectralSessionCache.stampsFor(spec));
+
+        // Then
+        assertSame(result, cache.getResult(spec, "ctx", NONE, "text"));
+        assertNull(cache.getResult(spec, "other-ctx", NONE, "text"));
+    }
+
+    @Test
+    void testResultIsInvalidatedWhenReferencedFileChanges() throws Exception {
+        // Given
+        File spec = write("api.yaml", "x:\n  $ref: './common.yaml'\n");
+        File common = write("common.yaml", "a: 1");
+        cache.putResult(spec, "ctx", NONE, new SpectralResult(0, "ok"), SpectralSessionCache.stampsFor(spec));
+
+        // When
+        Files.write(common.toPath(), "a: 22".getBytes());
+
+        // Then
+        assertNull(cache.getResult(spec, "ctx", NONE, "text"));
+    }
+
+    @Test
+    void testListingIsInvalidatedWhenDirectoryChanges() throws Exception {
+        // Given
+        File spec = write("api.yaml", "openapi: 3.0.0");
+        List<File> files = Collections.singletonList(spec);
+        cache.putListing("key", files, Collections.singletonList(FileStamp.ofDirectory(tempDir)));
+        assertEquals(files, cache.getListing("key"));
+
+        // When
+        tempDir.setLastModified(tempDir.lastModified() + 10_000);
+
+        // Then
+        assertNull(cache.getListing("key"));
+    }
+
+    @Test
+    void testExecutableIsInvalidatedWhenDeleted() throws Exception {
+        // Given
+        File executable = write("spectral", "binary");
+        cache.putExecutable("key", executable, "6.11.0");
+
+        // When & Then
+        assertEquals(executable, cache.getExecutable("key"));
+        assertEquals("6.11.0", cache.getExecutableVersion("key"));
+        Files.delete(executable.toPath());
+        assertNull(cache.getExecutable("key"));
+    }
+
+    @Test
+    void testRulesetIsResolvedAgainWhenChanged() throws Exception {
+        // Given
+        File ruleset = write(".spectral.yaml", "extends: spectral:oas");
+        RulesetBundle first = cache.getRuleset(ruleset.getAbsolutePath());
+
+        // When
+        RulesetBundle unchanged = cache.getRuleset(ruleset.getAbsolutePath());
+        Files.write(ruleset.toPath(), "extends: [spectral:oas, spectral:asyncapi]".getBytes());
+        RulesetBundle changed = cache.getRuleset(ruleset.getAbsolutePath());
+
+        // Then
+        assertSame(first, unchanged);
+        assertNotEquals(first.getHash(), changed.getHash());
+    }
+
+    @Test
+    void testResultIsAdjustedWhenRuleIsDisabledOrDowngraded() throws Exception {
+        // Given
+        File spec = write("api.yaml", "openapi: 3.0.0");
+        RuleSeverities before = RuleSeverities.parse("extends: spectral:oas\nrules:\n  info-contact: error\n");
+        RuleSeverities after = RuleSeverities.parse("extends: spectral:oas\nrules:\n  info-contact: warn\n  oas3-api-servers: off\n");
+        List<SpectralFinding> findings = Arrays.asList(
+                new SpectralFinding("info-contact", "Missing contact", 0, null, spec.getPath(), 1, 0),
+                new SpectralFinding("oas3-api-servers", "Missing servers", 1, null, spec.getPath(), 0, 0));
+        cache.putResult(spec, "ctx", before, new SpectralResult(2, "output", findings), SpectralSessionCache.stampsFor(spec));
+
+        // When
+        SpectralResult adjusted = cache.getResult(spec, "ctx", after, "text");
+
+        // Then
+        assertNotNull(adjusted);
+        assertEquals(0, adjusted.getViolationCount());
+        assertEquals(1, adjusted.getFindings().size());
+        assertEquals(SpectralFinding.SEVERITY_WARN, adjusted.getFindings().get(0).getSeverity());
+        assertTrue(adjusted.getOutput().contains("warn info-contact Missing contact"));
+        assertNull(cache.getResult(spec, "ctx", after, "junit"));
+    }
+
+    @Test
+    void testClear() throws Exception {
+        // Given
+        File spec = write("api.yaml", "openapi: 3.0.0");
+        cache.putResult(spec, "ctx", NONE, new SpectralResult(0, "ok"), SpectralSessionCache.stampsFor(spec));
+
+        // When
+        cache.clear();
+
+        // Then
+        assertNull(cache.getResult(spec, "ctx", NONE, "text"));
+    }
+
+    private File write(String name, String content) throws Exception {
+        File file = new File(tempDir, name);
+        Files.write(file.toPath(), content.getBytes());
+        return file;
+    }
+}
@@ -0,0 +1,198 @@
+package io.github.nddipiazza.spectral;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test fixture that writes a fake {@code spectral} shell script with controllable latency, findings, output
+ * size, exit code and hangs. The script accepts the command line the executor builds, writes Spectral-shaped
+ * JSON results to {@code --output.json}, and logs the start and end of every lint so tests can count processes
+ * and measure how many ran at once.
+ */
+class StubSpectral {
+
+    private final File directory;
+    private double latencySeconds;
+    private int findings;
+    private int outputBytes;
+    private Integer exitCode;
+    private String hangOn;
+    private String findingsOn;
+
+    StubSpectral(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Sleeps this long in every lint
+     */
+    StubSpectral latencyMillis(long millis) {
+        this.latencySeconds = millis / 1000.0;
+        return this;
+    }
+
+    /**
+     * Reports this many error findings for every file
+     */
+    StubSpectral findings(int count) {
+        this.findings = count;
+        return this;
+    }
+
+    /**
+     * Reports the findings only for files whose path contains the text, other files are clean
+     */
+    StubSpectral findingsOn(String pathPart) {
+        this.findingsOn = pathPart;
+        return this;
+    }
+
+    /**
+     * Pads the console output of every lint to at least this many bytes
+     */
+    StubSpectral outputBytes(int bytes) {
+        this.outputBytes = bytes;
+        return this;
+    }
+
+    /**
+     * Exits with this code, instead of 1 when there are findings and 0 otherwise
+     */
+    StubSpectral exitCode(int code) {
+        this.exitCode = code;
+        return this;
+    }
+
+    /**
+     * Never finishes linting files whose path contains the text
+     */
+    StubSpectral hangOn(String pathPart) {
+        this.hangOn = pathPart;
+        return this;
+    }
+
+    /**
+     * Writes the script and returns it
+     */
+    File create() throws IOException {
+        directory.mkdirs();
+        File script = new File(directory, "spectral");
+        int code = exitCode != null ? exitCode : (findings > 0 ? 1 : 0);
+        List<String> lines = new ArrayList<>();
+        lines.add("#!/bin/sh");
+        lines.add("if [ \"$1\" = \"--version\" ]; then echo 0.0.0-stub; exit 0; fi");
+        lines.add("out=''; file=''");
+        lines.add("while [ $# -gt 0 ]; do");
+        lines.add("  case \"$1\" in");
+        lines.add("    --output.json) out=\"$2\"; shift 2;;");
+        lines.add("    --ruleset|--format) shift 2;;");
+        lines.add("    lint|--verbose) shift;;");
+        lines.add("    *) file=\"$1\"; shift;;");
+        lines.add("  esac");
+        lines.add("done");
+        lines.add("echo \"start $$ $(date +%s%N)\" >> '" + processLog() + "'");
+        lines.add("echo \"$file\" >> '" + lintLog() + "'");
+        if (hangOn != null) {
+            lines.add("case \"$file\" in *'" + hangOn + "'*) exec sleep 3600;; esac");
+        }
+        if (latencySeconds > 0) {
+            lines.add("sleep " + latencySeconds);
+        }
+        if (findingsOn != null) {
+            lines.add("case \"$file\" in *'" + findingsOn + "'*) ;; *) if [ -n \"$out\" ]; then printf '[]' > \"$out\"; fi;"
+                    + " echo \"end $$ $(date +%s%N)\" >> '" + processLog() + "'; exit 0;; esac");
+        }
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= findings; i++) {
+            json.append(i > 1 ? "," : "")
+                    .append("{\"code\":\"stub-rule\",\"path\":[\"info\"],\"message\":\"Stub finding ").append(i)
+                    .append("\",\"severity\":0,\"source\":\"FILE\",\"range\":{\"start\":{\"line\":").append(i)
+                    .append(",\"character\":0}}}");
+        }
+        json.append(']');
+        lines.add("if [ -n \"$out\" ]; then printf '%s' '" + json + "' | sed \"s|FILE|$file|g\" > \"$out\"; fi");
+        for (int i = 1; i <= findings; i++) {
+            lines.add("echo \"$file:" + (i + 1) + ":1 error stub-rule Stub finding " + i + "\"");
+        }
+        if (outputBytes > 0) {
+            lines.add("head -c " + outputBytes + " /dev/zero | tr '\\0' 'x'; echo");
+        }
+        lines.add("echo \"end $$ $(date +%s%N)\" >> '" + processLog() + "'");
+        lines.add("exit " + code);
+        Files.write(script.toPath(), (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8));
+        script.setExecutable(true);
+        return script;
+    }
+
+    /**
+     * Gets the file the script logs each lint's start and end to
+     */
+    File processLog() {
+        return new File(directory, "processes.log");
+    }
+
+    /**
+     * Gets the file the script logs the path of each linted file to, in the order the lints started
+     */
+    File lintLog() {
+        return new File(directory, "lints.log");
+    }
+
+    /**
+     * Gets the paths of the linted files in the order the lints started
+     */
+    List<String> lintedFiles() throws IOException {
+        return lintLog().isFile() ? Files.readAllLines(lintLog().toPath()) : new ArrayList<>();
+    }
+
+    /**
+     * Gets the number of lint processes started
+     */
+    int startedCount() throws IOException {
+        return (int) events().stream().filter(event -> event[0] > 0).count();
+    }
+
+    /**
+     * Gets the largest number of lint processes that were running at the same time
+     */
+    int maxConcurrent() throws IOException {
+        List<long[]> events = events();
+        events.sort((a, b) -> a[1] != b[1] ? Long.compare(a[1], b[1]) : Long.compare(a[0], b[0]));
+        int running = 0;
+        int max = 0;
+        for (long[] event : events) {
+            running += event[0];
+            max = Math.max(max, running);
+        }
+        return max;
+    }
+
+    /**
+     * Reads the log as {+1 | -1, time} pairs, dropping the start of processes that never ended
+     */
+    private List<long[]> events() throws IOException {
+        List<long[]> events = new ArrayList<>();
+        if (!processLog().isFile()) {
+            return events;
+        }
+        Map<String, Integer> open = new HashMap<>();
+        for (String line : Files.readAllLines(processLog().toPath())) {
+            String[] parts = line.trim().split(" ");
+            if (parts.length != 3) {
+                continue;
+            }
+            boolean start = "start".equals(parts[0]);
+            events.add(new long[] {start ? 1 : -1, Long.parseLong(parts[2])});
+            open.merge(parts[1], start ? 1 : -1, Integer::sum);
+        }
+        long unfinished = open.values().stream().filter(count -> count > 0).count();
+        events.add(new long[] {-unfinished, Long.MAX_VALUE});
+        return events;
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.nddipiazza.spectral;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ViolationFingerprinter
+ */
+class ViolationFingerprinterTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testFingerprintContainsRelativePathCodeAndPointer() throws Exception {
+        // Given
+        File spec = write("api.yaml", "openapi: 3.0.0\ninfo:\n  title: Test\n  version: 1.0.0\n");
+        ViolationFingerprinter fingerprinter = new ViolationFingerprinter(tempDir);
+
+        // When
+        String fingerprint = fingerprinter.fingerprint(finding(spec, "info-contact", "info"));
+
+        // Then
+        String[] parts = fingerprint.split("\t");
+        assertEquals(4, parts.length);
+        assertEquals("api.yaml", parts[0]);
+        assertEquals("info-contact", parts[1]);
+        assertEquals("/info", parts[2]);
+        assertEquals(16, parts[3].length());
+    }
+
+    @Test
+    void testFingerprintIgnoresUnrelatedEdits() throws Exception {
+        // Given
+        File spec = write("api.yaml", "openapi: 3.0.0\ninfo:\n  title: Test\n  version: 1.0.0\n");
+        String before = new ViolationFingerprinter(tempDir).fingerprint(finding(spec, "info-contact", "info"));
+
+        // When - Lines are added before the node, shifting its position
+        write("api.yaml", "openapi: 3.0.0\nservers:\n  - url: https://example.com\ninfo:\n  title: Test\n  version: 1.0.0\n");
+        String after = new ViolationFingerprinter(tempDir).fingerprint(finding(spec, "info-contact", "info"));
+
+        // Then
+        assertEquals(before, after);
+    }
+
+    @Test
+    void testFingerprintChangesWhenTargetNodeChanges() throws Exception {
+        // Given
+        File spec = write("api.yaml", "openapi: 3.0.0\ninfo:\n  title: Test\n  version: 1.0.0\n");
+        String before = new ViolationFingerprinter(tempDir).fingerprint(finding(spec, "info-contact", "info"));
+
+        // When
+        write("api.yaml", "openapi: 3.0.0\ninfo:\n  title: Renamed\n  version: 1.0.0\n");
+        String after = new ViolationFingerprinter(tempDir).fingerprint(finding(spec, "info-contact", "info"));
+
+        // Then
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void testFingerprintForJsonAndMissingSource() throws Exception {
+        // Given
+        File spec = write("api.json", "{\"openapi\":\"3.0.0\",\"info\":{\"title\":\"Test\"}}");
+        ViolationFingerprinter fingerprinter = new ViolationFingerprinter(tempDir);
+
+        // When
+        String json = fingerprinter.fingerprint(finding(spec, "info-contact", "info"));
+        String missing = fingerprinter.fingerprint(finding(new File(tempDir, "gone.yaml"), "info-contact", "info"));
+
+        // Then
+        assertTrue(json.startsWith("api.json\tinfo-contact\t/info\t"));
+        assertTrue(missing.startsWith("gone.yaml\tinfo-contact\t/info\t"));
+    }
+
+    private SpectralFinding finding(File source, String code, String... path) {
+        return new SpectralFinding(code, "message", 1, Arrays.asList(path), source.getAbsolutePath(), 0, 0);
+    }
+
+    private File write(String name, String content) throws IOException {
+        File file = new File(tempDir, name);
+        Files.write(file.toPath(), content.getBytes());
+        return file;
+    }
+}